@@ -0,0 +1,41 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic transactions shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns a month key of 2024, e.g. 202403.
+     */
+    static int month(Random random) {
+        return 202401 + random.nextInt(12);
+    }
+
+    /**
+     * Returns an amount from a long-tailed distribution, where most purchases are small
+     * and a few are large, as seen in retail basket sizes.
+     */
+    static double skewedAmount(Random random) {
+        double amount = Math.exp(3.8 + random.nextGaussian() * 0.8);
+        return Math.max(1, Math.min(amount, 5000));
+    }
+
+    static List<Transaction> transactions(Customer customer, int count, Random random) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new Transaction((long) i, skewedAmount(random), month(random), customer));
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,122 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.RewardPlatformApplication;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.service.TransactionGroupCommitService;
+import com.retailer.reward.platform.service.TransactionService;
+import com.retailer.reward.platform.util.RewardMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares concurrent single transaction creates committed one by one with the same creates through
+ * group commit, for several group sizes. After every iteration the commits per second and rows per second
+ * of the group commit writer are printed, their ratio is the average group size reached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GroupCommitBenchmark {
+
+    private static final int CUSTOMERS = 1000;
+
+    @Param({"16", "128"})
+    private int maxBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionGroupCommitService transactionGroupCommitService;
+    private MeterRegistry meterRegistry;
+    private List<Long> customerIds;
+    private long iterationStart;
+    private long commitsBefore;
+    private double rowsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RewardPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:groupcommit;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                // Arguments override application.properties, where group commit is off
+                .run("--reward.group-commit.enabled=true",
+                        "--reward.group-commit.max-batch-size=" + maxBatchSize,
+                        "--reward.group-commit.max-delay=PT0.002S");
+        transactionService = context.getBean(TransactionService.class);
+        transactionGroupCommitService = context.getBean(TransactionGroupCommitService.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Object[]{"Customer " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (customer_name) VALUES (?)", customers);
+        customerIds = jdbcTemplate.queryForList("SELECT customer_id FROM customer", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        iterationStart = System.nanoTime();
+        commitsBefore = commits();
+        rowsBefore = rows();
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        long commits = commits() - commitsBefore;
+        if (commits == 0) {
+            return;
+        }
+        double seconds = (System.nanoTime() - iterationStart) / 1e9;
+        double rows = rows() - rowsBefore;
+        System.out.printf("%n  group commit: %.0f commits/s, %.0f rows/s, %.1f rows per commit%n",
+                commits / seconds, rows / seconds, rows / commits);
+    }
+
+    @Benchmark
+    public Transaction direct() {
+        return transactionService.createTransaction(nextTransaction());
+    }
+
+    @Benchmark
+    public Transaction groupCommit() {
+        return transactionGroupCommitService.createTransaction(nextTransaction());
+    }
+
+    private Transaction nextTransaction() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Customer customer = new Customer(customerIds.get(random.nextInt(customerIds.size())), null);
+        return new Transaction(null, 1 + BenchmarkData.skewedAmount(random), BenchmarkData.month(random), customer);
+    }
+
+    private long commits() {
+        Timer timer = meterRegistry.find(RewardMetrics.GROUP_COMMIT_DURATION).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double rows() {
+        DistributionSummary summary = meterRegistry.find(RewardMetrics.GROUP_COMMIT_ROWS).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,49 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.serviceimpl.RewardCalculationServiceImpl;
+import com.retailer.reward.platform.serviceimpl.RewardRuleServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory monthly and total reward aggregation of RewardCalculationServiceImpl
+ * over lists of 10 to 1M transactions of a single customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RewardAggregationBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int transactionCount;
+
+    private List<Transaction> transactions;
+    private RewardCalculationServiceImpl rewardCalculationService;
+
+    @Setup
+    public void setUp() {
+        transactions = BenchmarkData.transactions(new Customer(1L, "Benchmark"), transactionCount, new Random(42));
+        rewardCalculationService = new RewardCalculationServiceImpl(null,
+                new RewardRuleServiceImpl(new RewardRules(), event -> { }));
+    }
+
+    @Benchmark
+    public MonthlyRewards getCustomerMonthlyRewards() {
+        return rewardCalculationService.getCustomerMonthlyRewards(transactions);
+    }
+
+    @Benchmark
+    public int getCustomerTotalRewards() {
+        return rewardCalculationService.getCustomerTotalRewards(transactions);
+    }
+}
@@ -0,0 +1,73 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.serviceimpl.RewardCalculationServiceImpl;
+import com.retailer.reward.platform.serviceimpl.RewardRuleServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures RewardCalculationServiceImpl.getCustomerTransactionRewards() for single transactions,
+ * across amount distributions that exercise different reward tiers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardCalculationBenchmark {
+
+    private static final int SIZE = 4096;
+
+    /**
+     * Shapes of transaction amounts, from all below the first tier to mostly high value purchases.
+     */
+    public enum AmountDistribution {
+        BELOW_THRESHOLD, MID_TIER, HIGH_VALUE, UNIFORM, SKEWED
+    }
+
+    @Param
+    private AmountDistribution distribution;
+
+    private Transaction[] transactions;
+    private RewardCalculationServiceImpl rewardCalculationService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        transactions = new Transaction[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            transactions[i] = new Transaction((long) i, amount(random), BenchmarkData.month(random), null);
+        }
+        rewardCalculationService = new RewardCalculationServiceImpl(null,
+                new RewardRuleServiceImpl(new RewardRules(), event -> { }));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void getCustomerTransactionRewards(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(rewardCalculationService.getCustomerTransactionRewards(transaction));
+        }
+    }
+
+    private double amount(Random random) {
+        switch (distribution) {
+            case BELOW_THRESHOLD:
+                return 1 + random.nextDouble() * 49;
+            case MID_TIER:
+                return 51 + random.nextDouble() * 49;
+            case HIGH_VALUE:
+                return 101 + random.nextDouble() * 900;
+            case UNIFORM:
+                return 1 + random.nextDouble() * 300;
+            default:
+                return BenchmarkData.skewedAmount(random);
+        }
+    }
+}
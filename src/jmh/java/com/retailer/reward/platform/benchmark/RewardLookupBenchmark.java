@@ -0,0 +1,136 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.RewardPlatformApplication;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end reward lookups of a customer through the Spring services and repositories,
+ * against an H2 database seeded with the given number of customers and transactions per customer.
+ * Compares the reward ledger, the database-side aggregation and loading the transactions to
+ * aggregate them in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RewardLookupBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "10000"})
+    private int customerCount;
+
+    @Param({"10", "50"})
+    private int transactionsPerCustomer;
+
+    private ConfigurableApplicationContext context;
+    private RewardLedgerService rewardLedgerService;
+    private RewardCalculationService rewardCalculationService;
+    private TransactionService transactionService;
+    private long[] customerIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RewardPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        rewardLedgerService = context.getBean(RewardLedgerService.class);
+        rewardCalculationService = context.getBean(RewardCalculationService.class);
+        transactionService = context.getBean(TransactionService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        rewardLedgerService.rebuildLedger();
+
+        // Customers without any reward points would make the total lookups throw RewardNotFoundException
+        List<Long> rewardedIds = jdbcTemplate.queryForList(
+                "SELECT customer_id FROM customer_reward_ledger WHERE total_points > 0", Long.class);
+        Random random = new Random(7);
+        customerIds = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            customerIds[i] = rewardedIds.get(random.nextInt(rewardedIds.size()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int ledgerTotalRewards() {
+        return rewardLedgerService.getCustomerTotalRewards(nextCustomerId());
+    }
+
+    @Benchmark
+    public MonthlyRewards ledgerMonthlyRewards() {
+        return rewardLedgerService.getCustomerMonthlyRewards(nextCustomerId());
+    }
+
+    @Benchmark
+    public int aggregatedTotalRewards() {
+        return rewardCalculationService.getCustomerTotalRewards(nextCustomerId());
+    }
+
+    @Benchmark
+    public MonthlyRewards aggregatedMonthlyRewards() {
+        return rewardCalculationService.getCustomerMonthlyRewards(nextCustomerId());
+    }
+
+    @Benchmark
+    public int loadedTotalRewards() {
+        return rewardCalculationService.getCustomerTotalRewards(transactionService.getTransactionsByCustomerId(nextCustomerId()));
+    }
+
+    private long nextCustomerId() {
+        return customerIds[cursor++ & (LOOKUPS - 1)];
+    }
+
+    /**
+     * Inserts the customers and their transactions in JDBC batches, bypassing the services
+     * like the data insertion script does.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> customers = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            customers.add(new Object[]{"Customer " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (customer_name) VALUES (?)", customers);
+
+        List<Long> seededIds = jdbcTemplate.queryForList("SELECT customer_id FROM customer", Long.class);
+        List<Object[]> transactions = new ArrayList<>();
+        for (Long customerId : seededIds) {
+            for (int i = 0; i < transactionsPerCustomer; i++) {
+                transactions.add(new Object[]{BenchmarkData.skewedAmount(random), BenchmarkData.month(random), customerId});
+            }
+            if (transactions.size() >= 10_000) {
+                insertTransactions(jdbcTemplate, transactions);
+            }
+        }
+        insertTransactions(jdbcTemplate, transactions);
+    }
+
+    private static void insertTransactions(JdbcTemplate jdbcTemplate, List<Object[]> transactions) {
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (?, ?, ?)", transactions);
+        transactions.clear();
+    }
+}
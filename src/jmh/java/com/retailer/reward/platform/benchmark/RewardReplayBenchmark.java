@@ -0,0 +1,90 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.RewardPlatformApplication;
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.service.RewardReplayService;
+import com.retailer.reward.platform.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the events per second of restoring the reward ledger with RewardReplayServiceImpl.replayLedger(),
+ * replaying a log tail of creates, updates and deletes onto the baseline snapshot taken at startup.
+ * The score covers the whole restore: reading the snapshot, folding the events and writing the ledger.
+ * The replay result logged by the service for every invocation reports the rate of folding the events alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RewardReplayBenchmark {
+
+    private static final int CUSTOMERS = 10000;
+    private static final int BATCH_SIZE = 10000;
+    private static final int EVENTS = 100000;
+
+    private ConfigurableApplicationContext context;
+    private RewardReplayService rewardReplayService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RewardPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:replay;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.com.retailer.reward.platform.serviceimpl.RewardReplayServiceImpl=INFO")
+                .run();
+        rewardReplayService = context.getBean(RewardReplayService.class);
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Object[]{"Customer " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (customer_name) VALUES (?)", customers);
+        List<Long> customerIds = jdbcTemplate.queryForList("SELECT customer_id FROM customer", Long.class);
+
+        // 90% creates, then one update and one delete of every 18th created transaction
+        Random random = new Random(42);
+        int creates = EVENTS * 9 / 10;
+        List<Long> transactionIds = new ArrayList<>(creates);
+        for (int created = 0; created < creates; created += BATCH_SIZE) {
+            List<Transaction> transactions = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < Math.min(BATCH_SIZE, creates - created); i++) {
+                Customer customer = new Customer(customerIds.get(random.nextInt(customerIds.size())), null);
+                transactions.add(new Transaction(null, 1 + BenchmarkData.skewedAmount(random), BenchmarkData.month(random), customer));
+            }
+            transactionService.createTransactions(transactions);
+            transactions.forEach(transaction -> transactionIds.add(transaction.getTransactionId()));
+        }
+        for (int i = 0; i < (EVENTS - creates) / 2; i++) {
+            Long transactionId = transactionIds.get(i * 18);
+            transactionService.updateTransaction(transactionId, new Transaction(null, 1 + BenchmarkData.skewedAmount(random),
+                    BenchmarkData.month(random), null));
+            transactionService.deleteTransaction(transactionId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public RewardReplayResult replayLedger() {
+        return rewardReplayService.replayLedger();
+    }
+}
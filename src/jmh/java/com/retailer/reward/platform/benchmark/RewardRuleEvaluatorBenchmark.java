@@ -0,0 +1,84 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.rules.RewardPromotion;
+import com.retailer.reward.platform.rules.RewardRuleEvaluator;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.rules.RewardTier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled reward rule evaluator with the original hard-coded two-tier method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardRuleEvaluatorBenchmark {
+
+    private static final int SIZE = 4096;
+
+    private int[] amounts;
+    private int[] months;
+    private RewardRuleEvaluator defaultEvaluator;
+    private RewardRuleEvaluator promotionalEvaluator;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new int[SIZE];
+        months = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            amounts[i] = 1 + random.nextInt(300);
+            months[i] = 202401 + random.nextInt(12);
+        }
+        defaultEvaluator = RewardRuleEvaluator.compile(new RewardRules());
+        promotionalEvaluator = RewardRuleEvaluator.compile(new RewardRules(
+                List.of(new RewardTier(25, 1), new RewardTier(50, 2), new RewardTier(100, 3), new RewardTier(250, 4)), 1000,
+                List.of(new RewardPromotion("2024-11", "2024-12", 2), new RewardPromotion("2024-07", "2024-07", 3))));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void hardCoded(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(hardCodedPoints(amounts[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compiledDefaultRules(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(defaultEvaluator.points(amounts[i], months[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void compiledPromotionalRules(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(promotionalEvaluator.points(amounts[i], months[i]));
+        }
+    }
+
+    /**
+     * The original body of RewardCalculationServiceImpl.getCustomerTransactionRewards().
+     */
+    private static int hardCodedPoints(int amount) {
+        int points = 0;
+        if (amount > 100) {
+            points += (amount - 100) * 2;
+        }
+        if (amount > 50) {
+            points += Math.min(50, amount - 50);
+        }
+        return points;
+    }
+}
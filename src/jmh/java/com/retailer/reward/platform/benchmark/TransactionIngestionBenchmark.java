@@ -0,0 +1,87 @@
+package com.retailer.reward.platform.benchmark;
+
+import com.retailer.reward.platform.RewardPlatformApplication;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the rows per second of creating transactions one at a time, as the single-item
+ * endpoint does, with the batch ingestion of TransactionServiceImpl.createTransactions().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionIngestionBenchmark {
+
+    private static final int CUSTOMERS = 1000;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private List<Long> customerIds;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RewardPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:ingestion;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Object[]{"Customer " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (customer_name) VALUES (?)", customers);
+        customerIds = jdbcTemplate.queryForList("SELECT customer_id FROM customer", Long.class);
+        random = new Random(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public void singleItem(Blackhole blackhole) {
+        for (Transaction transaction : nextTransactions()) {
+            blackhole.consume(transactionService.createTransaction(transaction));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public TransactionBatchResult batch() {
+        return transactionService.createTransactions(nextTransactions());
+    }
+
+    private List<Transaction> nextTransactions() {
+        List<Transaction> transactions = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            Customer customer = new Customer(customerIds.get(random.nextInt(customerIds.size())), null);
+            transactions.add(new Transaction(null, 1 + BenchmarkData.skewedAmount(random), BenchmarkData.month(random), customer));
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,169 @@
+package com.retailer.reward.platform.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads a synthetic data set into a running reward platform.
+ * Customers are created through the customer API, transactions are generated on the fly as CSV
+ * and streamed to the bulk import endpoint, the chunked fast path for large histories.
+ * Transactions per customer follow a Zipf distribution, so a few customers have long histories
+ * and most have short ones. Months are spread over the last months of the range with a holiday peak,
+ * amounts are log-normal around a median of about $60, so they fall on both sides of the reward tiers.
+ * mvn -Ploadtest -DskipTests test -Dloadtest.main=RewardDataGenerator -Dloadtest.args="--customers 100000 --transactions 1000000"
+ */
+public class RewardDataGenerator {
+
+    private static final Pattern CUSTOMER_ID = Pattern.compile("\"customerId\"\\s*:\\s*(\\d+)");
+    private static final double[] MONTH_WEIGHTS = {0.9, 0.8, 0.9, 0.9, 1.0, 1.0, 1.0, 1.0, 1.0, 1.1, 1.3, 1.6};
+
+    private final String baseUrl;
+    private final int customers;
+    private final long transactions;
+    private final double zipfExponent;
+    private final int lastMonth;
+    private final int months;
+    private final int concurrency;
+    private final int chunkSize;
+    private final SplittableRandom random;
+    private final HttpClient httpClient;
+
+    RewardDataGenerator(Map<String, String> options) {
+        baseUrl = options.getOrDefault("base-url", "http://localhost:8080/rewardplatform/api/v1");
+        customers = Integer.parseInt(options.getOrDefault("customers", "10000"));
+        transactions = Long.parseLong(options.getOrDefault("transactions", "100000"));
+        zipfExponent = Double.parseDouble(options.getOrDefault("zipf", "1.0"));
+        lastMonth = Integer.parseInt(options.getOrDefault("last-month", "202412"));
+        months = Integer.parseInt(options.getOrDefault("months", "24"));
+        concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        chunkSize = Integer.parseInt(options.getOrDefault("chunk-size", "1000"));
+        random = new SplittableRandom(Long.parseLong(options.getOrDefault("seed", "42")));
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new RewardDataGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        long start = System.nanoTime();
+        long[] customerIds = createCustomers();
+        long customersDone = System.nanoTime();
+        System.out.printf("created %d customers in %.1f s, IDs %d..%d%n", customerIds.length,
+                (customersDone - start) / 1e9, customerIds[0], customerIds[customerIds.length - 1]);
+        String job = importTransactions(customerIds);
+        System.out.printf("imported %d transactions in %.1f s: %s%n", transactions, (System.nanoTime() - customersDone) / 1e9, job);
+    }
+
+    private long[] createCustomers() throws InterruptedException {
+        long[] customerIds = new long[customers];
+        Semaphore permits = new Semaphore(concurrency);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[customers];
+        for (int i = 0; i < customers; i++) {
+            int index = i;
+            permits.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/customers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Customer " + i + "\"}"))
+                    .build();
+            futures[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> customerIds[index] = customerId(response))
+                    .whenComplete((ignored, failure) -> permits.release());
+        }
+        CompletableFuture.allOf(futures).join();
+        Arrays.sort(customerIds);
+        return customerIds;
+    }
+
+    private static long customerId(HttpResponse<String> response) {
+        Matcher matcher = CUSTOMER_ID.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Customer not created: " + response.statusCode() + " " + response.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private String importTransactions(long[] customerIds) throws IOException, InterruptedException {
+        WeightedSampler customerSampler = WeightedSampler.zipf(customerIds.length, zipfExponent);
+        // Heavy customers spread over the ID range rather than being the oldest ones
+        long[] ranked = customerIds.clone();
+        for (int i = ranked.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ranked[i];
+            ranked[i] = ranked[j];
+            ranked[j] = swap;
+        }
+        WeightedSampler monthSampler = monthSampler();
+        PipedInputStream body = new PipedInputStream(1 << 16);
+        PipedOutputStream output = new PipedOutputStream(body);
+        Thread writer = new Thread(() -> writeCsv(output, ranked, customerSampler, monthSampler), "csv-writer");
+        writer.setDaemon(true);
+        writer.start();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/transactions/import?chunkSize=" + chunkSize))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        // Unblocks the writer if the server stopped reading early
+        body.close();
+        writer.join();
+        return response.statusCode() + " " + response.body();
+    }
+
+    private void writeCsv(OutputStream output, long[] ranked, WeightedSampler customerSampler, WeightedSampler monthSampler) {
+        SplittableRandom rows = random.split();
+        StringBuilder line = new StringBuilder(48);
+        try (output) {
+            output.write("customerId,amount,transactionMonth\n".getBytes(StandardCharsets.US_ASCII));
+            for (long i = 0; i < transactions; i++) {
+                int monthsAgo = monthSampler.sample(rows);
+                int month = monthKey(monthsAgo);
+                double amount = Math.max(1.0, Math.round(Math.exp(Math.log(60) + 0.8 * rows.nextGaussian()) * 100) / 100.0);
+                line.setLength(0);
+                line.append(ranked[customerSampler.sample(rows)]).append(',').append(amount).append(',')
+                        .append(month / 100).append('-').append(month % 100 < 10 ? "0" : "").append(month % 100).append('\n');
+                output.write(line.toString().getBytes(StandardCharsets.US_ASCII));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Index 0 is the last month; weights by calendar month, recent months slightly more likely
+    private WeightedSampler monthSampler() {
+        double[] weights = new double[months];
+        for (int monthsAgo = 0; monthsAgo < months; monthsAgo++) {
+            weights[monthsAgo] = MONTH_WEIGHTS[monthKey(monthsAgo) % 100 - 1] * (1.0 - 0.3 * monthsAgo / months);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    private int monthKey(int monthsAgo) {
+        int index = (lastMonth / 100) * 12 + (lastMonth % 100 - 1) - monthsAgo;
+        return (index / 12) * 100 + index % 12 + 1;
+    }
+}
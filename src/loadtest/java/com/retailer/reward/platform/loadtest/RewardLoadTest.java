@@ -0,0 +1,275 @@
+package com.retailer.reward.platform.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test against a running reward platform: every client sends its next request
+ * as soon as the previous one completes. The mixed request mix covers reward reads, transaction and customer
+ * listings and a share of transaction writes, the rewards mix only the reward reads also served by the reactive profile.
+ * Customers are picked uniformly or, with --zipf, skewed towards a few hot customers.
+ * Slow clients trickle their requests over raw sockets a byte at a time, holding server connections open.
+ * Responses with status 5xx or failed exchanges count as errors, 4xx responses are reported separately
+ * since IDs above the generated range simply answer 404.
+ * Run the server in each mode and compare the reported throughput and latency percentiles:
+ * mvn -Ploadtest -DskipTests test -Dloadtest.args="--clients 1000 --duration 60 --label virtual"
+ */
+public class RewardLoadTest {
+
+    private final String baseUrl;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int customers;
+    private final int transactions;
+    private final int writePercent;
+    private final String label;
+    private final boolean rewardsOnly;
+    private final int slowClients;
+    private final long trickleMillis;
+    private final WeightedSampler customerSampler;
+    private final long[] customerOrder;
+    private final HttpClient httpClient;
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong clientErrors = new AtomicLong();
+
+    RewardLoadTest(Map<String, String> options) {
+        baseUrl = options.getOrDefault("base-url", "http://localhost:8080/rewardplatform/api/v1");
+        clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        customers = Integer.parseInt(options.getOrDefault("customers", "10"));
+        transactions = Integer.parseInt(options.getOrDefault("transactions", "26"));
+        writePercent = Integer.parseInt(options.getOrDefault("write-percent", "5"));
+        label = options.getOrDefault("label", "run");
+        rewardsOnly = "rewards".equals(options.getOrDefault("mix", "mixed"));
+        slowClients = Integer.parseInt(options.getOrDefault("slow-clients", "0"));
+        trickleMillis = Long.parseLong(options.getOrDefault("trickle-ms", "20"));
+        customerSampler = WeightedSampler.zipf(customers, Double.parseDouble(options.getOrDefault("zipf", "0")));
+        // Hot customers spread over the ID range, in the same order on every run
+        customerOrder = new long[customers];
+        SplittableRandom shuffle = new SplittableRandom(7);
+        for (int i = 0; i < customers; i++) {
+            int j = shuffle.nextInt(i + 1);
+            customerOrder[i] = customerOrder[j];
+            customerOrder[j] = i + 1;
+        }
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new RewardLoadTest(options).run();
+    }
+
+    void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<Thread> slowThreads = new ArrayList<>(slowClients);
+        AtomicLong slowRequests = new AtomicLong();
+        for (int i = 0; i < slowClients; i++) {
+            Thread thread = new Thread(new SlowClient(end, slowRequests), "slow-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            slowThreads.add(thread);
+        }
+        List<Client> running = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(measureFrom, end);
+            Thread thread = new Thread(client, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            running.add(client);
+            client.thread = thread;
+        }
+        for (Client client : running) {
+            client.thread.join();
+        }
+        for (Thread thread : slowThreads) {
+            thread.join();
+        }
+        report(running);
+        if (slowClients > 0) {
+            System.out.printf("%s: slow-clients=%d completed=%d%n", label, slowClients, slowRequests.get());
+        }
+    }
+
+    private void report(List<Client> finished) {
+        long total = 0;
+        for (Client client : finished) {
+            total += client.count;
+        }
+        long[] latencies = new long[(int) total];
+        int offset = 0;
+        for (Client client : finished) {
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            offset += client.count;
+        }
+        Arrays.sort(latencies);
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%s: clients=%d requests=%d errors=%d (%.2f%%) 4xx=%d throughput=%.0f req/s " +
+                        "p50=%.1f ms p90=%.1f ms p99=%.1f ms p999=%.1f ms max=%.1f ms%n",
+                label, clients, total, errors.get(), total == 0 ? 0.0 : 100.0 * errors.get() / total, clientErrors.get(),
+                total / seconds, percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private HttpRequest nextRequest(ThreadLocalRandom random) {
+        long customerId = customerOrder[customerSampler.sample(random)];
+        if (rewardsOnly) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + rewardsPath(random, customerId))).GET().build();
+        }
+        int roll = random.nextInt(100);
+        if (roll < writePercent) {
+            String body = "{\"amount\":" + (10 + random.nextInt(190)) + ",\"transactionMonth\":\"2024-0" + (1 + random.nextInt(9)) +
+                    "\",\"customer\":{\"customerId\":" + customerId + "}}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/transactions"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        String path;
+        int readRoll = random.nextInt(100);
+        if (readRoll < 30) {
+            path = "/rewards/customer/" + customerId + "/total-rewards";
+        } else if (readRoll < 60) {
+            path = "/rewards/customer/" + customerId + "/monthly-rewards";
+        } else if (readRoll < 75) {
+            path = "/transactions/" + (1 + random.nextInt(transactions));
+        } else if (readRoll < 90) {
+            path = "/transactions?after=" + random.nextInt(transactions) + "&limit=20";
+        } else {
+            path = "/customers?after=" + random.nextInt(customers) + "&limit=20";
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private String rewardsPath(ThreadLocalRandom random, long customerId) {
+        int roll = random.nextInt(100);
+        if (roll < 45) {
+            return "/rewards/customer/" + customerId + "/total-rewards";
+        } else if (roll < 90) {
+            return "/rewards/customer/" + customerId + "/monthly-rewards";
+        }
+        return "/rewards/transaction/" + (1 + random.nextInt(transactions)) + "/rewards";
+    }
+
+    /**
+     * Sends reward reads one byte at a time and reads each response to the end of the connection.
+     */
+    private class SlowClient implements Runnable {
+
+        private final long end;
+        private final AtomicLong completed;
+
+        SlowClient(long end, AtomicLong completed) {
+            this.end = end;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            URI base = URI.create(baseUrl);
+            int port = base.getPort() > 0 ? base.getPort() : 80;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < end) {
+                String request = "GET " + base.getPath() + rewardsPath(random, customerOrder[customerSampler.sample(random)]) + " HTTP/1.1\r\n" +
+                        "Host: " + base.getHost() + "\r\nConnection: close\r\n\r\n";
+                try (Socket socket = new Socket(base.getHost(), port)) {
+                    OutputStream output = socket.getOutputStream();
+                    for (byte b : request.getBytes(StandardCharsets.US_ASCII)) {
+                        output.write(b);
+                        output.flush();
+                        Thread.sleep(trickleMillis);
+                    }
+                    socket.getInputStream().readAllBytes();
+                    completed.incrementAndGet();
+                } catch (IOException e) {
+                    errors.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private class Client implements Runnable {
+
+        private final long measureFrom;
+        private final long end;
+        private long[] latencies = new long[1024];
+        private int count;
+        private Thread thread;
+
+        Client(long measureFrom, long end) {
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                boolean failed;
+                try {
+                    HttpResponse<Void> response = httpClient.send(nextRequest(random), HttpResponse.BodyHandlers.discarding());
+                    failed = response.statusCode() >= 500;
+                    if (response.statusCode() >= 400 && !failed && now >= measureFrom) {
+                        clientErrors.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    failed = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long finished = System.nanoTime();
+                if (now >= measureFrom && finished <= end) {
+                    if (failed) {
+                        errors.incrementAndGet();
+                    }
+                    record(finished - now);
+                }
+            }
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.retailer.reward.platform.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples indexes 0..n-1 in proportion to their weights, by binary search over the cumulative distribution.
+ */
+final class WeightedSampler {
+
+    private final double[] cumulative;
+
+    WeightedSampler(double[] weights) {
+        cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Zipf distribution over ranks 0..n-1, rank r weighted 1 / (r + 1)^exponent. An exponent of 0 is uniform.
+     */
+    static WeightedSampler zipf(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int rank = 0; rank < n; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int sampled = index >= 0 ? index : -index - 1;
+        return Math.min(sampled, cumulative.length - 1);
+    }
+}
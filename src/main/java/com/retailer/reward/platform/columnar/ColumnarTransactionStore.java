@@ -0,0 +1,159 @@
+package com.retailer.reward.platform.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only columnar store of transaction rows in memory-mapped files, one file per column:
+ * customer IDs (8 bytes), month keys (4 bytes) and amounts (8 bytes), in native byte order.
+ * Amounts are kept exactly as stored in the transaction table, so points computed from them match the ledger's.
+ * Rows are never rewritten. A deleted transaction, or the previous state of an updated one, is appended
+ * again with its month key negated, so aggregations count every row with the sign of its month.
+ * Each column is a single mapping that doubles when full, which limits a store to MAX_ROWS rows.
+ * One thread appends at a time; readers use the {@link Columns} last published, which cover a fixed
+ * number of rows and stay valid while more rows are appended.
+ * The store is process-local: the files only keep the columns off the Java heap, a store is always created
+ * empty and never reopened, so its rows do not outlive the process.
+ */
+public final class ColumnarTransactionStore implements Closeable {
+
+    public static final int MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final Path directory;
+    private final FileChannel customerIdChannel;
+    private final FileChannel monthChannel;
+    private final FileChannel amountChannel;
+    private LongBuffer customerIds;
+    private IntBuffer months;
+    private DoubleBuffer amounts;
+    private int capacity;
+    private int rows;
+    private int firstMonth = Integer.MAX_VALUE;
+    private int lastMonth = Integer.MIN_VALUE;
+    private volatile Columns published = new Columns(LongBuffer.allocate(0), IntBuffer.allocate(0), DoubleBuffer.allocate(0), 0, 0, 0);
+
+    private ColumnarTransactionStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.customerIdChannel = open(directory.resolve("customer_id.col"));
+        this.monthChannel = open(directory.resolve("transaction_month.col"));
+        this.amountChannel = open(directory.resolve("amount.col"));
+        map(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store in a directory, truncating the column files of a previous store there.
+     *
+     * @param directory the directory of the column files
+     * @return the store
+     * @throws IOException if the files cannot be created or mapped
+     */
+    public static ColumnarTransactionStore create(Path directory) throws IOException {
+        return new ColumnarTransactionStore(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Appends a row. The row is visible to readers once published.
+     *
+     * @param customerId the ID of the customer
+     * @param month      the month key of the transaction
+     * @param amount     the transaction amount
+     * @param retraction whether the row retracts the transaction, stored with its month key negated
+     * @throws IOException if the column files cannot grow
+     */
+    public void append(long customerId, int month, double amount, boolean retraction) throws IOException {
+        if (rows == capacity) {
+            if (capacity == MAX_ROWS) {
+                throw new IllegalStateException("Columnar store is full at " + MAX_ROWS + " rows");
+            }
+            map((int) Math.min((long) capacity * 2, MAX_ROWS));
+        }
+        customerIds.put(rows, customerId);
+        months.put(rows, retraction ? -month : month);
+        amounts.put(rows, amount);
+        rows++;
+        firstMonth = Math.min(firstMonth, month);
+        lastMonth = Math.max(lastMonth, month);
+    }
+
+    /**
+     * Makes the rows appended so far visible to readers.
+     *
+     * @return the published columns
+     */
+    public Columns publish() {
+        Columns columns = new Columns(customerIds.asReadOnlyBuffer(), months.asReadOnlyBuffer(), amounts.asReadOnlyBuffer(),
+                rows, rows == 0 ? 0 : firstMonth, rows == 0 ? 0 : lastMonth);
+        published = columns;
+        return columns;
+    }
+
+    /**
+     * Drops the rows appended since the last publish, e.g. after a failed catch-up, so they can be appended again.
+     */
+    public void discardUnpublished() {
+        rows = published.rows();
+    }
+
+    /**
+     * @return the columns last published
+     */
+    public Columns columns() {
+        return published;
+    }
+
+    /**
+     * Closes the files. Published columns stay readable until they are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        customerIdChannel.close();
+        monthChannel.close();
+        amountChannel.close();
+    }
+
+    private void map(int newCapacity) throws IOException {
+        customerIds = map(customerIdChannel, newCapacity, Long.BYTES).asLongBuffer();
+        months = map(monthChannel, newCapacity, Integer.BYTES).asIntBuffer();
+        amounts = map(amountChannel, newCapacity, Double.BYTES).asDoubleBuffer();
+        capacity = newCapacity;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, int capacity, int width) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * width);
+        buffer.order(ByteOrder.nativeOrder());
+        return buffer;
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Read-only views of the first rows of every column, read with absolute gets.
+     *
+     * @param customerIds the customer ID column
+     * @param months      the month key column, negated for retracted transactions
+     * @param amounts     the amount column
+     * @param rows        the number of rows
+     * @param firstMonth  the smallest month key, 0 without rows
+     * @param lastMonth   the largest month key, 0 without rows
+     */
+    public record Columns(LongBuffer customerIds, IntBuffer months, DoubleBuffer amounts, int rows, int firstMonth, int lastMonth) {
+    }
+}
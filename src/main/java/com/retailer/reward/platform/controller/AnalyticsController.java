@@ -0,0 +1,55 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.dto.ColumnarSnapshotInfo;
+import com.retailer.reward.platform.dto.TransactionAnalytics;
+import com.retailer.reward.platform.service.TransactionAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for whole-table transaction analytics.
+ * Aggregations are scanned from a columnar snapshot of the transaction table; every response
+ * carries the snapshot's watermark and how many transaction events it is behind.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/rewards/analytics")
+@Tag(name = "Transaction Analytics", description = "Operations pertaining to whole-table transaction analytics")
+@Slf4j
+@AllArgsConstructor
+public class AnalyticsController {
+
+    private final TransactionAnalyticsService transactionAnalyticsService;
+
+    /**
+     * Retrieves the transaction count, spend and reward points of every month.
+     *
+     * @return the totals of every month with transactions and the state of the snapshot
+     */
+    @Operation(summary = "Get monthly transaction analytics", description = "Get the transaction count, spend and reward points of every month across all customers")
+    @GetMapping("/monthly")
+    public ResponseEntity<TransactionAnalytics> getMonthlyAnalytics() {
+        log.info("AnalyticsController.getMonthlyAnalytics():: scanning columnar snapshot");
+        return ResponseEntity.ok(transactionAnalyticsService.getMonthlyAnalytics());
+    }
+
+    /**
+     * Exports the transaction table into a new columnar snapshot, dropping the retractions accumulated by the current one.
+     *
+     * @return the state of the exported snapshot
+     */
+    @Operation(summary = "Export the columnar snapshot", description = "Rewrite the columnar snapshot from the transaction table")
+    @PostMapping("/snapshot")
+    public ResponseEntity<ColumnarSnapshotInfo> exportSnapshot() {
+        log.info("AnalyticsController.exportSnapshot():: exporting columnar snapshot");
+        return ResponseEntity.ok(transactionAnalyticsService.exportSnapshot());
+    }
+}
@@ -1,6 +1,11 @@
 package com.retailer.reward.platform.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.dto.CustomerCacheStats;
 import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.service.CustomerCacheService;
 import com.retailer.reward.platform.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,11 +14,15 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Optional;
 
 /**
@@ -21,6 +30,7 @@ import java.util.Optional;
  * It handles CRUD operations for Customer entities.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/customers")
 @Tag(name = "Customer Reward-Platform System", description = "Operations pertaining to customer in Customer Reward-Platform System")
 @Slf4j
@@ -28,6 +38,8 @@ import java.util.Optional;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerCacheService customerCacheService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new customer.
@@ -92,16 +104,55 @@ public class CustomerController {
     }
 
     /**
-     * Retrieves all customers.
+     * Retrieves the hit, miss and eviction statistics of the customer cache.
      *
-     * @return ResponseEntity containing the list of customers and HTTP status
+     * @return ResponseEntity containing the cache statistics and HTTP status
      */
-    @Operation(summary = "Fetch all customers data", description = "Get all customers details")
+    @Operation(summary = "Fetch customer cache statistics", description = "Get the size, hits, misses, loads and evictions of the customer cache")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CustomerCacheStats> getCustomerCacheStats() {
+        return new ResponseEntity<>(customerCacheService.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves one page of customers in ID order.
+     *
+     * @param after the cursor returned with the previous page, absent for the first page
+     * @param limit the page size, at most 1000 and 100 when absent
+     * @return ResponseEntity containing the page of customers with the cursor of the next page, and HTTP status
+     */
+    @Operation(summary = "Fetch all customers data", description = "Page through all customers in ID order, following the returned cursor")
     @GetMapping()
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        log.info("Fetching all customers");
-        List<Customer> customers = customerService.getAllCustomers();
+    public ResponseEntity<CursorPage<Customer>> getAllCustomers(@RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit) {
+        log.info("Fetching customers after {}", after);
+        CursorPage<Customer> customers = customerService.getCustomers(after, limit);
         return new ResponseEntity<>(customers, HttpStatus.OK);
     }
 
+    /**
+     * Exports all customers as one JSON array, written while the customers are read from the database.
+     *
+     * @return ResponseEntity streaming all customers
+     */
+    @Operation(summary = "Export all customers", description = "Stream all customers as a JSON array in ID order")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        log.info("Exporting all customers");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                customerService.exportCustomers(customer -> {
+                    try {
+                        generator.writeObject(customer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.dto.LeaderboardEntry;
+import com.retailer.reward.platform.exception.InvalidMonthRangeException;
+import com.retailer.reward.platform.service.LeaderboardService;
+import com.retailer.reward.platform.util.Constants;
+import com.retailer.reward.platform.util.MonthKey;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for the rewards leaderboards.
+ * Ranks customers by all-time reward points or by the points of a single month, served from
+ * in-memory boards that follow every committed transaction write.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/rewards/leaderboard")
+@Tag(name = "Rewards Leaderboard", description = "Operations pertaining to customer reward rankings")
+@Slf4j
+@AllArgsConstructor
+@Validated
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Retrieves the customers with the most reward points.
+     *
+     * @param month the month as YYYY-MM, all-time points when absent
+     * @param limit the maximum number of customers
+     * @return the leading customers in rank order
+     */
+    @Operation(summary = "Get the top customers by reward points", description = "Get the customers with the most reward points overall or in a month")
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntry>> getTopCustomers(@RequestParam(required = false) String month,
+                                                                  @RequestParam(defaultValue = "" + Constants.DEFAULT_LEADERBOARD_SIZE) int limit) {
+        log.info("LeaderboardController.getTopCustomers():: month {} limit {}", month, limit);
+        return ResponseEntity.ok(leaderboardService.getTopCustomers(parseMonth(month), limit));
+    }
+
+    /**
+     * Retrieves the rank of a customer.
+     *
+     * @param customerId the ID of the customer
+     * @param month      the month as YYYY-MM, all-time points when absent
+     * @return the customer's rank and reward points
+     */
+    @Operation(summary = "Get the rank of a customer", description = "Get the customer rank by reward points overall or in a month")
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<LeaderboardEntry> getCustomerRank(@PathVariable @NotNull Long customerId,
+                                                            @RequestParam(required = false) String month) {
+        log.info("LeaderboardController.getCustomerRank():: customer {} month {}", customerId, month);
+        return ResponseEntity.ok(leaderboardService.getCustomerRank(customerId, parseMonth(month)));
+    }
+
+    private static Integer parseMonth(String month) {
+        if (month == null) {
+            return null;
+        }
+        try {
+            return MonthKey.parse(month);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidMonthRangeException(Constants.INVALID_LEADERBOARD_MONTH);
+        }
+    }
+}
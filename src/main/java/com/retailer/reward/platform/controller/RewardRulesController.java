@@ -0,0 +1,52 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.service.RewardRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for managing the reward rules.
+ * Provides endpoints to read and replace the tiers, cap and promotions used to calculate reward points.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/rewards/rules")
+@Tag(name = "Reward Rules Management System", description = "Operations pertaining to reward rules in Rewards Management System")
+@Slf4j
+@AllArgsConstructor
+public class RewardRulesController {
+
+    private final RewardRuleService rewardRuleService;
+
+    /**
+     * Retrieves the active reward rules.
+     *
+     * @return the active reward rules
+     */
+    @Operation(summary = "Fetch the active reward rules", description = "Get the reward tiers, cap and promotions in use")
+    @GetMapping
+    public ResponseEntity<RewardRules> getRewardRules() {
+        return new ResponseEntity<>(rewardRuleService.getRules(), HttpStatus.OK);
+    }
+
+    /**
+     * Replaces the active reward rules. The reward ledger is rebuilt with the new rules.
+     *
+     * @param rules the new reward rules
+     * @return the activated reward rules
+     */
+    @Operation(summary = "Replace the reward rules", description = "Activate new reward tiers, cap and promotions and rebuild the reward ledger")
+    @PutMapping
+    public ResponseEntity<RewardRules> updateRewardRules(@RequestBody RewardRules rules) {
+        log.info("Updating reward rules: {}", rules);
+        RewardRules activated = rewardRuleService.updateRules(rules);
+        return new ResponseEntity<>(activated, HttpStatus.OK);
+    }
+}
@@ -1,32 +1,63 @@
 package com.retailer.reward.platform.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailer.reward.platform.dto.BatchRewardRequest;
+import com.retailer.reward.platform.dto.CumulativeRewards;
+import com.retailer.reward.platform.dto.MonthRange;
+import com.retailer.reward.platform.dto.RewardRangeBatchRequest;
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.entity.RecomputeJob;
+import com.retailer.reward.platform.entity.RewardSnapshot;
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.service.BatchRewardService;
 import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.service.RewardRecomputeService;
+import com.retailer.reward.platform.service.RewardReplayService;
+import com.retailer.reward.platform.service.RewardResponseCacheService;
 import com.retailer.reward.platform.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * REST controller for managing rewards.
  * Provides endpoints to calculate and retrieve reward points for transactions and customers.
+ * Customer reward responses carry the customer's reward version as ETag, a matching If-None-Match
+ * is answered with 304 after reading only the version, and other reads are served per version from a cache.
+ * Versions start over with the in-memory database, so the ETag is prefixed with an epoch drawn at startup.
+ * Month range rewards are the difference of two running totals of the customer's monthly rewards.
  */
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/rewards")
 @Tag(name = "Rewards Management System", description = "Operations pertaining to rewards in Rewards Management System")
 @Slf4j
@@ -38,6 +69,21 @@ public class RewardsController {
 
     private final TransactionService transactionService;
 
+    private final RewardLedgerService rewardLedgerService;
+
+    private final RewardResponseCacheService rewardResponseCacheService;
+
+    private final BatchRewardService batchRewardService;
+
+    private final RewardReplayService rewardReplayService;
+
+    private final RewardRecomputeService rewardRecomputeService;
+
+    private final ObjectMapper objectMapper;
+
+    // Not a constructor argument, drawn once per process like the database the versions come from
+    private final String eTagEpoch = UUID.randomUUID().toString();
+
     /**
      * Calculates the reward points for a specific transaction.
      *
@@ -56,41 +102,198 @@ public class RewardsController {
     }
 
     /**
-     * Calculates the monthly reward points for a customer.
+     * Retrieves the monthly reward points for a customer from the monthly reward rollup.
      *
-     * @param customerId the ID of the customer to calculate monthly rewards for
-     * @return a map of months and their corresponding reward points for the specified customer
+     * @param customerId the ID of the customer to retrieve monthly rewards for
+     * @param webRequest the request, checked for an If-None-Match header
+     * @return a map of months and their corresponding reward points for the specified customer, or 304 if unchanged
      */
     @Operation(summary = "Calculate reward points per month for a customer", description = "Get the customer monthly rewards points summary by customerId")
     @GetMapping("/customer/{customerId}/monthly-rewards")
-    public ResponseEntity<Map<String, Integer>> getCustomerMonthlyRewards(@PathVariable @NotNull Long customerId) {
+    public ResponseEntity<Map<String, Integer>> getCustomerMonthlyRewards(@PathVariable @NotNull Long customerId, WebRequest webRequest) {
         log.info("Fetching reward points per month for customer with ID: {}", customerId);
-        List<Transaction> transactions = transactionService.getTransactionsByCustomerId(customerId);
-        if (transactions.isEmpty()) {
-            throw new ResourceNotFoundException("No transactions found for customer with ID: " + customerId);
+        long version = rewardLedgerService.getCustomerRewardsVersion(customerId);
+        String etag = rewardsETag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
-        Map<String, Integer> monthlyRewards = rewardService.getCustomerMonthlyRewards(transactions);
-        return new ResponseEntity<>(monthlyRewards, HttpStatus.OK);
+        Map<String, Integer> monthlyRewards = rewardResponseCacheService.getCustomerMonthlyRewards(customerId, version).toMap();
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(monthlyRewards);
     }
 
 
     /**
-     * Calculates the total reward points for a customer.
+     * Retrieves the total reward points for a customer from the reward ledger.
      *
-     * @param customerId the ID of the customer to calculate total rewards for
-     * @return the total reward points for the specified customer
+     * @param customerId the ID of the customer to retrieve total rewards for
+     * @param webRequest the request, checked for an If-None-Match header
+     * @return the total reward points for the specified customer, or 304 if unchanged
      */
     @Operation(summary = "Calculate total reward points for a customer", description = "Get the customer total reward points by customerId")
     @GetMapping("/customer/{customerId}/total-rewards")
-    public ResponseEntity<Integer> getCustomerTotalRewards(@PathVariable @NotNull Long customerId) {
-        List<Transaction> transactions = transactionService.getTransactionsByCustomerId(customerId);
-        if (transactions.isEmpty()) {
-            throw new ResourceNotFoundException("No transactions found for customer with ID: " + customerId);
+    public ResponseEntity<Integer> getCustomerTotalRewards(@PathVariable @NotNull Long customerId, WebRequest webRequest) {
+        long version = rewardLedgerService.getCustomerRewardsVersion(customerId);
+        String etag = rewardsETag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
-        int totalRewards = rewardService.getCustomerTotalRewards(transactions);
-        return new ResponseEntity<>(totalRewards, HttpStatus.OK);
+        int totalRewards = rewardResponseCacheService.getCustomerTotalRewards(customerId, version);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(totalRewards);
     }
 
+    /**
+     * Retrieves the reward points a customer earned in a range of months, e.g. the last 3, 6 or 12 months,
+     * from the running totals of the customer's monthly rewards.
+     *
+     * @param customerId the ID of the customer
+     * @param from       the first month of the range as YYYY-MM, from the first transaction when absent
+     * @param to         the last month of the range as YYYY-MM, up to the last transaction when absent
+     * @param webRequest the request, checked for an If-None-Match header
+     * @return the reward points earned in the range, or 304 if unchanged
+     */
+    @Operation(summary = "Calculate reward points of a customer in a range of months", description = "Get the customer reward points earned between the from and to months, both inclusive")
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<Integer> getCustomerRangeRewards(@PathVariable @NotNull Long customerId,
+                                                           @RequestParam(required = false) String from,
+                                                           @RequestParam(required = false) String to, WebRequest webRequest) {
+        MonthRange range = MonthRange.parse(from, to);
+        long version = rewardLedgerService.getCustomerRewardsVersion(customerId);
+        String etag = rewardsETag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        int points = rewardResponseCacheService.getCustomerCumulativeRewards(customerId, version)
+                .pointsBetween(range.fromMonth(), range.toMonth());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(points);
+    }
 
-}
+    /**
+     * Retrieves the reward points many customers earned in the same range of months.
+     * Customers without transactions are reported with 0 points.
+     *
+     * @param request the customer IDs and the range of months
+     * @return the reward points earned in the range per customer, in request order
+     */
+    @Operation(summary = "Calculate reward points of many customers in a range of months", description = "Get the reward points the requested customers earned between the from and to months")
+    @PostMapping("/range/batch")
+    public ResponseEntity<Map<Long, Integer>> getBatchRangeRewards(@Valid @RequestBody RewardRangeBatchRequest request) {
+        MonthRange range = MonthRange.parse(request.getFrom(), request.getTo());
+        log.info("Calculating range rewards for {} customers", request.getCustomerIds().size());
+        Map<Long, Long> versions = rewardLedgerService.getCustomerRewardsVersions(request.getCustomerIds());
+        Map<Long, CumulativeRewards> cumulativeRewards = rewardResponseCacheService.getCustomersCumulativeRewards(versions);
+        Map<Long, Integer> points = new LinkedHashMap<>();
+        for (Long customerId : request.getCustomerIds()) {
+            CumulativeRewards rewards = cumulativeRewards.get(customerId);
+            points.put(customerId, rewards == null ? 0 : rewards.pointsBetween(range.fromMonth(), range.toMonth()));
+        }
+        return new ResponseEntity<>(points, HttpStatus.OK);
+    }
+
+    /**
+     * Calculates the monthly and total reward points of many customers in a single pass over the transactions.
+     * Results are streamed as newline-delimited JSON, one customer per line, as soon as each customer is calculated.
+     *
+     * @param request the customer IDs to calculate rewards for, or all customers
+     * @return a stream of customer reward summaries
+     */
+    @Operation(summary = "Calculate reward points for many customers", description = "Stream the monthly and total reward points of the requested customers or all customers")
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getBatchRewards(@Valid @RequestBody BatchRewardRequest request) {
+        log.info("Calculating batch rewards for {}", request.isAll() ? "all customers" : request.getCustomerIds().size() + " customers");
+        StreamingResponseBody body = outputStream -> {
+            batchRewardService.calculateRewards(request, summary -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(summary));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Recomputes the reward ledger of every customer from the transaction history.
+     *
+     * @return the number of customers present in the rebuilt ledger
+     */
+    @Operation(summary = "Rebuild the reward ledger", description = "Recompute the reward ledger of all customers from their transactions")
+    @PostMapping("/ledger/rebuild")
+    public ResponseEntity<Integer> rebuildRewardLedger() {
+        log.info("Rebuilding reward ledger for all customers");
+        int customers = rewardLedgerService.rebuildLedger();
+        return new ResponseEntity<>(customers, HttpStatus.OK);
+    }
 
+    /**
+     * Takes a reward snapshot of every customer at the last committed transaction event.
+     *
+     * @return the snapshot
+     */
+    @Operation(summary = "Take a reward snapshot", description = "Fold the transaction events since the latest snapshot into a new snapshot")
+    @PostMapping("/ledger/snapshot")
+    public ResponseEntity<RewardSnapshot> takeRewardSnapshot() {
+        log.info("Taking reward snapshot");
+        return new ResponseEntity<>(rewardReplayService.takeSnapshot(), HttpStatus.OK);
+    }
+
+    /**
+     * Restores the reward ledger of every customer from the latest reward snapshot and the transaction events after it.
+     *
+     * @return the snapshot used, the events replayed and the replay throughput
+     */
+    @Operation(summary = "Replay the reward ledger", description = "Restore the reward ledger of all customers from the latest snapshot and the transaction events after it")
+    @PostMapping("/ledger/replay")
+    public ResponseEntity<RewardReplayResult> replayRewardLedger() {
+        log.info("Replaying reward ledger from the latest snapshot");
+        return new ResponseEntity<>(rewardReplayService.replayLedger(), HttpStatus.OK);
+    }
+
+    /**
+     * Starts recomputing the reward ledger of every customer in the background, range by range in parallel.
+     *
+     * @param rangeSize the number of customers per range, if not the configured default
+     * @return the started recompute job
+     */
+    @Operation(summary = "Start a reward recomputation", description = "Recompute the reward ledger of all customers in parallel customer ranges, checkpointed per range")
+    @PostMapping("/ledger/recompute")
+    public ResponseEntity<RecomputeJob> startRewardRecompute(@RequestParam(required = false) Integer rangeSize) {
+        log.info("Starting reward recomputation");
+        return new ResponseEntity<>(rewardRecomputeService.startRecompute(rangeSize), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Resumes a failed or interrupted recompute job with the customer ranges it has not completed.
+     *
+     * @param jobId the ID of the recompute job
+     * @return the resumed recompute job
+     */
+    @Operation(summary = "Resume a reward recomputation")
+    @PostMapping("/ledger/recompute/{jobId}/resume")
+    public ResponseEntity<RecomputeJob> resumeRewardRecompute(@PathVariable Long jobId) {
+        log.info("Resuming reward recomputation job {}", jobId);
+        return new ResponseEntity<>(rewardRecomputeService.resumeRecompute(jobId), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves the progress of a recompute job: its completed ranges, counts, throughput and estimated completion.
+     *
+     * @param jobId the ID of the recompute job
+     * @return the recompute job
+     */
+    @Operation(summary = "Get the progress of a reward recomputation")
+    @GetMapping("/ledger/recompute/{jobId}")
+    public ResponseEntity<RecomputeJob> getRewardRecompute(@PathVariable Long jobId) {
+        log.info("Fetching reward recomputation job {}", jobId);
+        return new ResponseEntity<>(rewardRecomputeService.getRecomputeJob(jobId), HttpStatus.OK);
+    }
+
+    // Clients revalidate on every read (Cache-Control: no-cache), the version tells them whether anything changed
+    // and the epoch keeps a version from before a restart from matching the same number after it
+    private String rewardsETag(long version) {
+        return "\"" + eTagEpoch + "-" + version + "\"";
+    }
+
+}
@@ -1,21 +1,33 @@
 package com.retailer.reward.platform.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
 import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.ImportJob;
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.CustomerNotFoundException;
 import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.TransactionGroupCommitService;
+import com.retailer.reward.platform.service.TransactionImportService;
 import com.retailer.reward.platform.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -23,6 +35,7 @@ import java.util.List;
  * Provides endpoints to create, update, delete, and retrieve transactions.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/transactions")
 @Tag(name = "Transaction Management System", description = "Operations pertaining to transactions in Transaction Management System")
 @Slf4j
@@ -30,9 +43,13 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionGroupCommitService transactionGroupCommitService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new transaction.
+     * With group commit enabled the transaction is committed together with concurrently created ones.
      *
      * @param transaction the transaction to be created
      * @return the created transaction
@@ -45,10 +62,62 @@ public class TransactionController {
         if (customer == null) {
             throw new CustomerNotFoundException("Transaction must have a customer associated with it");
         }
-        Transaction createdTransaction = transactionService.createTransaction(transaction);
+        Transaction createdTransaction = transactionGroupCommitService.isEnabled()
+                ? transactionGroupCommitService.createTransaction(transaction)
+                : transactionService.createTransaction(transaction);
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates many transactions at once, e.g. a POS system's backlog.
+     * Invalid transactions are rejected individually without failing the others.
+     *
+     * @param transactions the transactions to be created
+     * @return the outcome of every transaction, in request order
+     */
+    @Operation(summary = "Create transactions in batch")
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionBatchResult> createTransactions(@RequestBody List<Transaction> transactions) {
+        log.info("Creating {} transactions in batch", transactions.size());
+        TransactionBatchResult result = transactionService.createTransactions(transactions);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Imports a large file of historical transactions, streamed as newline-delimited JSON or as CSV with a
+     * customerId,amount,transactionMonth header. Rows are committed in chunks; a failed import is resumed by
+     * sending the same file again with its job ID, which skips the rows already committed.
+     *
+     * @param request   the request whose body is the file to import
+     * @param jobId     the ID of the import job to resume, if any
+     * @param chunkSize the number of rows committed per database transaction, if not the configured default
+     * @return the import job with its created and rejected counts once the import has completed or failed
+     */
+    @Operation(summary = "Import transactions", description = "Stream historical transactions as NDJSON or CSV, committed in chunks and resumable by job ID")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJob> importTransactions(HttpServletRequest request, @RequestParam(required = false) Long jobId,
+                                                        @RequestParam(required = false) Integer chunkSize) throws IOException {
+        ImportJob.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ImportJob.Format.NDJSON : ImportJob.Format.CSV;
+        ImportJob job = transactionImportService.startImport(format, jobId, chunkSize);
+        log.info("Importing {} transactions as job {}", format, job.getJobId());
+        ImportJob importedJob = transactionImportService.importTransactions(job, request.getInputStream());
+        return new ResponseEntity<>(importedJob, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the progress of an import job: its committed offset, created and rejected counts and throughput.
+     *
+     * @param jobId the ID of the import job
+     * @return the import job
+     */
+    @Operation(summary = "Get the progress of a transaction import")
+    @GetMapping(value = "/import/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable Long jobId) {
+        log.info("Fetching import job {}", jobId);
+        return new ResponseEntity<>(transactionImportService.getImportJob(jobId), HttpStatus.OK);
+    }
+
     /**
      * Updates an existing transaction.
      *
@@ -101,15 +170,43 @@ public class TransactionController {
     }
 
     /**
-     * Retrieves all transactions.
+     * Retrieves one page of transactions in ID order.
      *
-     * @return a list of all transactions
+     * @param after the cursor returned with the previous page, absent for the first page
+     * @param limit the page size, at most 1000 and 100 when absent
+     * @return the page of transactions and the cursor of the next page, null on the last page
      */
-    @Operation(summary = "Get all transactions")
+    @Operation(summary = "Get all transactions", description = "Page through all transactions in ID order, following the returned cursor")
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Transaction>> getAllTransactions() {
-        log.info("Fetching all transactions details");
-        List<Transaction> transactions = transactionService.getAllTransactions();
+    public ResponseEntity<CursorPage<Transaction>> getAllTransactions(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        log.info("Fetching transactions after {}", after);
+        CursorPage<Transaction> transactions = transactionService.getTransactions(after, limit);
         return new ResponseEntity<>(transactions, HttpStatus.OK);
     }
+
+    /**
+     * Exports all transactions as one JSON array, written while the transactions are read from the database.
+     *
+     * @return a stream of all transactions
+     */
+    @Operation(summary = "Export all transactions", description = "Stream all transactions as a JSON array in ID order")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactions() {
+        log.info("Exporting all transactions");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                transactionService.exportTransactions(transaction -> {
+                    try {
+                        generator.writeObject(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -0,0 +1,27 @@
+package com.retailer.reward.platform.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of the batch reward calculation.
+ * Either selects all customers or lists the IDs of the customers to calculate rewards for.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRewardRequest {
+
+    private List<Long> customerIds;
+
+    private boolean all;
+
+    @AssertTrue(message = "Either all must be true or customerIds must not be empty")
+    public boolean isTargetSpecified() {
+        return all || (customerIds != null && !customerIds.isEmpty());
+    }
+}
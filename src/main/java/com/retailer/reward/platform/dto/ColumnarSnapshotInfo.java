@@ -0,0 +1,27 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the columnar transaction snapshot. The watermark is the sequence of the last transaction
+ * event the snapshot reflects, events appended after it are not yet in the snapshot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnarSnapshotInfo {
+
+    // Rows in the columns, including retractions of deleted and updated transactions
+    private long rows;
+
+    private long watermark;
+
+    private long eventsBehind;
+
+    private LocalDateTime exportedAt;
+
+}
@@ -0,0 +1,55 @@
+package com.retailer.reward.platform.dto;
+
+import java.util.Arrays;
+
+/**
+ * Running totals of a customer's monthly reward points, for answering month range queries.
+ * The points of a range are the difference of two running totals; the range bounds are located
+ * by binary search over the customer's active months, so memory follows the monthly rollup
+ * rather than the calendar span of the customer's history.
+ */
+public final class CumulativeRewards {
+
+    private final int[] months;
+    private final int[] runningTotals;
+
+    private CumulativeRewards(int[] months, int[] runningTotals) {
+        this.months = months;
+        this.runningTotals = runningTotals;
+    }
+
+    /**
+     * Builds the running totals of monthly rewards.
+     *
+     * @param monthlyRewards the reward points per month, in ascending month order
+     * @return the running totals, where runningTotals[i] holds the points of the first i months
+     */
+    public static CumulativeRewards of(MonthlyRewards monthlyRewards) {
+        int[] months = new int[monthlyRewards.size()];
+        int[] runningTotals = new int[monthlyRewards.size() + 1];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = monthlyRewards.getMonth(i);
+            runningTotals[i + 1] = runningTotals[i] + monthlyRewards.getPoints(i);
+        }
+        return new CumulativeRewards(months, runningTotals);
+    }
+
+    /**
+     * Returns the reward points earned between two months, both inclusive.
+     *
+     * @param fromMonth the month key of the first month of the range
+     * @param toMonth   the month key of the last month of the range
+     * @return the points earned in the range, 0 if the customer has no transactions in it
+     */
+    public int pointsBetween(int fromMonth, int toMonth) {
+        int first = insertionPoint(fromMonth);
+        int end = toMonth == Integer.MAX_VALUE ? months.length : insertionPoint(toMonth + 1);
+        return end > first ? runningTotals[end] - runningTotals[first] : 0;
+    }
+
+    // Index of the first month not before the given month
+    private int insertionPoint(int month) {
+        int index = Arrays.binarySearch(months, month);
+        return index >= 0 ? index : -index - 1;
+    }
+}
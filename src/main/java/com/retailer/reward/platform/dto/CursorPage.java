@@ -0,0 +1,58 @@
+package com.retailer.reward.platform.dto;
+
+import com.retailer.reward.platform.exception.InvalidPageRequestException;
+import com.retailer.reward.platform.util.Constants;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by ID. The next page is requested with the returned cursor,
+ * which is the last ID of this page and null once the last page was reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    private Long nextCursor;
+
+    /**
+     * Resolves the requested page size, the default page size when none was requested.
+     *
+     * @param limit the requested page size, or null
+     * @return the page size
+     * @throws InvalidPageRequestException if the page size is outside of 1 to the maximum page size
+     */
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > Constants.MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException(Constants.INVALID_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    /**
+     * Builds a page from rows fetched with one row more than the page size, the extra row
+     * only tells that another page follows.
+     *
+     * @param rows  up to limit + 1 rows in ID order
+     * @param limit the page size
+     * @param idOf  the ID of a row
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
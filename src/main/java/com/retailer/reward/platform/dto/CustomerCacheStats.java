@@ -0,0 +1,27 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics of the customer cache since the application started.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerCacheStats {
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long loadCount;
+
+    private long evictionCount;
+
+}
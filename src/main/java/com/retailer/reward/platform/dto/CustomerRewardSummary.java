@@ -0,0 +1,22 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Monthly and total reward points of one customer, as returned by the batch reward calculation.
+ * The monthly rewards are written as a map of YYYY-MM months to points.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRewardSummary {
+
+    private Long customerId;
+
+    private MonthlyRewards monthlyRewards;
+
+    private int totalRewards;
+
+}
@@ -0,0 +1,21 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A customer's position on a rewards leaderboard. Rank 1 has the most points.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+
+    private int rank;
+
+    private Long customerId;
+
+    private int points;
+
+}
@@ -0,0 +1,26 @@
+package com.retailer.reward.platform.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.retailer.reward.platform.util.MonthKeySerializer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transaction count, spend and reward points of all customers in one month.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthAnalytics {
+
+    @JsonSerialize(using = MonthKeySerializer.class)
+    private Integer month;
+
+    private long transactionCount;
+
+    private double spend;
+
+    private long points;
+
+}
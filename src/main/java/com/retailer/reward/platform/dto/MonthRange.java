@@ -0,0 +1,36 @@
+package com.retailer.reward.platform.dto;
+
+import com.retailer.reward.platform.exception.InvalidMonthRangeException;
+import com.retailer.reward.platform.util.Constants;
+import com.retailer.reward.platform.util.MonthKey;
+
+/**
+ * An inclusive range of months given as YYYY-MM bounds at the API boundary.
+ * A missing from month starts at the customer's first transaction, a missing to month ends at the last one.
+ *
+ * @param fromMonth the month key of the first month
+ * @param toMonth   the month key of the last month
+ */
+public record MonthRange(int fromMonth, int toMonth) {
+
+    /**
+     * Parses the bounds of a month range.
+     *
+     * @param from the first month formatted as YYYY-MM, or null
+     * @param to   the last month formatted as YYYY-MM, or null
+     * @return the month range
+     * @throws InvalidMonthRangeException if a bound is malformed or from is after to
+     */
+    public static MonthRange parse(String from, String to) {
+        try {
+            int fromMonth = from == null ? 0 : MonthKey.parse(from);
+            int toMonth = to == null ? Integer.MAX_VALUE : MonthKey.parse(to);
+            if (fromMonth > toMonth) {
+                throw new InvalidMonthRangeException(Constants.INVALID_MONTH_RANGE);
+            }
+            return new MonthRange(fromMonth, toMonth);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidMonthRangeException(Constants.INVALID_MONTH_RANGE);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.retailer.reward.platform.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.retailer.reward.platform.util.MonthKey;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reward points earned by a customer per month, held as parallel primitive arrays of month keys
+ * and points in ascending month order. The month-to-points map of the public API is only built
+ * by {@link #toMap()} when the rewards are written to a response.
+ */
+public final class MonthlyRewards {
+
+    public static final MonthlyRewards EMPTY = new MonthlyRewards(new int[0], new int[0]);
+
+    private final int[] months;
+    private final int[] points;
+
+    /**
+     * @param months the month keys, in ascending order
+     * @param points the reward points of each month
+     */
+    public MonthlyRewards(int[] months, int[] points) {
+        if (months.length != points.length) {
+            throw new IllegalArgumentException("Months and points must have the same length");
+        }
+        this.months = months;
+        this.points = points;
+    }
+
+    public int size() {
+        return months.length;
+    }
+
+    public boolean isEmpty() {
+        return months.length == 0;
+    }
+
+    public int getMonth(int index) {
+        return months[index];
+    }
+
+    public int getPoints(int index) {
+        return points[index];
+    }
+
+    /**
+     * Converts the rewards to a map of YYYY-MM months to points, ordered by month.
+     */
+    @JsonValue
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> monthlyRewards = new LinkedHashMap<>();
+        for (int i = 0; i < months.length; i++) {
+            monthlyRewards.put(MonthKey.format(months[i]), points[i]);
+        }
+        return monthlyRewards;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MonthlyRewards other)) {
+            return false;
+        }
+        return Arrays.equals(months, other.months) && Arrays.equals(points, other.points);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(months) + Arrays.hashCode(points);
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlyRewards" + toMap();
+    }
+
+    /**
+     * Sums reward points into an array slot per month between a first and a last month,
+     * so accumulating a transaction is an index computation and an add.
+     */
+    public static final class Accumulator {
+
+        private final int firstIndex;
+        private final int[] points;
+        private final boolean[] active;
+
+        /**
+         * @param firstMonth the earliest month key that will be added
+         * @param lastMonth  the latest month key that will be added
+         */
+        public Accumulator(int firstMonth, int lastMonth) {
+            firstIndex = MonthKey.toIndex(firstMonth);
+            int length = MonthKey.toIndex(lastMonth) - firstIndex + 1;
+            points = new int[length];
+            active = new boolean[length];
+        }
+
+        public void add(int month, int monthPoints) {
+            int offset = MonthKey.toIndex(month) - firstIndex;
+            points[offset] += monthPoints;
+            active[offset] = true;
+        }
+
+        /**
+         * Compacts the months that received at least one transaction, including months without points.
+         */
+        public MonthlyRewards toMonthlyRewards() {
+            int count = 0;
+            for (boolean monthActive : active) {
+                if (monthActive) {
+                    count++;
+                }
+            }
+            int[] compactMonths = new int[count];
+            int[] compactPoints = new int[count];
+            int next = 0;
+            for (int offset = 0; offset < active.length; offset++) {
+                if (active[offset]) {
+                    compactMonths[next] = MonthKey.fromIndex(firstIndex + offset);
+                    compactPoints[next] = points[offset];
+                    next++;
+                }
+            }
+            return new MonthlyRewards(compactMonths, compactPoints);
+        }
+    }
+}
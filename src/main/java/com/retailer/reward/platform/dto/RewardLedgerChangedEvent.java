@@ -0,0 +1,11 @@
+package com.retailer.reward.platform.dto;
+
+import java.util.Set;
+
+/**
+ * Published by transaction writes that changed the reward ledger and monthly rollup of some customers.
+ *
+ * @param customerIds the IDs of the customers whose rewards changed
+ */
+public record RewardLedgerChangedEvent(Set<Long> customerIds) {
+}
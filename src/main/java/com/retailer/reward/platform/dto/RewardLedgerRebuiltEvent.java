@@ -0,0 +1,9 @@
+package com.retailer.reward.platform.dto;
+
+/**
+ * Published when the whole reward ledger and monthly rollup have been recomputed.
+ *
+ * @param customers the number of customers with transactions in the rebuilt ledger
+ */
+public record RewardLedgerRebuiltEvent(int customers) {
+}
@@ -0,0 +1,28 @@
+package com.retailer.reward.platform.dto;
+
+import com.retailer.reward.platform.util.Constants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of the batch month range reward query.
+ * Lists the customers and the YYYY-MM bounds of the range, either bound may be omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardRangeBatchRequest {
+
+    @NotEmpty(message = "customerIds must not be empty")
+    @Size(max = Constants.MAX_REWARD_RANGE_BATCH_SIZE, message = "customerIds must contain at most " + Constants.MAX_REWARD_RANGE_BATCH_SIZE + " customers")
+    private List<Long> customerIds;
+
+    private String from;
+
+    private String to;
+}
@@ -0,0 +1,34 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of restoring the reward ledger from a snapshot and the transaction events after it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardReplayResult {
+
+    private Long snapshotId;
+
+    // Sequence of the last event contained in the snapshot
+    private long snapshotSequence;
+
+    // Sequence of the last event replayed onto the snapshot
+    private long lastSequence;
+
+    private long replayedEvents;
+
+    private int customers;
+
+    // Time spent folding events, excluding reading the snapshot and writing the ledger
+    private long replayMillis;
+
+    private long totalMillis;
+
+    private double eventsPerSecond;
+
+}
@@ -0,0 +1,21 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Whole-table transaction analytics per month, with the state of the snapshot they were computed from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAnalytics {
+
+    private ColumnarSnapshotInfo snapshot;
+
+    private List<MonthAnalytics> months;
+
+}
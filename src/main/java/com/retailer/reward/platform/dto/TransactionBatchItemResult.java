@@ -0,0 +1,35 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one transaction of a batch, identified by its position in the request.
+ * Created transactions carry their new ID, rejected ones the reason they were rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchItemResult {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Long transactionId;
+
+    private String message;
+
+    public static TransactionBatchItemResult created(int index, Long transactionId) {
+        return new TransactionBatchItemResult(index, Status.CREATED, transactionId, null);
+    }
+
+    public static TransactionBatchItemResult rejected(int index, String message) {
+        return new TransactionBatchItemResult(index, Status.REJECTED, null, message);
+    }
+}
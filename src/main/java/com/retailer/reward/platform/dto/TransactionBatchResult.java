@@ -0,0 +1,23 @@
+package com.retailer.reward.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a batch transaction ingestion, with one item result per submitted transaction in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResult {
+
+    private int created;
+
+    private int rejected;
+
+    private List<TransactionBatchItemResult> results;
+
+}
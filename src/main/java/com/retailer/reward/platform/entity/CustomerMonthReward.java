@@ -0,0 +1,39 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class representing the reward rollup of a customer for one month.
+ * Maps to the "customer_month_rewards" table in the database and is kept
+ * up to date by every transaction write, so monthly rewards are served
+ * per active month instead of per transaction.
+ */
+@Entity
+@Table(name = "customer_month_rewards")
+@IdClass(CustomerMonthRewardId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerMonthReward {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Id
+    @Column(name = "reward_month")
+    private int month;
+
+    @Column(name = "points", nullable = false)
+    private int points;
+
+    @Column(name = "spend", nullable = false)
+    private double spend;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+}
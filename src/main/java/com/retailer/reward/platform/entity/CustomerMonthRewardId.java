@@ -0,0 +1,21 @@
+package com.retailer.reward.platform.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link CustomerMonthReward}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerMonthRewardId implements Serializable {
+
+    private Long customerId;
+
+    private int month;
+
+}
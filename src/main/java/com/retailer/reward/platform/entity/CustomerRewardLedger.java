@@ -0,0 +1,37 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class representing the running reward balance of a customer.
+ * Maps to the "customer_reward_ledger" table in the database and is kept
+ * up to date by every transaction write, so total rewards can be read
+ * without rescanning the customer's transaction history.
+ * The version is bumped by every write to the row, so reward responses can be
+ * revalidated and cached per customer version.
+ */
+@Entity
+@Table(name = "customer_reward_ledger")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRewardLedger {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    // Plain counter, not @Version, it is incremented by the bulk update statements
+    @Column(name = "version", nullable = false)
+    private long version;
+
+}
@@ -0,0 +1,77 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a bulk transaction import.
+ * Maps to the "import_job" table in the database. The committed offset is the number of
+ * input rows already committed; it is updated in the same database transaction as each
+ * chunk, so a failed import can be resumed by sending the same input again. The version is
+ * checked on every commit, so only one import can advance the job at a time.
+ */
+@Entity
+@Table(name = "import_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "committed_offset", nullable = false)
+    private long committedOffset;
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private long rejectedCount;
+
+    @Column(name = "last_rejection", length = 500)
+    private String lastRejection;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Throughput of the latest run, committed rows per second
+    @Column(name = "rows_per_second", nullable = false)
+    private double rowsPerSecond;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+}
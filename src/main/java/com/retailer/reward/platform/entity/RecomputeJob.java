@@ -0,0 +1,69 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a recomputation of the reward ledger of every customer.
+ * Maps to the "recompute_job" table in the database; the customer ranges of the job are kept in
+ * "recompute_range". Counts and throughput are updated in the same database transaction as each
+ * completed range, so they always match the ranges a resumed job skips.
+ */
+@Entity
+@Table(name = "recompute_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomputeJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    // Customers per range
+    @Column(name = "range_size", nullable = false)
+    private int rangeSize;
+
+    @Column(name = "total_ranges", nullable = false)
+    private int totalRanges;
+
+    @Column(name = "completed_ranges", nullable = false)
+    private int completedRanges;
+
+    @Column(name = "customer_count", nullable = false)
+    private long customerCount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Throughput of the latest run, recomputed customers per second
+    @Column(name = "customers_per_second", nullable = false)
+    private double customersPerSecond;
+
+    // Projected from the range throughput of the latest run, null once the job is no longer running
+    @Column(name = "estimated_completion_at")
+    private LocalDateTime estimatedCompletionAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,49 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a range of customer IDs recomputed by a {@link RecomputeJob}.
+ * Maps to the "recompute_range" table in the database. Both bounds are inclusive; the last range of a job
+ * is open-ended, so customers created after the job started are covered as well.
+ */
+@Entity
+@Table(name = "recompute_range")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomputeRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "range_id")
+    private Long rangeId;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "first_customer_id", nullable = false)
+    private long firstCustomerId;
+
+    @Column(name = "last_customer_id", nullable = false)
+    private long lastCustomerId;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    // Customers with transactions in the range
+    @Column(name = "customer_count", nullable = false)
+    private int customerCount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+}
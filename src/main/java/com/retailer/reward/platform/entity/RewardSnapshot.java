@@ -0,0 +1,45 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a reward snapshot.
+ * Maps to the "reward_snapshot" table in the database; the monthly rollup rows of the snapshot are kept in
+ * "reward_snapshot_month". The snapshot holds the effect of every transaction event up to and including the
+ * last sequence, with points computed by the reward rules of the fingerprint, so the ledger is recovered by
+ * replaying only the later events.
+ */
+@Entity
+@Table(name = "reward_snapshot")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    @Column(name = "rules_fingerprint", nullable = false, length = 64)
+    private String rulesFingerprint;
+
+    @Column(name = "customer_month_count", nullable = false)
+    private int customerMonthCount;
+
+    // Events folded onto the previous snapshot, 0 for a snapshot aggregated from the transaction table
+    @Column(name = "replayed_events", nullable = false)
+    private long replayedEvents;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -1,5 +1,10 @@
 package com.retailer.reward.platform.entity;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.retailer.reward.platform.util.MonthKeyDeserializer;
+import com.retailer.reward.platform.util.MonthKeySerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -18,15 +23,20 @@ import lombok.*;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     @Column(name = "transaction_id")
     private Long transactionId;
 
     @Column(nullable = false)
     private double amount;
 
+    // Stored as a yyyymm key, exchanged as YYYY-MM text
     @Column(name = "transaction_month", nullable = false)
-    private String transactionMonth;
+    @JsonSerialize(using = MonthKeySerializer.class)
+    @JsonDeserialize(using = MonthKeyDeserializer.class)
+    @Schema(type = "string", example = "2024-01")
+    private int transactionMonth;
 
     @ManyToOne()
     @JoinColumn(name = "customer_id", nullable = false) // Assuming 'customer_id' is the foreign key column
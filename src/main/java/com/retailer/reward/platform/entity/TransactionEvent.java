@@ -0,0 +1,74 @@
+package com.retailer.reward.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing one mutation of a transaction.
+ * Maps to the append-only "transaction_event" table in the database. Events are never updated or
+ * deleted; folding them in sequence order onto a reward snapshot reproduces the reward ledger.
+ * Amount and month are the state after the mutation, or the deleted state for deletions;
+ * updates also carry the state before the mutation.
+ */
+@Entity
+@Table(name = "transaction_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    // Assigned from the log head when the event is appended
+    @Id
+    @Column(name = "sequence")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private Type type;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Column(name = "transaction_month", nullable = false)
+    private int transactionMonth;
+
+    @Column(name = "previous_amount")
+    private Double previousAmount;
+
+    @Column(name = "previous_month")
+    private Integer previousMonth;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public static TransactionEvent created(Transaction transaction) {
+        return new TransactionEvent(null, Type.CREATED, transaction.getTransactionId(), transaction.getCustomer().getCustomerId(),
+                transaction.getAmount(), transaction.getTransactionMonth(), null, null, null);
+    }
+
+    public static TransactionEvent updated(Transaction previousTransaction, Transaction updatedTransaction) {
+        return new TransactionEvent(null, Type.UPDATED, updatedTransaction.getTransactionId(), updatedTransaction.getCustomer().getCustomerId(),
+                updatedTransaction.getAmount(), updatedTransaction.getTransactionMonth(),
+                previousTransaction.getAmount(), previousTransaction.getTransactionMonth(), null);
+    }
+
+    public static TransactionEvent deleted(Transaction transaction) {
+        return new TransactionEvent(null, Type.DELETED, transaction.getTransactionId(), transaction.getCustomer().getCustomerId(),
+                transaction.getAmount(), transaction.getTransactionMonth(), null, null, null);
+    }
+
+}
@@ -1,7 +1,12 @@
 package com.retailer.reward.platform.exception;
 
+import com.retailer.reward.platform.util.RewardMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,10 +19,15 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@Profile("!reactive")
+@AllArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final RewardMetrics rewardMetrics;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        rewardMetrics.countHandledException(ex);
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("message", ex.getMessage());
@@ -26,6 +36,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(TransactionNotFoundException.class)
     public ResponseEntity<Object> handleTransactionNotFoundException(TransactionNotFoundException ex,  WebRequest request) {
+        rewardMetrics.countHandledException(ex);
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("message", ex.getMessage());
@@ -34,11 +45,62 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidTransactionException.class)
     public ResponseEntity<String> handleInvalidTransactionException(InvalidTransactionException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidTransactionAmountException.class)
+    public ResponseEntity<String> handleInvalidTransactionAmountException(InvalidTransactionAmountException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<String> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidMonthRangeException.class)
+    public ResponseEntity<String> handleInvalidMonthRangeException(InvalidMonthRangeException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRewardRuleException.class)
+    public ResponseEntity<String> handleInvalidRewardRuleException(InvalidRewardRuleException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRecomputeJobException.class)
+    public ResponseEntity<String> handleInvalidRecomputeJobException(InvalidRecomputeJobException ex) {
+        rewardMetrics.countHandledException(ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(TransactionQueueFullException.class)
+    public ResponseEntity<String> handleTransactionQueueFullException(TransactionQueueFullException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getMessage());
+    }
+
+    // The transaction may still be committed, so the request is not answered as failed
+    @ExceptionHandler(TransactionCommitPendingException.class)
+    public ResponseEntity<String> handleTransactionCommitPendingException(TransactionCommitPendingException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        rewardMetrics.countHandledException(ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Malformed request body: " + ex.getMostSpecificCause().getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGlobalException(Exception ex, WebRequest request) {
+        rewardMetrics.countHandledException(ex);
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("message", "An unexpected error occurred");
@@ -48,6 +110,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        rewardMetrics.countHandledException(ex);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
             String fieldName = ((FieldError) error).getField();
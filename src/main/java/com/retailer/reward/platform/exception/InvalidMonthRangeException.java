@@ -0,0 +1,8 @@
+package com.retailer.reward.platform.exception;
+
+public class InvalidMonthRangeException extends RuntimeException {
+
+    public InvalidMonthRangeException(String message) {
+        super(message);
+    }
+}
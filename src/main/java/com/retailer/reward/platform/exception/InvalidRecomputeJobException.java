@@ -0,0 +1,8 @@
+package com.retailer.reward.platform.exception;
+
+public class InvalidRecomputeJobException extends RuntimeException {
+
+    public InvalidRecomputeJobException(String message) {
+        super(message);
+    }
+}
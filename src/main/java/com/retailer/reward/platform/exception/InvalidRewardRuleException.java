@@ -0,0 +1,8 @@
+package com.retailer.reward.platform.exception;
+
+public class InvalidRewardRuleException extends RuntimeException {
+
+    public InvalidRewardRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.retailer.reward.platform.exception;
+
+public class TransactionCommitPendingException extends RuntimeException {
+
+    public TransactionCommitPendingException(String message) {
+        super(message);
+    }
+}
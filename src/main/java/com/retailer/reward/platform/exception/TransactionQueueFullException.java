@@ -0,0 +1,8 @@
+package com.retailer.reward.platform.exception;
+
+public class TransactionQueueFullException extends RuntimeException {
+
+    public TransactionQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,226 @@
+package com.retailer.reward.platform.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * Customers ranked by points, highest first and ties by ascending customer ID, held in an
+ * order-statistic treap: a binary search tree whose nodes carry random heap priorities and their
+ * subtree sizes. Inserts, removals and rank lookups take expected O(log n), listing the top k O(log n + k).
+ * Not thread-safe, callers guard a board with a lock.
+ */
+public final class RankedBoard {
+
+    private final SplittableRandom random;
+    private Node root;
+
+    public RankedBoard(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Builds a board in linear time from entries already in ranking order, as a Cartesian tree
+     * of the entries and fresh random priorities.
+     *
+     * @param customerIds the customer IDs, in ranking order
+     * @param points      the points of each customer
+     * @param count       the number of entries to use
+     * @param random      the source of node priorities
+     * @return the board holding the entries
+     */
+    public static RankedBoard build(long[] customerIds, int[] points, int count, SplittableRandom random) {
+        RankedBoard board = new RankedBoard(random);
+        Deque<Node> rightSpine = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            Node node = new Node(customerIds[i], points[i], random.nextInt());
+            Node last = null;
+            while (!rightSpine.isEmpty() && rightSpine.peek().priority < node.priority) {
+                last = rightSpine.pop();
+            }
+            node.left = last;
+            if (!rightSpine.isEmpty()) {
+                rightSpine.peek().right = node;
+            }
+            rightSpine.push(node);
+        }
+        board.root = rightSpine.peekLast();
+        computeSizes(board.root);
+        return board;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(long customerId, int points) {
+        root = insert(root, new Node(customerId, points, random.nextInt()));
+    }
+
+    public void remove(long customerId, int points) {
+        root = remove(root, customerId, points);
+    }
+
+    /**
+     * Returns the 1-based rank of a customer with the given points, or 0 if the customer is not on the board.
+     */
+    public int rank(long customerId, int points) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(customerId, points, node);
+            if (c == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (c < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Passes the first entries in ranking order to the consumer.
+     *
+     * @param limit    the maximum number of entries
+     * @param consumer receives each entry with its 1-based rank
+     */
+    public void top(int limit, EntryConsumer consumer) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int rank = 0;
+        while (rank < limit && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            consumer.accept(++rank, node.customerId, node.points);
+            node = node.right;
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int rank, long customerId, int points);
+    }
+
+    /**
+     * Ranking order: more points first, then the lower customer ID.
+     */
+    public static int compare(long customerId, int points, long otherCustomerId, int otherPoints) {
+        if (points != otherPoints) {
+            return points > otherPoints ? -1 : 1;
+        }
+        return Long.compare(customerId, otherCustomerId);
+    }
+
+    private static int compare(long customerId, int points, Node node) {
+        return compare(customerId, points, node.customerId, node.points);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.customerId, inserted.points, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, long customerId, int points) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(customerId, points, node);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = remove(node.left, customerId, points);
+        } else {
+            node.right = remove(node.right, customerId, points);
+        }
+        update(node);
+        return node;
+    }
+
+    // Joins two treaps where every entry of the first ranks before every entry of the second
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        return right;
+    }
+
+    private static int computeSizes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        node.size = computeSizes(node.left) + computeSizes(node.right) + 1;
+        return node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final long customerId;
+        private final int points;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(long customerId, int points, int priority) {
+            this.customerId = customerId;
+            this.points = points;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.retailer.reward.platform.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits database access between the primary configured by "spring.datasource" and a read replica configured by
+ * "reward.replica.datasource", when reward.replica.enabled is set. The application data source routes read-only
+ * transactions to the replica while its lag is within reward.replica.max-lag, and everything else to the primary.
+ * The routing data source is the primary bean, so JPA, JDBC templates and schema initialization use it.
+ * Each request stays on the database its first connection went to.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reward.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${reward.replica.datasource.url}") String url,
+                                              @Value("${reward.replica.datasource.username:sa}") String username,
+                                              @Value("${reward.replica.datasource.password:}") String password,
+                                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${reward.replica.max-lag:PT2S}") Duration maxLag) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+
+    @Bean
+    public ReplicaRequestFilter replicaRequestFilter() {
+        return new ReplicaRequestFilter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "reward.replica.stand-in.enabled", havingValue = "true")
+    public ReplicationStandIn replicationStandIn(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new ReplicationStandIn(primaryDataSource, replicaDataSource);
+    }
+}
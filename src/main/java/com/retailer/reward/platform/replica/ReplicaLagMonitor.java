@@ -0,0 +1,104 @@
+package com.retailer.reward.platform.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Measures how far the replica is behind the primary through a heartbeat row. Each check bumps the beat on the
+ * primary, stamped with the time, then reads the replica's beat: the replica holds every write committed before
+ * the newest beat it has, whichever table the write went to, and its lag is the time since that beat. Lag is
+ * therefore measured in check intervals, the interval should be well below the tolerance.
+ * Until the first check and while the replica cannot be read, the replica is out of tolerance.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String BEAT = "update replica_heartbeat set beat = beat + 1, beat_at = current_timestamp where id = 1";
+    private static final String SELECT_BEAT = "select beat from replica_heartbeat where id = 1";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagNanos;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private volatile long caughtUpAt;
+    private boolean withinTolerance;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagNanos = maxLag.toNanos();
+        this.caughtUpAt = System.nanoTime() - maxLagNanos - 1;
+    }
+
+    @Scheduled(initialDelayString = "${reward.replica.lag-check-interval:PT0.2S}", fixedDelayString = "${reward.replica.lag-check-interval:PT0.2S}")
+    public synchronized void checkLag() {
+        long now = System.nanoTime();
+        try {
+            samples.addLast(new Sample(now, primaryJdbcTemplate.execute(ReplicaLagMonitor::beat)));
+        } catch (DataAccessException e) {
+            log.warn("ReplicaLagMonitor.checkLag():: primary heartbeat not writable: {}", e.getMessage());
+            return;
+        }
+        try {
+            long replicaBeat = replicaJdbcTemplate.queryForObject(SELECT_BEAT, Long.class);
+            Iterator<Sample> newestFirst = samples.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Sample sample = newestFirst.next();
+                if (sample.beat <= replicaBeat) {
+                    caughtUpAt = Math.max(caughtUpAt, sample.at);
+                    // Older samples have lower beats, the replica reached them all
+                    while (samples.peekFirst() != sample) {
+                        samples.removeFirst();
+                    }
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("ReplicaLagMonitor.checkLag():: replica heartbeat not readable: {}", e.getMessage());
+        }
+        // Samples beyond the tolerance only tell that the replica is out of it
+        while (samples.size() > 1 && now - samples.peekFirst().at > maxLagNanos) {
+            samples.removeFirst();
+        }
+        boolean within = isWithinTolerance();
+        if (within != withinTolerance) {
+            withinTolerance = within;
+            log.info("ReplicaLagMonitor.checkLag():: replica {} the lag tolerance, lag {} ms", within ? "within" : "beyond",
+                    getLag().toMillis());
+        }
+    }
+
+    public boolean isWithinTolerance() {
+        return System.nanoTime() - caughtUpAt <= maxLagNanos;
+    }
+
+    public Duration getLag() {
+        return Duration.ofNanos(System.nanoTime() - caughtUpAt);
+    }
+
+    // Only the monitor writes the heartbeat, so the beat read back on the same connection is the one just written
+    private static long beat(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(BEAT);
+            try (ResultSet resultSet = statement.executeQuery(SELECT_BEAT)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private record Sample(long at, long beat) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.retailer.reward.platform.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Routes connections of read-only transactions to the replica while it is within the lag tolerance, and every
+ * other connection to the primary. The read-only flag is only known once the transaction started, so this data
+ * source sits behind a LazyConnectionDataSourceProxy that takes the target connection at the first statement.
+ * A read-only method called within a read-write transaction joins it and stays on the primary.
+ * Within a pinned request, every connection after the first goes to the target of the first, so reads made in
+ * separate transactions, such as a reward version and the rewards cached under it, come from the same database.
+ * A connection outside read-only transactions pins the rest of the request to the primary, which then reads its writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<AtomicReference<Target>> REQUEST_TARGET = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Pins the connections the current thread takes until {@link #releaseRequest()} to a single target.
+     */
+    static void pinRequest() {
+        REQUEST_TARGET.set(new AtomicReference<>());
+    }
+
+    static void releaseRequest() {
+        REQUEST_TARGET.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        AtomicReference<Target> requestTarget = REQUEST_TARGET.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (requestTarget != null) {
+                requestTarget.set(Target.PRIMARY);
+            }
+            return Target.PRIMARY;
+        }
+        if (requestTarget != null && requestTarget.get() != null) {
+            return requestTarget.get();
+        }
+        Target target = replicaLagMonitor.isWithinTolerance() ? Target.REPLICA : Target.PRIMARY;
+        if (requestTarget != null) {
+            requestTarget.set(target);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,161 @@
+package com.retailer.reward.platform.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stands in for database replication when primary and replica are two local H2 databases.
+ * The first run copies the schema, every run then replaces the replica's rows with a copy of the primary's,
+ * read in one repeatable-read transaction and written in one replica transaction, so the replica always
+ * holds one committed state of the primary. Rows are deleted from referencing tables first and inserted into
+ * referenced tables first, so the replica's foreign keys are checked like the primary's.
+ * Copying every table is only meant for local testing.
+ */
+@Slf4j
+public class ReplicationStandIn {
+
+    private static final String SELECT_TABLES = "select table_name from information_schema.tables " +
+            "where table_schema = 'PUBLIC' and table_type = 'BASE TABLE' order by table_name";
+    private static final String SELECT_FOREIGN_KEYS = "select referencing.table_name, referenced.table_name " +
+            "from information_schema.referential_constraints foreign_key " +
+            "join information_schema.table_constraints referencing on referencing.constraint_schema = foreign_key.constraint_schema " +
+            "and referencing.constraint_name = foreign_key.constraint_name " +
+            "join information_schema.table_constraints referenced on referenced.constraint_schema = foreign_key.unique_constraint_schema " +
+            "and referenced.constraint_name = foreign_key.unique_constraint_name " +
+            "where referencing.table_schema = 'PUBLIC'";
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private boolean schemaCopied;
+
+    public ReplicationStandIn(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    @Scheduled(initialDelayString = "${reward.replica.stand-in.interval:PT1S}", fixedDelayString = "${reward.replica.stand-in.interval:PT1S}")
+    public synchronized void replicate() throws SQLException {
+        long start = System.nanoTime();
+        long rows = 0;
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            target.setAutoCommit(false);
+            try {
+                if (!schemaCopied) {
+                    copySchema(source, target);
+                    schemaCopied = true;
+                }
+                List<String> tables = tables(source);
+                try (Statement delete = target.createStatement()) {
+                    for (int i = tables.size() - 1; i >= 0; i--) {
+                        delete.executeUpdate("delete from " + quote(tables.get(i)));
+                    }
+                }
+                for (String table : tables) {
+                    rows += copyRows(source, target, table);
+                }
+                target.commit();
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            } finally {
+                source.rollback();
+            }
+        }
+        log.debug("ReplicationStandIn.replicate():: copied {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void copySchema(Connection source, Connection target) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement statement = source.createStatement(); ResultSet resultSet = statement.executeQuery("script nodata")) {
+            while (resultSet.next()) {
+                statements.add(resultSet.getString(1));
+            }
+        }
+        try (Statement statement = target.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+        target.commit();
+        log.info("ReplicationStandIn.copySchema():: copied {} schema statements to the replica", statements.size());
+    }
+
+    // Tables ordered so every table comes after the tables it references
+    private List<String> tables(Connection source) throws SQLException {
+        Map<String, Set<String>> referenced = new LinkedHashMap<>();
+        try (Statement statement = source.createStatement(); ResultSet resultSet = statement.executeQuery(SELECT_TABLES)) {
+            while (resultSet.next()) {
+                referenced.put(resultSet.getString(1), new HashSet<>());
+            }
+        }
+        try (Statement statement = source.createStatement(); ResultSet resultSet = statement.executeQuery(SELECT_FOREIGN_KEYS)) {
+            while (resultSet.next()) {
+                if (!resultSet.getString(1).equals(resultSet.getString(2))) {
+                    referenced.get(resultSet.getString(1)).add(resultSet.getString(2));
+                }
+            }
+        }
+        List<String> tables = new ArrayList<>(referenced.size());
+        while (!referenced.isEmpty()) {
+            List<String> ready = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entry : referenced.entrySet()) {
+                // Tables placed in earlier rounds are no longer waited for
+                entry.getValue().retainAll(referenced.keySet());
+                if (entry.getValue().isEmpty()) {
+                    ready.add(entry.getKey());
+                }
+            }
+            if (ready.isEmpty()) {
+                throw new IllegalStateException("Foreign keys of tables " + referenced.keySet() + " form a cycle");
+            }
+            ready.forEach(referenced::remove);
+            tables.addAll(ready);
+        }
+        return tables;
+    }
+
+    private static String quote(String table) {
+        return "\"" + table + "\"";
+    }
+
+    private long copyRows(Connection source, Connection target, String table) throws SQLException {
+        String name = quote(table);
+        long rows = 0;
+        try (Statement select = source.createStatement()) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet resultSet = select.executeQuery("select * from " + name)) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                String insert = "insert into " + name + " values (" + "?, ".repeat(columns - 1) + "?)";
+                try (PreparedStatement statement = target.prepareStatement(insert)) {
+                    while (resultSet.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            statement.setObject(i, resultSet.getObject(i));
+                        }
+                        statement.addBatch();
+                        if (++rows % BATCH_SIZE == 0) {
+                            statement.executeBatch();
+                        }
+                    }
+                    statement.executeBatch();
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,14 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.Customer;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads every customer from a database cursor, without keeping the rows in the persistence context.
+ */
+public interface CustomerExportQueries {
+
+    long forEachCustomer(Consumer<Customer> consumer);
+
+}
@@ -0,0 +1,34 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.Customer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link CustomerExportQueries}.
+ * Rows are fetched in blocks of FETCH_SIZE like {@link TransactionExportQueriesImpl}.
+ */
+public class CustomerExportQueriesImpl implements CustomerExportQueries {
+
+    private static final String SELECT_ALL = "select customer_id, customer_name from customer order by customer_id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerExportQueriesImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public long forEachCustomer(Consumer<Customer> consumer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(SELECT_ALL, resultSet -> {
+            consumer.accept(new Customer(resultSet.getLong(1), resultSet.getString(2)));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+}
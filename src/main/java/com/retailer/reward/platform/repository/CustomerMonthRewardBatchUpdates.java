@@ -0,0 +1,33 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+
+import java.util.List;
+
+/**
+ * Upserts into the monthly reward rollup, of a single customer month for transaction writes and batched for
+ * bulk transaction writes, both with the same MERGE.
+ */
+public interface CustomerMonthRewardBatchUpdates {
+
+    /**
+     * Adds points, spend and a transaction count to the customer's row for the month,
+     * inserting the row when the customer has none for that month yet.
+     *
+     * @param customerId the ID of the customer
+     * @param month      the month key
+     * @param points     the points to add
+     * @param spend      the spend to add
+     * @param count      the transaction count to add
+     */
+    void addTotals(Long customerId, int month, int points, double spend, int count);
+
+    /**
+     * Adds each delta's points, spend and transaction count to the customer's row for the month,
+     * inserting the row when the customer has none for that month yet.
+     *
+     * @param deltas the per-customer-month deltas
+     */
+    void addDeltas(List<CustomerMonthReward> deltas);
+
+}
@@ -0,0 +1,51 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link CustomerMonthRewardBatchUpdates}.
+ * Runs the MERGE, single or JDBC-batched, on the connection of the current transaction, bypassing
+ * Hibernate's auto-flush, with the same flush and clear around the batch as
+ * {@link CustomerRewardLedgerBatchUpdatesImpl}.
+ */
+public class CustomerMonthRewardBatchUpdatesImpl implements CustomerMonthRewardBatchUpdates {
+
+    private static final String MERGE_DELTA = "merge into customer_month_rewards m " +
+            "using (values (cast(? as bigint), cast(? as int), cast(? as int), cast(? as double), cast(? as int))) " +
+            "d(customer_id, reward_month, points, spend, transaction_count) " +
+            "on m.customer_id = d.customer_id and m.reward_month = d.reward_month " +
+            "when matched then update set points = m.points + d.points, spend = m.spend + d.spend, " +
+            "transaction_count = m.transaction_count + d.transaction_count " +
+            "when not matched then insert (customer_id, reward_month, points, spend, transaction_count) " +
+            "values (d.customer_id, d.reward_month, d.points, d.spend, d.transaction_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public CustomerMonthRewardBatchUpdatesImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void addTotals(Long customerId, int month, int points, double spend, int count) {
+        addDeltas(List.of(new CustomerMonthReward(customerId, month, points, spend, count)));
+    }
+
+    @Override
+    public void addDeltas(List<CustomerMonthReward> deltas) {
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(MERGE_DELTA, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getCustomerId());
+            ps.setInt(2, delta.getMonth());
+            ps.setInt(3, delta.getPoints());
+            ps.setDouble(4, delta.getSpend());
+            ps.setInt(5, delta.getTransactionCount());
+        });
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,30 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import com.retailer.reward.platform.entity.CustomerMonthRewardId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for accessing the per-customer monthly reward rollup.
+ * Provides CRUD operations plus the upserts of {@link CustomerMonthRewardBatchUpdates} used by single and bulk transaction writes.
+ */
+@Repository
+public interface CustomerMonthRewardRepository extends JpaRepository<CustomerMonthReward, CustomerMonthRewardId>, CustomerMonthRewardBatchUpdates {
+
+    List<CustomerMonthReward> findAllByCustomerIdAndTransactionCountGreaterThanOrderByMonth(Long customerId, int transactionCount);
+
+    List<CustomerMonthReward> findAllByCustomerIdInAndTransactionCountGreaterThanOrderByCustomerIdAscMonthAsc(
+            Collection<Long> customerIds, int transactionCount);
+
+    @Modifying
+    @Query("delete from CustomerMonthReward m where m.customerId between :firstCustomerId and :lastCustomerId")
+    int deleteAllByCustomerIdBetween(@Param("firstCustomerId") long firstCustomerId, @Param("lastCustomerId") long lastCustomerId);
+
+}
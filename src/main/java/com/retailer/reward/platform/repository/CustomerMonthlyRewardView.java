@@ -0,0 +1,19 @@
+package com.retailer.reward.platform.repository;
+
+/**
+ * Projection of the reward points, spend and transaction count of a customer
+ * in one month, aggregated by the database.
+ */
+public interface CustomerMonthlyRewardView {
+
+    Long getCustomerId();
+
+    int getMonth();
+
+    Long getPoints();
+
+    Double getSpend();
+
+    Long getTransactionCount();
+
+}
@@ -1,15 +1,36 @@
 package com.retailer.reward.platform.repository;
 
 import com.retailer.reward.platform.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 
 /**
  * Repository interface for accessing customer data from the database.
- * Provides CRUD operations for the Customer entity.
+ * Provides CRUD operations for the Customer entity, and listings read in ID order
+ * from a cursor, a page at a time or streamed. Updates and deletes are single
+ * statements whose affected row count tells whether the customer existed.
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerExportQueries {
+
+    List<Customer> findByCustomerIdGreaterThanOrderByCustomerId(Long afterId, Limit limit);
+
+    @Query(value = "select customer_id from (select customer_id, row_number() over (order by customer_id) as position from customer) c " +
+            "where mod(position - 1, :rangeSize) = 0 order by customer_id", nativeQuery = true)
+    List<Long> findRangeStartIds(@Param("rangeSize") int rangeSize);
+
+    @Modifying
+    @Query("update Customer c set c.customerName = :customerName where c.customerId = :customerId")
+    int updateCustomerName(@Param("customerId") Long customerId, @Param("customerName") String customerName);
+
+    @Modifying
+    @Query("delete from Customer c where c.customerId = :customerId")
+    int deleteCustomerById(@Param("customerId") Long customerId);
+
 }
@@ -0,0 +1,32 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerRewardLedger;
+
+import java.util.List;
+
+/**
+ * Upserts into the customer reward ledger, of a single customer for transaction writes and batched for bulk
+ * transaction writes, both with the same MERGE.
+ */
+public interface CustomerRewardLedgerBatchUpdates {
+
+    /**
+     * Adds points and a transaction count to the customer's ledger row, inserting the row when the customer
+     * has none yet, and bumps the row version. One MERGE rather than update-then-insert, so concurrent first
+     * writes of a customer cannot both insert.
+     *
+     * @param customerId the ID of the customer
+     * @param points     the points to add
+     * @param count      the transaction count to add
+     */
+    void addTotals(Long customerId, int points, int count);
+
+    /**
+     * Adds each delta's points and transaction count to the customer's ledger row,
+     * inserting the row when the customer has none yet, and bumps the row version.
+     *
+     * @param deltas the per-customer deltas
+     */
+    void addDeltas(List<CustomerRewardLedger> deltas);
+
+}
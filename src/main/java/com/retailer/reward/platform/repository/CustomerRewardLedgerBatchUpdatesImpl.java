@@ -0,0 +1,50 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerRewardLedger;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link CustomerRewardLedgerBatchUpdates}.
+ * Runs the MERGE, single or JDBC-batched, on the connection of the current transaction. Plain JDBC keeps
+ * Hibernate from auto-flushing before every statement, which would dirty check every entity
+ * persisted by the bulk write once per customer. Like {@code @Modifying(flushAutomatically = true,
+ * clearAutomatically = true)}, pending entity changes are flushed once before the batch so the MERGE
+ * sees them, and the persistence context is cleared afterwards so no stale ledger rows are served.
+ */
+public class CustomerRewardLedgerBatchUpdatesImpl implements CustomerRewardLedgerBatchUpdates {
+
+    private static final String MERGE_DELTA = "merge into customer_reward_ledger l " +
+            "using (values (cast(? as bigint), cast(? as int), cast(? as int))) d(customer_id, points, transaction_count) " +
+            "on l.customer_id = d.customer_id " +
+            "when matched then update set total_points = l.total_points + d.points, " +
+            "transaction_count = l.transaction_count + d.transaction_count, version = l.version + 1 " +
+            "when not matched then insert (customer_id, total_points, transaction_count, version) " +
+            "values (d.customer_id, d.points, d.transaction_count, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public CustomerRewardLedgerBatchUpdatesImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void addTotals(Long customerId, int points, int count) {
+        addDeltas(List.of(new CustomerRewardLedger(customerId, points, count, 0)));
+    }
+
+    @Override
+    public void addDeltas(List<CustomerRewardLedger> deltas) {
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(MERGE_DELTA, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getCustomerId());
+            ps.setInt(2, delta.getTotalPoints());
+            ps.setInt(3, delta.getTransactionCount());
+        });
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerRewardLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing the customer reward ledger.
+ * Provides CRUD operations plus the upserts of {@link CustomerRewardLedgerBatchUpdates} used by single and bulk transaction writes, and range resets used by recomputation. Every write bumps the row version.
+ */
+@Repository
+public interface CustomerRewardLedgerRepository extends JpaRepository<CustomerRewardLedger, Long>, CustomerRewardLedgerBatchUpdates {
+
+    @Modifying
+    @Query("update CustomerRewardLedger l set l.totalPoints = 0, l.transactionCount = 0, l.version = l.version + 1 " +
+            "where l.customerId between :firstCustomerId and :lastCustomerId")
+    int resetTotalsBetween(@Param("firstCustomerId") long firstCustomerId, @Param("lastCustomerId") long lastCustomerId);
+
+    @Query("select l.customerId from CustomerRewardLedger l where l.customerId between :firstCustomerId and :lastCustomerId")
+    List<Long> findCustomerIdsBetween(@Param("firstCustomerId") long firstCustomerId, @Param("lastCustomerId") long lastCustomerId);
+
+    @Query("select l.version from CustomerRewardLedger l where l.customerId = :customerId")
+    Optional<Long> findVersionByCustomerId(@Param("customerId") Long customerId);
+
+}
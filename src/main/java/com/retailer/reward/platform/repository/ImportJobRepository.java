@@ -0,0 +1,12 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for accessing bulk import jobs from the database.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+}
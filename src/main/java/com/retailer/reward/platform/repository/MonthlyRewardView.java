@@ -0,0 +1,13 @@
+package com.retailer.reward.platform.repository;
+
+/**
+ * Projection of the reward points earned by a customer in one month,
+ * aggregated by the database.
+ */
+public interface MonthlyRewardView {
+
+    int getMonth();
+
+    Long getPoints();
+
+}
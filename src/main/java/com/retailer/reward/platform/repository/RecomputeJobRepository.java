@@ -0,0 +1,17 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.RecomputeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for accessing reward recomputation jobs from the database.
+ */
+@Repository
+public interface RecomputeJobRepository extends JpaRepository<RecomputeJob, Long> {
+
+    List<RecomputeJob> findAllByStatusOrderByJobId(RecomputeJob.Status status);
+
+}
@@ -0,0 +1,17 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.RecomputeRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for accessing the customer ranges of reward recomputation jobs.
+ */
+@Repository
+public interface RecomputeRangeRepository extends JpaRepository<RecomputeRange, Long> {
+
+    List<RecomputeRange> findAllByJobIdAndCompletedFalseOrderByFirstCustomerId(Long jobId);
+
+}
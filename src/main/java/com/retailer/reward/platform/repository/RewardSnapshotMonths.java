@@ -0,0 +1,37 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Writes and reads the monthly rollup rows of reward snapshots.
+ */
+public interface RewardSnapshotMonths {
+
+    /**
+     * Inserts the rollup rows of a snapshot with JDBC batches.
+     *
+     * @param snapshotId   the ID of the snapshot
+     * @param monthRewards the rollup rows
+     */
+    void saveMonths(Long snapshotId, Collection<CustomerMonthReward> monthRewards);
+
+    /**
+     * Reads the rollup rows of a snapshot from a database cursor.
+     *
+     * @param snapshotId the ID of the snapshot
+     * @param consumer   receives every row
+     * @return the number of rows read
+     */
+    long forEachMonth(Long snapshotId, Consumer<CustomerMonthReward> consumer);
+
+    /**
+     * Deletes snapshots with their rollup rows.
+     *
+     * @param snapshotIds the IDs of the snapshots
+     */
+    void deleteSnapshots(Collection<Long> snapshotIds);
+
+}
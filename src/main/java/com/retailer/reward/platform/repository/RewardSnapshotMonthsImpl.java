@@ -0,0 +1,67 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link RewardSnapshotMonths}.
+ * Snapshots hold one row per active customer month, so rows are inserted in JDBC batches of
+ * BATCH_SIZE and read from a cursor in blocks of the same size, never as managed entities.
+ */
+public class RewardSnapshotMonthsImpl implements RewardSnapshotMonths {
+
+    private static final String INSERT_MONTH = "insert into reward_snapshot_month (snapshot_id, customer_id, reward_month, " +
+            "points, spend, transaction_count) values (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_MONTHS = "select customer_id, reward_month, points, spend, transaction_count " +
+            "from reward_snapshot_month where snapshot_id = ?";
+    private static final String DELETE_MONTHS = "delete from reward_snapshot_month where snapshot_id in (:snapshotIds)";
+    private static final String DELETE_SNAPSHOTS = "delete from reward_snapshot where snapshot_id in (:snapshotIds)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RewardSnapshotMonthsImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(BATCH_SIZE);
+    }
+
+    @Override
+    public void saveMonths(Long snapshotId, Collection<CustomerMonthReward> monthRewards) {
+        jdbcTemplate.batchUpdate(INSERT_MONTH, monthRewards, BATCH_SIZE, (ps, monthReward) -> {
+            ps.setLong(1, snapshotId);
+            ps.setLong(2, monthReward.getCustomerId());
+            ps.setInt(3, monthReward.getMonth());
+            ps.setInt(4, monthReward.getPoints());
+            ps.setDouble(5, monthReward.getSpend());
+            ps.setInt(6, monthReward.getTransactionCount());
+        });
+    }
+
+    @Override
+    public long forEachMonth(Long snapshotId, Consumer<CustomerMonthReward> consumer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(SELECT_MONTHS, resultSet -> {
+            consumer.accept(new CustomerMonthReward(resultSet.getLong(1), resultSet.getInt(2), resultSet.getInt(3),
+                    resultSet.getDouble(4), resultSet.getInt(5)));
+            rows[0]++;
+        }, snapshotId);
+        return rows[0];
+    }
+
+    @Override
+    public void deleteSnapshots(Collection<Long> snapshotIds) {
+        if (snapshotIds.isEmpty()) {
+            return;
+        }
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        Map<String, Collection<Long>> parameters = Map.of("snapshotIds", snapshotIds);
+        namedJdbcTemplate.update(DELETE_MONTHS, parameters);
+        namedJdbcTemplate.update(DELETE_SNAPSHOTS, parameters);
+    }
+}
@@ -0,0 +1,20 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.RewardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing reward snapshots and their monthly rollup rows.
+ */
+@Repository
+public interface RewardSnapshotRepository extends JpaRepository<RewardSnapshot, Long>, RewardSnapshotMonths {
+
+    Optional<RewardSnapshot> findFirstByRulesFingerprintOrderByLastSequenceDescSnapshotIdDesc(String rulesFingerprint);
+
+    List<RewardSnapshot> findAllByOrderBySnapshotIdDesc();
+
+}
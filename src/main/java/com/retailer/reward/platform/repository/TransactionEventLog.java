@@ -0,0 +1,54 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.TransactionEvent;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Appends to and reads the transaction event log.
+ */
+public interface TransactionEventLog {
+
+    /**
+     * Assigns the next sequence numbers to the events, in list order, and inserts them.
+     * The log head stays locked until the current transaction ends.
+     *
+     * @param events the events to append
+     */
+    void append(List<TransactionEvent> events);
+
+    /**
+     * Locks the log head until the current transaction ends, so no event can be appended meanwhile.
+     *
+     * @return the sequence of the last appended event, 0 when the log is empty
+     */
+    long lockHead();
+
+    /**
+     * @return the sequence of the last committed event, 0 when the log is empty
+     */
+    long findLastSequence();
+
+    /**
+     * Reads the events after one sequence up to and including another, in sequence order, from a database cursor.
+     *
+     * @param afterSequence the sequence to start after
+     * @param toSequence    the last sequence to read
+     * @param consumer      receives every event
+     * @return the number of events read
+     */
+    long forEachEvent(long afterSequence, long toSequence, Consumer<TransactionEvent> consumer);
+
+    /**
+     * Reads the transactions of a range of customers, as creation events, from a database cursor.
+     * The transactions and the log head are read by one statement, so they reflect exactly the events up to the returned sequence.
+     *
+     * @param firstCustomerId the first customer ID of the range
+     * @param lastCustomerId  the last customer ID of the range, inclusive
+     * @param consumer        receives a creation event of every transaction, carrying the returned sequence
+     * @return the sequence of the last event reflected by the transactions read
+     */
+    long forEachTransactionInCustomerRange(long firstCustomerId, long lastCustomerId, Consumer<TransactionEvent> consumer);
+
+}
@@ -0,0 +1,104 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.TransactionEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link TransactionEventLog}.
+ * Sequence numbers come from a single head row rather than a database sequence: incrementing it holds the row
+ * lock until commit, so appends commit one after the other in sequence order and a reader that sees a sequence
+ * also sees every lower one. Events are inserted with one JDBC batch and read from a cursor in blocks of FETCH_SIZE.
+ * A customer range is read joined to the head row, the statement sees one committed state of both tables, so
+ * the transactions read are exactly those left by the events up to the head sequence it returns.
+ */
+public class TransactionEventLogImpl implements TransactionEventLog {
+
+    private static final String ADVANCE_HEAD = "update transaction_event_head set last_sequence = last_sequence + ? where id = 1";
+    private static final String SELECT_HEAD = "select last_sequence from transaction_event_head where id = 1";
+    private static final String INSERT_EVENT = "insert into transaction_event (sequence, event_type, transaction_id, customer_id, " +
+            "amount, transaction_month, previous_amount, previous_month, recorded_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_EVENTS = "select sequence, event_type, transaction_id, customer_id, amount, transaction_month, " +
+            "previous_amount, previous_month, recorded_at from transaction_event where sequence > ? and sequence <= ? order by sequence";
+    private static final String SELECT_CUSTOMER_RANGE = "select h.last_sequence, t.transaction_id, t.customer_id, t.amount, t.transaction_month " +
+            "from transaction_event_head h left join transaction t on t.customer_id between ? and ? where h.id = 1";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionEventLogImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public void append(List<TransactionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(ADVANCE_HEAD, events.size());
+        long lastSequence = jdbcTemplate.queryForObject(SELECT_HEAD, Long.class);
+        LocalDateTime recordedAt = LocalDateTime.now();
+        long sequence = lastSequence - events.size();
+        for (TransactionEvent event : events) {
+            event.setSequence(++sequence);
+            event.setRecordedAt(recordedAt);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getSequence());
+            ps.setString(2, event.getType().name());
+            ps.setLong(3, event.getTransactionId());
+            ps.setLong(4, event.getCustomerId());
+            ps.setDouble(5, event.getAmount());
+            ps.setInt(6, event.getTransactionMonth());
+            ps.setObject(7, event.getPreviousAmount(), Types.DOUBLE);
+            ps.setObject(8, event.getPreviousMonth(), Types.INTEGER);
+            ps.setTimestamp(9, Timestamp.valueOf(recordedAt));
+        });
+    }
+
+    @Override
+    public long lockHead() {
+        return jdbcTemplate.queryForObject(SELECT_HEAD + " for update", Long.class);
+    }
+
+    @Override
+    public long findLastSequence() {
+        return jdbcTemplate.queryForObject(SELECT_HEAD, Long.class);
+    }
+
+    @Override
+    public long forEachEvent(long afterSequence, long toSequence, Consumer<TransactionEvent> consumer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(SELECT_EVENTS, resultSet -> {
+            double previousAmount = resultSet.getDouble(7);
+            boolean hasPrevious = !resultSet.wasNull();
+            consumer.accept(new TransactionEvent(resultSet.getLong(1), TransactionEvent.Type.valueOf(resultSet.getString(2)),
+                    resultSet.getLong(3), resultSet.getLong(4), resultSet.getDouble(5), resultSet.getInt(6),
+                    hasPrevious ? previousAmount : null, hasPrevious ? resultSet.getInt(8) : null,
+                    resultSet.getTimestamp(9).toLocalDateTime()));
+            rows[0]++;
+        }, afterSequence, toSequence);
+        return rows[0];
+    }
+
+    @Override
+    public long forEachTransactionInCustomerRange(long firstCustomerId, long lastCustomerId, Consumer<TransactionEvent> consumer) {
+        long[] lastSequence = new long[1];
+        jdbcTemplate.query(SELECT_CUSTOMER_RANGE, resultSet -> {
+            lastSequence[0] = resultSet.getLong(1);
+            long transactionId = resultSet.getLong(2);
+            if (!resultSet.wasNull()) {
+                consumer.accept(new TransactionEvent(lastSequence[0], TransactionEvent.Type.CREATED, transactionId, resultSet.getLong(3),
+                        resultSet.getDouble(4), resultSet.getInt(5), null, null, null));
+            }
+        }, firstCustomerId, lastCustomerId);
+        return lastSequence[0];
+    }
+}
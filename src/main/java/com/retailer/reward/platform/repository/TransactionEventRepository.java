@@ -0,0 +1,15 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.TransactionEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for the append-only transaction event log.
+ * Events are only added through {@link TransactionEventLog#append(List)}, never saved or deleted as entities.
+ */
+@Repository
+public interface TransactionEventRepository extends JpaRepository<TransactionEvent, Long>, TransactionEventLog {
+}
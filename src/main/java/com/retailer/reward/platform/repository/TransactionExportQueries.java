@@ -0,0 +1,15 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.Transaction;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads every transaction with its customer from a database cursor, without
+ * keeping the rows in the persistence context.
+ */
+public interface TransactionExportQueries {
+
+    long forEachTransaction(Consumer<Transaction> consumer);
+
+}
@@ -0,0 +1,39 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link TransactionExportQueries}.
+ * Rows are fetched in blocks of FETCH_SIZE and mapped to detached entities one at a time,
+ * so the caller can write them out without the whole table ever being in memory.
+ */
+public class TransactionExportQueriesImpl implements TransactionExportQueries {
+
+    private static final String SELECT_ALL = "select t.transaction_id, t.amount, t.transaction_month, c.customer_id, c.customer_name " +
+            "from transaction t join customer c on c.customer_id = t.customer_id order by t.transaction_id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionExportQueriesImpl(DataSource dataSource) {
+        // Dedicated template, the fetch size only applies to the export scan
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public long forEachTransaction(Consumer<Transaction> consumer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(SELECT_ALL, resultSet -> {
+            Customer customer = new Customer(resultSet.getLong(4), resultSet.getString(5));
+            consumer.accept(new Transaction(resultSet.getLong(1), resultSet.getDouble(2), resultSet.getInt(3), customer));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+}
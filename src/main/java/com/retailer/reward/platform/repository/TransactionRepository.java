@@ -1,18 +1,31 @@
 package com.retailer.reward.platform.repository;
 
 import com.retailer.reward.platform.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 /**
  * Repository interface for accessing transaction data from the database.
- * Provides CRUD operations for the Transaction entity.
+ * Provides CRUD operations for the Transaction entity, and reward aggregations
+ * computed by the database so reward reads do not materialize entities.
+ * Per-customer reads are keyed on the customer_id column, served by the
+ * (customer_id, transaction_month, amount) index declared in schema.sql.
+ * Listings are read in ID order from a cursor, a page at a time or streamed.
+ * Updates and deletes are single statements that return the previous row, see {@link TransactionRowUpdatesImpl}.
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRewardQueries,
+        TransactionExportQueries, TransactionRowUpdates {
 
-    List<Transaction> findAllByCustomerCustomerId(Long customerId);
+    @Query("select t from Transaction t join fetch t.customer where t.customer.customerId = :customerId order by t.transactionId")
+    List<Transaction> findAllByCustomerCustomerId(@Param("customerId") Long customerId);
+
+    @Query("select t from Transaction t join fetch t.customer where t.transactionId > :afterId order by t.transactionId")
+    List<Transaction> findPageAfter(@Param("afterId") long afterId, Limit limit);
 
 }
@@ -0,0 +1,17 @@
+package com.retailer.reward.platform.repository;
+
+import java.util.List;
+
+/**
+ * Reward aggregations computed by the database with the active reward rules,
+ * so reward reads do not materialize Transaction entities.
+ */
+public interface TransactionRewardQueries {
+
+    List<MonthlyRewardView> findMonthlyRewardsByCustomerId(Long customerId);
+
+    Long sumRewardPointsByCustomerId(Long customerId);
+
+    List<CustomerMonthlyRewardView> findAllCustomerMonthlyRewards();
+
+}
@@ -0,0 +1,73 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.service.RewardRuleService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link TransactionRewardQueries}.
+ * The per-transaction point expression is rendered from the active reward rules,
+ * so database aggregates always agree with RewardCalculationServiceImpl.getRewardPoints().
+ */
+public class TransactionRewardQueriesImpl implements TransactionRewardQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RewardRuleService rewardRuleService;
+
+    public TransactionRewardQueriesImpl(RewardRuleService rewardRuleService) {
+        this.rewardRuleService = rewardRuleService;
+    }
+
+    @Override
+    public List<MonthlyRewardView> findMonthlyRewardsByCustomerId(Long customerId) {
+        return entityManager.createQuery("select t.transactionMonth, sum(" + rewardPoints() + ") from Transaction t " +
+                        "where t.customer.customerId = :customerId group by t.transactionMonth order by t.transactionMonth", Tuple.class)
+                .setParameter("customerId", customerId)
+                .getResultList().stream()
+                .<MonthlyRewardView>map(tuple -> new MonthlyReward(tuple.get(0, Integer.class), tuple.get(1, Long.class)))
+                .toList();
+    }
+
+    @Override
+    public Long sumRewardPointsByCustomerId(Long customerId) {
+        return entityManager.createQuery("select sum(" + rewardPoints() + ") from Transaction t " +
+                        "where t.customer.customerId = :customerId", Long.class)
+                .setParameter("customerId", customerId)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<CustomerMonthlyRewardView> findAllCustomerMonthlyRewards() {
+        return entityManager.createQuery("select t.customer.customerId, t.transactionMonth, sum(" + rewardPoints() + "), " +
+                        "sum(t.amount), count(t) from Transaction t group by t.customer.customerId, t.transactionMonth", Tuple.class)
+                .getResultList().stream()
+                .<CustomerMonthlyRewardView>map(tuple -> new CustomerMonthlyReward(tuple.get(0, Long.class), tuple.get(1, Integer.class),
+                        tuple.get(2, Long.class), tuple.get(3, Double.class), tuple.get(4, Long.class)))
+                .toList();
+    }
+
+    private String rewardPoints() {
+        return rewardRuleService.getEvaluator().toJpqlExpression("t.amount", "t.transactionMonth");
+    }
+
+    @Value
+    private static class MonthlyReward implements MonthlyRewardView {
+        int month;
+        Long points;
+    }
+
+    @Value
+    private static class CustomerMonthlyReward implements CustomerMonthlyRewardView {
+        Long customerId;
+        int month;
+        Long points;
+        Double spend;
+        Long transactionCount;
+    }
+}
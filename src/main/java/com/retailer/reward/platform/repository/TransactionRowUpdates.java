@@ -0,0 +1,29 @@
+package com.retailer.reward.platform.repository;
+
+import java.util.Optional;
+
+/**
+ * Single-statement updates and deletes of one transaction that return the row as it was before the change,
+ * so the reward ledger can be adjusted without reading the row first.
+ */
+public interface TransactionRowUpdates {
+
+    /**
+     * Sets the amount and month of a transaction.
+     *
+     * @param transactionId the ID of the transaction
+     * @param amount        the new amount
+     * @param month         the new month key
+     * @return the row before the update, or empty if the transaction does not exist
+     */
+    Optional<TransactionRowView> updateReturningPrevious(Long transactionId, double amount, int month);
+
+    /**
+     * Deletes a transaction.
+     *
+     * @param transactionId the ID of the transaction
+     * @return the deleted row, or empty if the transaction does not exist
+     */
+    Optional<TransactionRowView> deleteReturningPrevious(Long transactionId);
+
+}
@@ -0,0 +1,60 @@
+package com.retailer.reward.platform.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Optional;
+
+/**
+ * Implementation of {@link TransactionRowUpdates}.
+ * The previous row is selected from the OLD TABLE data change delta table of the update or delete, which is
+ * H2 syntax: on another database these statements need its own equivalent, e.g. UPDATE ... RETURNING on
+ * PostgreSQL. They run on the connection of the current transaction with the same flush and clear around them as
+ * {@code @Modifying(flushAutomatically = true, clearAutomatically = true)}, so a Transaction entity managed by the
+ * persistence context is neither overwritten by pending changes nor served stale afterwards.
+ */
+public class TransactionRowUpdatesImpl implements TransactionRowUpdates {
+
+    private static final String UPDATE_RETURNING_PREVIOUS = "select transaction_id, amount, transaction_month, customer_id " +
+            "from old table (update transaction set amount = ?, transaction_month = ? where transaction_id = ?)";
+    private static final String DELETE_RETURNING_PREVIOUS = "select transaction_id, amount, transaction_month, customer_id " +
+            "from old table (delete from transaction where transaction_id = ?)";
+    private static final RowMapper<TransactionRowView> ROW_MAPPER = (resultSet, rowNum) -> new TransactionRow(
+            resultSet.getLong(1), resultSet.getDouble(2), resultSet.getInt(3), resultSet.getLong(4));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public TransactionRowUpdatesImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<TransactionRowView> updateReturningPrevious(Long transactionId, double amount, int month) {
+        entityManager.flush();
+        Optional<TransactionRowView> previous = jdbcTemplate.query(UPDATE_RETURNING_PREVIOUS, ROW_MAPPER, amount, month, transactionId)
+                .stream().findFirst();
+        entityManager.clear();
+        return previous;
+    }
+
+    @Override
+    public Optional<TransactionRowView> deleteReturningPrevious(Long transactionId) {
+        entityManager.flush();
+        Optional<TransactionRowView> previous = jdbcTemplate.query(DELETE_RETURNING_PREVIOUS, ROW_MAPPER, transactionId)
+                .stream().findFirst();
+        entityManager.clear();
+        return previous;
+    }
+
+    @Value
+    private static class TransactionRow implements TransactionRowView {
+        Long transactionId;
+        double amount;
+        int transactionMonth;
+        Long customerId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.retailer.reward.platform.repository;
+
+/**
+ * Projection of the stored row of one transaction, as it was before an update or delete.
+ */
+public interface TransactionRowView {
+
+    Long getTransactionId();
+
+    double getAmount();
+
+    int getTransactionMonth();
+
+    Long getCustomerId();
+
+}
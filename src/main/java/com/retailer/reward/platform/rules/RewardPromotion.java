@@ -0,0 +1,22 @@
+package com.retailer.reward.platform.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A promotional multiplier applied to the tier points of transactions made between
+ * two months (inclusive, formatted as YYYY-MM).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardPromotion {
+
+    private String fromMonth;
+
+    private String toMonth;
+
+    private int multiplier;
+
+}
@@ -0,0 +1,203 @@
+package com.retailer.reward.platform.rules;
+
+import com.retailer.reward.platform.exception.InvalidRewardRuleException;
+import com.retailer.reward.platform.util.MonthKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable evaluator compiled from {@link RewardRules}.
+ * Tiers are flattened into sorted threshold, width and multiplier arrays, so evaluating an amount
+ * is a short branch-free loop over a few ints. The points accumulated below each threshold are
+ * precomputed for the JPQL rendering of the same rules, used for database-side aggregation.
+ */
+public final class RewardRuleEvaluator {
+
+    private final RewardRules rules;
+    private final int[] thresholds;
+    private final int[] multipliers;
+    private final int[] widths;
+    private final long[] cumulativePoints;
+    private final long maxPoints;
+    private final int[] promotionFromMonths;
+    private final int[] promotionToMonths;
+    private final int[] promotionMultipliers;
+
+    private RewardRuleEvaluator(RewardRules rules, List<RewardTier> tiers, List<RewardPromotion> promotions) {
+        this.rules = rules;
+        int tierCount = tiers.size();
+        thresholds = new int[tierCount];
+        multipliers = new int[tierCount];
+        widths = new int[tierCount];
+        cumulativePoints = new long[tierCount];
+        for (int i = 0; i < tierCount; i++) {
+            thresholds[i] = tiers.get(i).getThreshold();
+            multipliers[i] = tiers.get(i).getMultiplier();
+            widths[i] = i + 1 < tierCount ? tiers.get(i + 1).getThreshold() - thresholds[i] : Integer.MAX_VALUE;
+            if (i > 0) {
+                cumulativePoints[i] = cumulativePoints[i - 1] + (long) widths[i - 1] * multipliers[i - 1];
+            }
+        }
+        maxPoints = rules.getMaxPointsPerTransaction() == null ? Integer.MAX_VALUE : rules.getMaxPointsPerTransaction();
+        int promotionCount = promotions.size();
+        promotionFromMonths = new int[promotionCount];
+        promotionToMonths = new int[promotionCount];
+        promotionMultipliers = new int[promotionCount];
+        for (int i = 0; i < promotionCount; i++) {
+            promotionFromMonths[i] = MonthKey.parse(promotions.get(i).getFromMonth());
+            promotionToMonths[i] = MonthKey.parse(promotions.get(i).getToMonth());
+            promotionMultipliers[i] = promotions.get(i).getMultiplier();
+        }
+    }
+
+    /**
+     * Validates and compiles reward rules.
+     *
+     * @param rules the rules to compile
+     * @return the compiled evaluator
+     * @throws InvalidRewardRuleException if the rules are inconsistent
+     */
+    public static RewardRuleEvaluator compile(RewardRules rules) {
+        if (rules == null || rules.getTiers() == null || rules.getTiers().isEmpty()) {
+            throw new InvalidRewardRuleException("At least one reward tier is required");
+        }
+        List<RewardTier> tiers = new ArrayList<>(rules.getTiers());
+        tiers.sort(Comparator.comparingInt(RewardTier::getThreshold));
+        for (int i = 0; i < tiers.size(); i++) {
+            RewardTier tier = tiers.get(i);
+            if (tier.getThreshold() < 0 || tier.getMultiplier() < 0) {
+                throw new InvalidRewardRuleException("Reward tier threshold and multiplier must not be negative: " + tier);
+            }
+            if (i > 0 && tier.getThreshold() == tiers.get(i - 1).getThreshold()) {
+                throw new InvalidRewardRuleException("Duplicate reward tier threshold: " + tier.getThreshold());
+            }
+        }
+        if (rules.getMaxPointsPerTransaction() != null && rules.getMaxPointsPerTransaction() <= 0) {
+            throw new InvalidRewardRuleException("Max points per transaction must be greater than zero");
+        }
+        List<RewardPromotion> promotions = new ArrayList<>(rules.getPromotions() == null ? List.of() : rules.getPromotions());
+        for (RewardPromotion promotion : promotions) {
+            try {
+                if (MonthKey.parse(promotion.getFromMonth()) > MonthKey.parse(promotion.getToMonth()) || promotion.getMultiplier() < 1) {
+                    throw new InvalidRewardRuleException("Invalid reward promotion: " + promotion);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRewardRuleException("Invalid reward promotion: " + promotion);
+            }
+        }
+        // Highest multiplier first, so the first matching promotion wins
+        promotions.sort(Comparator.comparingInt(RewardPromotion::getMultiplier).reversed());
+        return new RewardRuleEvaluator(rules, tiers, promotions);
+    }
+
+    /**
+     * The rules this evaluator was compiled from.
+     */
+    public RewardRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Renders the compiled rules in a canonical text form: tiers by threshold with their widths and multipliers,
+     * the cap, and promotions by multiplier and month range. Rules evaluating every amount and month alike
+     * render the same text whatever order their tiers and promotions were declared in.
+     *
+     * @return the canonical form of the rules
+     */
+    public String canonicalForm() {
+        StringBuilder form = new StringBuilder("tiers=");
+        for (int i = 0; i < thresholds.length; i++) {
+            form.append(i > 0 ? "," : "").append(thresholds[i]).append(':').append(widths[i]).append(':').append(multipliers[i]);
+        }
+        form.append(";cap=").append(maxPoints).append(";promotions=");
+        Integer[] order = new Integer[promotionMultipliers.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> -promotionMultipliers[i])
+                .thenComparingInt(i -> promotionFromMonths[i])
+                .thenComparingInt(i -> promotionToMonths[i]));
+        for (int i = 0; i < order.length; i++) {
+            form.append(i > 0 ? "," : "").append(promotionFromMonths[order[i]]).append('-')
+                    .append(promotionToMonths[order[i]]).append('x').append(promotionMultipliers[order[i]]);
+        }
+        return form.toString();
+    }
+
+    /**
+     * Calculates the points of a transaction amount, ignoring promotions.
+     *
+     * @param amount the whole-dollar transaction amount
+     * @return the reward points
+     */
+    public int points(int amount) {
+        return (int) Math.min(tierPoints(amount), maxPoints);
+    }
+
+    /**
+     * Calculates the points of a transaction amount made in the given month.
+     *
+     * @param amount the whole-dollar transaction amount
+     * @param month  the transaction month key, e.g. 202401
+     * @return the reward points
+     */
+    public int points(int amount, int month) {
+        long points = tierPoints(amount);
+        if (points > 0) {
+            for (int i = 0; i < promotionMultipliers.length; i++) {
+                if (month >= promotionFromMonths[i] && month <= promotionToMonths[i]) {
+                    points *= promotionMultipliers[i];
+                    break;
+                }
+            }
+        }
+        return (int) Math.min(points, maxPoints);
+    }
+
+    /**
+     * Sums the dollars falling into each tier times its multiplier. Clamping with min/max
+     * instead of comparing against the thresholds keeps the loop free of data-dependent branches.
+     */
+    private long tierPoints(int amount) {
+        long points = 0;
+        for (int i = 0; i < thresholds.length; i++) {
+            points += (long) Math.min(Math.max(amount - thresholds[i], 0), widths[i]) * multipliers[i];
+        }
+        return points;
+    }
+
+    /**
+     * Renders the rules as a JPQL expression computing the points of one transaction.
+     *
+     * @param amountPath the path of the transaction amount, e.g. "t.amount"
+     * @param monthPath  the path of the transaction month, e.g. "t.transactionMonth"
+     * @return the JPQL expression
+     */
+    public String toJpqlExpression(String amountPath, String monthPath) {
+        String amount = "cast(floor(" + amountPath + ") as Integer)";
+        StringBuilder tierExpression = new StringBuilder("case");
+        for (int i = thresholds.length - 1; i >= 0; i--) {
+            tierExpression.append(" when ").append(amount).append(" > ").append(thresholds[i])
+                    .append(" then ").append(cumulativePoints[i])
+                    .append(" + (").append(amount).append(" - ").append(thresholds[i]).append(") * ").append(multipliers[i]);
+        }
+        tierExpression.append(" else 0 end");
+        String expression = tierExpression.toString();
+        if (promotionMultipliers.length > 0) {
+            StringBuilder promotionExpression = new StringBuilder("case");
+            for (int i = 0; i < promotionMultipliers.length; i++) {
+                promotionExpression.append(" when ").append(monthPath).append(" between ").append(promotionFromMonths[i])
+                        .append(" and ").append(promotionToMonths[i]).append(" then ").append(promotionMultipliers[i]);
+            }
+            promotionExpression.append(" else 1 end");
+            expression = "(" + expression + ") * (" + promotionExpression + ")";
+        }
+        if (maxPoints < Integer.MAX_VALUE) {
+            expression = "case when " + expression + " > " + maxPoints + " then " + maxPoints + " else " + expression + " end";
+        }
+        return expression;
+    }
+}
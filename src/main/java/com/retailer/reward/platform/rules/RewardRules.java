@@ -0,0 +1,26 @@
+package com.retailer.reward.platform.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reward rule model: tiers, an optional per-transaction points cap and promotions.
+ * Bound from the "reward.rules" configuration properties and replaceable at runtime.
+ * The defaults are the original program: 1 point per dollar over $50 and 2 points per dollar over $100.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardRules {
+
+    private List<RewardTier> tiers = new ArrayList<>(List.of(new RewardTier(50, 1), new RewardTier(100, 2)));
+
+    private Integer maxPointsPerTransaction;
+
+    private List<RewardPromotion> promotions = new ArrayList<>();
+
+}
@@ -0,0 +1,9 @@
+package com.retailer.reward.platform.rules;
+
+/**
+ * Published after new reward rules have been compiled and swapped in.
+ *
+ * @param evaluator the evaluator now in use
+ */
+public record RewardRulesChangedEvent(RewardRuleEvaluator evaluator) {
+}
@@ -0,0 +1,20 @@
+package com.retailer.reward.platform.rules;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the initial reward rules from the "reward.rules" configuration properties, for example
+ * reward.rules.tiers[0].threshold=50, reward.rules.tiers[0].multiplier=1,
+ * reward.rules.max-points-per-transaction=500, reward.rules.promotions[0].from-month=2024-11.
+ */
+@Configuration
+public class RewardRulesConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "reward.rules")
+    public RewardRules configuredRewardRules() {
+        return new RewardRules();
+    }
+}
@@ -0,0 +1,20 @@
+package com.retailer.reward.platform.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A reward tier: every whole dollar spent above the threshold, up to the next tier's
+ * threshold, earns the given number of points.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardTier {
+
+    private int threshold;
+
+    private int multiplier;
+
+}
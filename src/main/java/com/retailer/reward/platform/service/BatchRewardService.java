@@ -0,0 +1,12 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.BatchRewardRequest;
+import com.retailer.reward.platform.dto.CustomerRewardSummary;
+
+import java.util.function.Consumer;
+
+public interface BatchRewardService {
+
+    int calculateRewards(BatchRewardRequest request, Consumer<CustomerRewardSummary> resultConsumer);
+
+}
@@ -0,0 +1,20 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.CustomerCacheStats;
+import com.retailer.reward.platform.entity.Customer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface CustomerCacheService {
+
+    Optional<Customer> findCustomer(Long customerId);
+
+    Map<Long, Customer> findCustomers(Collection<Long> customerIds);
+
+    void evictCustomer(Long customerId);
+
+    CustomerCacheStats getStats();
+
+}
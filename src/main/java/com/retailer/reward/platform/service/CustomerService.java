@@ -1,8 +1,9 @@
 package com.retailer.reward.platform.service;
 
+import com.retailer.reward.platform.dto.CursorPage;
 import com.retailer.reward.platform.entity.Customer;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     Customer createCustomer(Customer customer);
@@ -13,5 +14,7 @@ public interface CustomerService {
 
     void deleteCustomer(Long customerId);
 
-    List<Customer> getAllCustomers();
+    CursorPage<Customer> getCustomers(Long afterId, Integer limit);
+
+    long exportCustomers(Consumer<Customer> consumer);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.LeaderboardEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LeaderboardService {
+
+    List<LeaderboardEntry> getTopCustomers(Integer month, int limit);
+
+    LeaderboardEntry getCustomerRank(Long customerId, Integer month);
+
+    void refreshCustomers(Collection<Long> customerIds);
+
+    int reload();
+
+}
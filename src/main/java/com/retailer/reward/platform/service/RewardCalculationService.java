@@ -1,16 +1,22 @@
 package com.retailer.reward.platform.service;
 
+import com.retailer.reward.platform.dto.MonthlyRewards;
 import com.retailer.reward.platform.entity.Transaction;
 
 import java.util.List;
-import java.util.Map;
 
 public interface RewardCalculationService {
 
     int getCustomerTransactionRewards(Transaction transaction);
 
-    Map<String, Integer> getCustomerMonthlyRewards(List<Transaction> transactions);
+    int getRewardPoints(double amount, int month);
+
+    MonthlyRewards getCustomerMonthlyRewards(List<Transaction> transactions);
 
     int getCustomerTotalRewards(List<Transaction> transactions);
 
+    MonthlyRewards getCustomerMonthlyRewards(Long customerId);
+
+    int getCustomerTotalRewards(Long customerId);
+
 }
\ No newline at end of file
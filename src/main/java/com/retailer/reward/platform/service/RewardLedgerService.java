@@ -0,0 +1,37 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import com.retailer.reward.platform.entity.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface RewardLedgerService {
+
+    void recordTransactionCreated(Transaction transaction);
+
+    void recordTransactionsCreated(List<Transaction> transactions);
+
+    void recordTransactionUpdated(Transaction previousTransaction, Transaction updatedTransaction);
+
+    void recordTransactionDeleted(Transaction transaction);
+
+    long getCustomerRewardsVersion(Long customerId);
+
+    Map<Long, Long> getCustomerRewardsVersions(Collection<Long> customerIds);
+
+    int getCustomerTotalRewards(Long customerId);
+
+    MonthlyRewards getCustomerMonthlyRewards(Long customerId);
+
+    Map<Long, MonthlyRewards> getCustomersMonthlyRewards(Collection<Long> customerIds);
+
+    int rebuildLedger();
+
+    int restoreLedger(Collection<CustomerMonthReward> monthRewards);
+
+    int restoreCustomerRange(long firstCustomerId, long lastCustomerId, Collection<CustomerMonthReward> monthRewards);
+
+}
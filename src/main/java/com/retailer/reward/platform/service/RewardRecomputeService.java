@@ -0,0 +1,15 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.RecomputeJob;
+
+public interface RewardRecomputeService {
+
+    RecomputeJob startRecompute(Integer rangeSize);
+
+    RecomputeJob resumeRecompute(Long jobId);
+
+    RecomputeJob getRecomputeJob(Long jobId);
+
+    int resumeInterruptedJobs();
+
+}
@@ -0,0 +1,14 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.entity.RewardSnapshot;
+
+public interface RewardReplayService {
+
+    RewardSnapshot takeSnapshot();
+
+    RewardReplayResult replayLedger();
+
+    long getEventsSinceSnapshot();
+
+}
@@ -0,0 +1,18 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.CumulativeRewards;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+
+import java.util.Map;
+
+public interface RewardResponseCacheService {
+
+    int getCustomerTotalRewards(Long customerId, long version);
+
+    MonthlyRewards getCustomerMonthlyRewards(Long customerId, long version);
+
+    CumulativeRewards getCustomerCumulativeRewards(Long customerId, long version);
+
+    Map<Long, CumulativeRewards> getCustomersCumulativeRewards(Map<Long, Long> versions);
+
+}
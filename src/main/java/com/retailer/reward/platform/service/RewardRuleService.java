@@ -0,0 +1,14 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.rules.RewardRuleEvaluator;
+import com.retailer.reward.platform.rules.RewardRules;
+
+public interface RewardRuleService {
+
+    RewardRuleEvaluator getEvaluator();
+
+    RewardRules getRules();
+
+    RewardRules updateRules(RewardRules rules);
+
+}
@@ -0,0 +1,14 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.ColumnarSnapshotInfo;
+import com.retailer.reward.platform.dto.TransactionAnalytics;
+
+public interface TransactionAnalyticsService {
+
+    ColumnarSnapshotInfo exportSnapshot();
+
+    ColumnarSnapshotInfo refreshSnapshot();
+
+    TransactionAnalytics getMonthlyAnalytics();
+
+}
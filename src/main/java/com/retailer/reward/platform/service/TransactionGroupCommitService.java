@@ -0,0 +1,11 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.Transaction;
+
+public interface TransactionGroupCommitService {
+
+    boolean isEnabled();
+
+    Transaction createTransaction(Transaction transaction);
+
+}
@@ -0,0 +1,15 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.ImportJob;
+
+import java.io.InputStream;
+
+public interface TransactionImportService {
+
+    ImportJob startImport(ImportJob.Format format, Long jobId, Integer chunkSize);
+
+    ImportJob importTransactions(ImportJob job, InputStream input);
+
+    ImportJob getImportJob(Long jobId);
+
+}
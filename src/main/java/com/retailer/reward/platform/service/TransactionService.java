@@ -1,19 +1,26 @@
 package com.retailer.reward.platform.service;
 
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
 import com.retailer.reward.platform.entity.Transaction;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     Transaction createTransaction(Transaction transaction);
 
+    TransactionBatchResult createTransactions(List<Transaction> transactions);
+
     Transaction updateTransaction(Long transactionId, Transaction transaction);
 
     void deleteTransaction(Long transactionId);
 
     Transaction getTransactionById(Long transactionId);
 
-    List<Transaction> getAllTransactions();
+    CursorPage<Transaction> getTransactions(Long afterId, Integer limit);
+
+    long exportTransactions(Consumer<Transaction> consumer);
 
     List<Transaction> getTransactionsByCustomerId(Long customerId);
 
@@ -0,0 +1,198 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.dto.BatchRewardRequest;
+import com.retailer.reward.platform.dto.CustomerRewardSummary;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.service.BatchRewardService;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.util.RewardMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Service implementation for calculating the rewards of many customers at once.
+ * The transaction table is streamed once in customer order; every customer's rows form a
+ * partition that is aggregated on a fork-join pool while the scan continues, and results are
+ * handed to the caller in completion order.
+ */
+@Service
+@Slf4j
+public class BatchRewardServiceImpl implements BatchRewardService {
+
+    private static final String SELECT_ALL = "select customer_id, transaction_month, amount from transaction order by customer_id";
+    private static final String SELECT_CUSTOMERS = "select customer_id, transaction_month, amount from transaction " +
+            "where customer_id in (:customerIds) order by customer_id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ForkJoinPool rewardBatchPool;
+    private final RewardCalculationService rewardCalculationService;
+    private final RewardMetrics rewardMetrics;
+
+    public BatchRewardServiceImpl(DataSource dataSource, ForkJoinPool rewardBatchPool,
+                                  RewardCalculationService rewardCalculationService, RewardMetrics rewardMetrics) {
+        // Dedicated template, the fetch size only applies to the streaming scan
+        JdbcTemplate scanTemplate = new JdbcTemplate(dataSource);
+        scanTemplate.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(scanTemplate);
+        this.rewardBatchPool = rewardBatchPool;
+        this.rewardCalculationService = rewardCalculationService;
+        this.rewardMetrics = rewardMetrics;
+    }
+
+    /**
+     * Calculates the monthly and total rewards of the requested customers in a single scan.
+     * Requested customers without transactions are reported with no monthly rewards.
+     *
+     * @param request        the customers to calculate rewards for
+     * @param resultConsumer receives each customer's rewards as soon as they are calculated
+     * @return the number of customers reported
+     */
+    @Override
+    public int calculateRewards(BatchRewardRequest request, Consumer<CustomerRewardSummary> resultConsumer) {
+        PartitionScanner scanner = new PartitionScanner(new ExecutorCompletionService<>(rewardBatchPool), resultConsumer);
+        if (request.isAll()) {
+            jdbcTemplate.query(SELECT_ALL, scanner);
+        } else {
+            jdbcTemplate.query(SELECT_CUSTOMERS, Map.of("customerIds", request.getCustomerIds()), scanner);
+        }
+        scanner.finish();
+        int reported = scanner.reportedCustomers.size();
+        if (!request.isAll()) {
+            for (Long customerId : new HashSet<>(request.getCustomerIds())) {
+                if (!scanner.reportedCustomers.contains(customerId)) {
+                    resultConsumer.accept(new CustomerRewardSummary(customerId, MonthlyRewards.EMPTY, 0));
+                    reported++;
+                }
+            }
+        }
+        log.info("BatchRewardServiceImpl.calculateRewards():: calculated rewards for {} customers", reported);
+        return reported;
+    }
+
+    private CustomerRewardSummary aggregate(Partition partition) {
+        MonthlyRewards.Accumulator accumulator = new MonthlyRewards.Accumulator(partition.firstMonth, partition.lastMonth);
+        int totalRewards = 0;
+        for (int i = 0; i < partition.size; i++) {
+            int points = rewardCalculationService.getRewardPoints(partition.amounts[i], partition.months[i]);
+            accumulator.add(partition.months[i], points);
+            totalRewards += points;
+        }
+        rewardMetrics.recordTransactions("batch", partition.size);
+        return new CustomerRewardSummary(partition.customerId, accumulator.toMonthlyRewards(), totalRewards);
+    }
+
+    /**
+     * Splits the ordered result set into per-customer partitions, submits each completed
+     * partition for aggregation and forwards finished results without blocking the scan.
+     */
+    private class PartitionScanner implements RowCallbackHandler {
+
+        private final CompletionService<CustomerRewardSummary> completionService;
+        private final Consumer<CustomerRewardSummary> resultConsumer;
+        private final Set<Long> reportedCustomers = new HashSet<>();
+        private Partition current;
+        private int pending;
+
+        PartitionScanner(CompletionService<CustomerRewardSummary> completionService, Consumer<CustomerRewardSummary> resultConsumer) {
+            this.completionService = completionService;
+            this.resultConsumer = resultConsumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long customerId = rs.getLong(1);
+            if (current == null || current.customerId != customerId) {
+                submitCurrent();
+                current = new Partition(customerId);
+            }
+            current.add(rs.getInt(2), rs.getDouble(3));
+        }
+
+        void finish() {
+            submitCurrent();
+            while (pending > 0) {
+                try {
+                    report(completionService.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Batch reward calculation interrupted", e);
+                }
+            }
+        }
+
+        private void submitCurrent() {
+            if (current != null) {
+                Partition partition = current;
+                completionService.submit(() -> aggregate(partition));
+                pending++;
+                current = null;
+            }
+            Future<CustomerRewardSummary> completed;
+            while ((completed = completionService.poll()) != null) {
+                report(completed);
+            }
+        }
+
+        private void report(Future<CustomerRewardSummary> completed) {
+            pending--;
+            try {
+                CustomerRewardSummary summary = completed.get();
+                reportedCustomers.add(summary.getCustomerId());
+                resultConsumer.accept(summary);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Batch reward calculation interrupted", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException : new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Transactions of one customer held in compact parallel arrays.
+     */
+    private static class Partition {
+
+        private final long customerId;
+        private int[] months = new int[16];
+        private double[] amounts = new double[16];
+        private int size;
+        private int firstMonth = Integer.MAX_VALUE;
+        private int lastMonth = Integer.MIN_VALUE;
+
+        Partition(long customerId) {
+            this.customerId = customerId;
+        }
+
+        void add(int month, double amount) {
+            if (size == amounts.length) {
+                months = Arrays.copyOf(months, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+            months[size] = month;
+            amounts[size] = amount;
+            size++;
+            firstMonth = Math.min(firstMonth, month);
+            lastMonth = Math.max(lastMonth, month);
+        }
+    }
+}
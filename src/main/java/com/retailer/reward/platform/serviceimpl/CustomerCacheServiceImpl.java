@@ -0,0 +1,124 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.retailer.reward.platform.dto.CustomerCacheStats;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.service.CustomerCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service implementation of a read-through cache of customers by ID.
+ * Entries are evicted beyond the maximum size and after the configured time to live, which also
+ * bounds how long a change made outside this application can stay unnoticed. The cache holds its
+ * own copies of the customers and hands out fresh copies, so callers may modify what they get.
+ * Unknown customer IDs are not cached, a customer created later is found on its first lookup.
+ */
+@Service
+@Slf4j
+public class CustomerCacheServiceImpl implements CustomerCacheService {
+
+    private final LoadingCache<Long, Customer> customers;
+
+    public CustomerCacheServiceImpl(CustomerRepository customerRepository,
+                                    @Value("${reward.customer-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${reward.customer-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.customers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(new CustomerLoader(customerRepository));
+    }
+
+    /**
+     * Finds a customer, loading it from the database on a cache miss.
+     *
+     * @param customerId the ID of the customer
+     * @return a copy of the customer, or empty if no customer has this ID
+     */
+    @Override
+    public Optional<Customer> findCustomer(Long customerId) {
+        return Optional.ofNullable(customers.get(customerId)).map(CustomerCacheServiceImpl::copy);
+    }
+
+    /**
+     * Finds many customers, loading all cache misses from the database with a single query.
+     *
+     * @param customerIds the IDs of the customers
+     * @return copies of the customers found, by ID
+     */
+    @Override
+    public Map<Long, Customer> findCustomers(Collection<Long> customerIds) {
+        Map<Long, Customer> found = new HashMap<>();
+        customers.getAll(customerIds).forEach((customerId, customer) -> found.put(customerId, copy(customer)));
+        return found;
+    }
+
+    /**
+     * Removes a changed customer from the cache. Inside a database transaction the customer is evicted
+     * again after the commit, a concurrent lookup may have cached the previous state in the meantime.
+     *
+     * @param customerId the ID of the customer
+     */
+    @Override
+    public void evictCustomer(Long customerId) {
+        customers.invalidate(customerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    customers.invalidate(customerId);
+                }
+            });
+        }
+        log.info("CustomerCacheServiceImpl.evictCustomer():: evicted customer {}", customerId);
+    }
+
+    /**
+     * Reads the statistics of the cache.
+     *
+     * @return the cache size, hits, misses, loads and evictions
+     */
+    @Override
+    public CustomerCacheStats getStats() {
+        CacheStats stats = customers.stats();
+        return new CustomerCacheStats(customers.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.loadCount(), stats.evictionCount());
+    }
+
+    private static Customer copy(Customer customer) {
+        return new Customer(customer.getCustomerId(), customer.getCustomerName());
+    }
+
+    private record CustomerLoader(CustomerRepository customerRepository) implements CacheLoader<Long, Customer> {
+
+        @Override
+        public Customer load(Long customerId) {
+            return customerRepository.findById(customerId).map(CustomerCacheServiceImpl::copy).orElse(null);
+        }
+
+        @Override
+        public Map<Long, Customer> loadAll(Set<? extends Long> customerIds) {
+            Map<Long, Customer> loaded = new HashMap<>();
+            for (Customer customer : customerRepository.findAllById(List.copyOf(customerIds))) {
+                loaded.put(customer.getCustomerId(), copy(customer));
+            }
+            return loaded;
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.retailer.reward.platform.serviceimpl;
 
+import com.retailer.reward.platform.dto.CursorPage;
 import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.exception.InvalidPageRequestException;
 import com.retailer.reward.platform.exception.ResourceNotFoundException;
 import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.service.CustomerCacheService;
 import com.retailer.reward.platform.service.CustomerService;
 import com.retailer.reward.platform.util.Constants;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for managing customers.
@@ -22,6 +28,7 @@ import java.util.List;
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerCacheService customerCacheService;
 
     /**
      * Creates a new customer.
@@ -37,7 +44,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     /**
-     * Retrieves a customer by their ID.
+     * Retrieves a customer by their ID, from the customer cache.
      *
      * @param customerId the ID of the customer to retrieve
      * @return the customer entity
@@ -45,7 +52,7 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public Customer getCustomer(Long customerId) {
-        Customer customer = customerRepository.findById(customerId).orElseThrow(() ->
+        Customer customer = customerCacheService.findCustomer(customerId).orElseThrow(() ->
                 new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + customerId));
         log.info("CustomerServiceImpl.getCustomer():: Fetch Customer by ID: {}", customer);
         return customer;
@@ -53,7 +60,8 @@ public class CustomerServiceImpl implements CustomerService {
 
 
     /**
-     * Updates the details of an existing customer.
+     * Updates the details of an existing customer and evicts it from the customer cache.
+     * A single update statement is issued, the customer does not exist when it updates no row.
      *
      * @param customerId      the ID of the customer to update
      * @param customerDetails the updated customer entity
@@ -61,39 +69,63 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws ResourceNotFoundException if no customer is found with the given ID
      */
     @Override
+    @Transactional
     public Customer updateCustomer(Long customerId, Customer customerDetails) {
-        customerRepository.findById(customerId).orElseThrow(() ->
-                new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + customerId));
-        customerDetails.setCustomerId(customerId);
-        Customer updatedCustomer = customerRepository.save(customerDetails);
+        if (customerRepository.updateCustomerName(customerId, customerDetails.getCustomerName()) == 0) {
+            throw new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + customerId);
+        }
+        Customer updatedCustomer = new Customer(customerId, customerDetails.getCustomerName());
+        customerCacheService.evictCustomer(customerId);
         log.info("CustomerServiceImpl.updateCustomer():: Updated Customer details: {}", updatedCustomer);
         return updatedCustomer;
     }
 
 
     /**
-     * Deletes a customer by their ID.
+     * Deletes a customer by their ID and evicts it from the customer cache.
+     * A single delete statement is issued, the customer does not exist when it deletes no row.
      *
      * @param customerId the ID of the customer to delete
      * @throws ResourceNotFoundException if no customer is found with the given ID
      */
     @Override
+    @Transactional
     public void deleteCustomer(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + customerId));
-        customerRepository.delete(customer);
+        if (customerRepository.deleteCustomerById(customerId) == 0) {
+            throw new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + customerId);
+        }
+        customerCacheService.evictCustomer(customerId);
         log.info("CustomerServiceImpl.deleteCustomer():: deleted Customer by Id: {}", customerId);
     }
 
     /**
-     * Retrieves all customers.
+     * Retrieves one page of customers in ID order, read with a keyset condition on the ID.
+     *
+     * @param afterId the cursor returned with the previous page, or null for the first page
+     * @param limit   the page size, or null for the default page size
+     * @return the page of customers and the cursor of the next page
+     * @throws InvalidPageRequestException if the page size is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Customer> getCustomers(Long afterId, Integer limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        log.info("CustomerServiceImpl.getCustomers():: Fetch {} customers after ID {}", pageSize, afterId);
+        List<Customer> rows = customerRepository.findByCustomerIdGreaterThanOrderByCustomerId(afterId != null ? afterId : 0, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Customer::getCustomerId);
+    }
+
+    /**
+     * Hands every customer to the consumer in ID order while reading them from a database cursor.
      *
-     * @return a list of all customers
+     * @param consumer receives each customer
+     * @return the number of customers exported
      */
     @Override
-    public List<Customer> getAllCustomers() {
-        log.info("CustomerServiceImpl.getAllCustomers():: Fetch all Customer details");
-        List<Customer> customers = customerRepository.findAll();
-        return customers;
+    @Transactional(readOnly = true)
+    public long exportCustomers(Consumer<Customer> consumer) {
+        long exported = customerRepository.forEachCustomer(consumer);
+        log.info("CustomerServiceImpl.exportCustomers():: exported {} customers", exported);
+        return exported;
     }
 }
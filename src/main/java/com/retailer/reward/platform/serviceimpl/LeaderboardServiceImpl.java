@@ -0,0 +1,358 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.dto.LeaderboardEntry;
+import com.retailer.reward.platform.dto.RewardLedgerChangedEvent;
+import com.retailer.reward.platform.dto.RewardLedgerRebuiltEvent;
+import com.retailer.reward.platform.exception.InvalidPageRequestException;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.leaderboard.RankedBoard;
+import com.retailer.reward.platform.service.LeaderboardService;
+import com.retailer.reward.platform.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service implementation of the rewards leaderboards, overall and per month, kept in memory as ranked boards.
+ * After a transaction write commits, the ledger and monthly rollup of the changed customers are read back
+ * and their standings replaced, each board update taking O(log n). Standings carry the ledger version,
+ * so a read that lost a race against a newer write is ignored instead of overwriting it.
+ * The boards are loaded with one scan of the ledger and rollup whenever the ledger is rebuilt,
+ * which includes startup, sorted once and built in linear time.
+ */
+@Service
+@Slf4j
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final String SELECT_STANDINGS = "select l.customer_id, l.total_points, l.transaction_count, l.version, " +
+            "m.reward_month, m.points from customer_reward_ledger l " +
+            "left join customer_month_rewards m on m.customer_id = l.customer_id and m.transaction_count > 0 ";
+    private static final String SELECT_ALL_STANDINGS = SELECT_STANDINGS + "order by l.customer_id, m.reward_month";
+    private static final String SELECT_CUSTOMER_STANDINGS = SELECT_STANDINGS +
+            "where l.customer_id in (:customerIds) order by l.customer_id, m.reward_month";
+    private static final int FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object reloadLock = new Object();
+    private Boards boards = new Boards(new HashMap<>());
+    private Set<Long> refreshedDuringReload;
+
+    public LeaderboardServiceImpl(DataSource dataSource) {
+        JdbcTemplate scanTemplate = new JdbcTemplate(dataSource);
+        scanTemplate.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(scanTemplate);
+    }
+
+    /**
+     * Lists the customers with the most reward points.
+     *
+     * @param month the month key of a monthly leaderboard, or null for all-time points
+     * @param limit the maximum number of customers
+     * @return the leading customers in rank order, empty if nobody has transactions in the month
+     * @throws InvalidPageRequestException if the limit is out of range
+     */
+    @Override
+    public List<LeaderboardEntry> getTopCustomers(Integer month, int limit) {
+        if (limit < 1 || limit > Constants.MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException(Constants.INVALID_PAGE_SIZE);
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            RankedBoard board = month == null ? boards.overall : boards.monthly.get(month);
+            if (board != null) {
+                board.top(limit, (rank, customerId, points) -> entries.add(new LeaderboardEntry(rank, customerId, points)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entries;
+    }
+
+    /**
+     * Looks up the rank of a customer.
+     *
+     * @param customerId the ID of the customer
+     * @param month      the month key of a monthly leaderboard, or null for all-time points
+     * @return the customer's rank and points
+     * @throws TransactionNotFoundException if the customer has no transactions, in the month if given
+     */
+    @Override
+    public LeaderboardEntry getCustomerRank(Long customerId, Integer month) {
+        lock.readLock().lock();
+        try {
+            Standing standing = boards.standings.get(customerId);
+            if (standing != null && month == null && standing.ranked) {
+                return new LeaderboardEntry(boards.overall.rank(customerId, standing.totalPoints), customerId, standing.totalPoints);
+            }
+            int index = standing == null || month == null ? -1 : Arrays.binarySearch(standing.months, month);
+            if (index < 0) {
+                throw new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId);
+            }
+            int points = standing.monthPoints[index];
+            return new LeaderboardEntry(boards.monthly.get(month).rank(customerId, points), customerId, points);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the current ledger and rollup of some customers and replaces their standings on every board.
+     *
+     * @param customerIds the IDs of the customers whose rewards changed
+     */
+    @Override
+    public void refreshCustomers(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (refreshedDuringReload != null) {
+                refreshedDuringReload.addAll(customerIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        StandingReader reader = new StandingReader();
+        jdbcTemplate.query(SELECT_CUSTOMER_STANDINGS, Map.of("customerIds", customerIds), reader);
+        Map<Long, Standing> standings = reader.standings();
+        lock.writeLock().lock();
+        try {
+            for (Long customerId : customerIds) {
+                boards.replace(customerId, standings.get(customerId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads all boards from the ledger and monthly rollup. Reads keep using the previous boards until the
+     * new ones are swapped in, customers refreshed during the load are read again afterwards.
+     *
+     * @return the number of customers on the all-time leaderboard
+     */
+    @Override
+    public int reload() {
+        synchronized (reloadLock) {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                refreshedDuringReload = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            StandingReader reader = new StandingReader();
+            jdbcTemplate.query(SELECT_ALL_STANDINGS, reader);
+            Boards loaded = Boards.build(reader.standings());
+            Set<Long> refreshed;
+            lock.writeLock().lock();
+            try {
+                boards = loaded;
+                refreshed = refreshedDuringReload;
+                refreshedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            refreshCustomers(refreshed);
+            log.info("LeaderboardServiceImpl.reload():: loaded {} customers and {} monthly boards in {} ms",
+                    loaded.overall.size(), loaded.monthly.size(), (System.nanoTime() - start) / 1_000_000);
+            return loaded.overall.size();
+        }
+    }
+
+    // The write has committed, a failure here must not fail it; the standing is corrected by the next write or reload
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRewardLedgerChanged(RewardLedgerChangedEvent event) {
+        try {
+            refreshCustomers(event.customerIds());
+        } catch (RuntimeException e) {
+            log.error("LeaderboardServiceImpl.onRewardLedgerChanged():: failed to refresh customers {}", event.customerIds(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRewardLedgerRebuilt(RewardLedgerRebuiltEvent event) {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("LeaderboardServiceImpl.onRewardLedgerRebuilt():: failed to reload the leaderboards", e);
+        }
+    }
+
+    /**
+     * A customer's all-time points and the points of each active month, in month order, at a ledger version.
+     */
+    private record Standing(long version, int totalPoints, boolean ranked, int[] months, int[] monthPoints) {
+    }
+
+    /**
+     * Groups the rows of the standing queries, ordered by customer and month, into one standing per customer.
+     */
+    private static final class StandingReader implements RowCallbackHandler {
+
+        private final Map<Long, Standing> read = new HashMap<>();
+        private long customerId = -1;
+        private long version;
+        private int totalPoints;
+        private boolean ranked;
+        private int[] months = new int[16];
+        private int[] monthPoints = new int[16];
+        private int monthCount;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowCustomerId = rs.getLong(1);
+            if (rowCustomerId != customerId) {
+                finishCustomer();
+                customerId = rowCustomerId;
+                totalPoints = rs.getInt(2);
+                ranked = rs.getInt(3) > 0;
+                version = rs.getLong(4);
+                monthCount = 0;
+            }
+            int month = rs.getInt(5);
+            if (!rs.wasNull()) {
+                if (monthCount == months.length) {
+                    months = Arrays.copyOf(months, monthCount * 2);
+                    monthPoints = Arrays.copyOf(monthPoints, monthCount * 2);
+                }
+                months[monthCount] = month;
+                monthPoints[monthCount] = rs.getInt(6);
+                monthCount++;
+            }
+        }
+
+        private void finishCustomer() {
+            if (customerId >= 0) {
+                read.put(customerId, new Standing(version, totalPoints, ranked,
+                        Arrays.copyOf(months, monthCount), Arrays.copyOf(monthPoints, monthCount)));
+            }
+        }
+
+        Map<Long, Standing> standings() {
+            finishCustomer();
+            customerId = -1;
+            return read;
+        }
+    }
+
+    /**
+     * The all-time board, one board per month and the standing each customer is ranked with.
+     */
+    private static final class Boards {
+
+        private final SplittableRandom random = new SplittableRandom();
+        private final Map<Long, Standing> standings;
+        private final Map<Integer, RankedBoard> monthly = new HashMap<>();
+        private RankedBoard overall = new RankedBoard(random);
+
+        Boards(Map<Long, Standing> standings) {
+            this.standings = standings;
+        }
+
+        static Boards build(Map<Long, Standing> standings) {
+            Boards boards = new Boards(standings);
+            List<Map.Entry<Long, Standing>> ranked = new ArrayList<>(standings.size());
+            Map<Integer, List<long[]>> monthEntries = new HashMap<>();
+            for (Map.Entry<Long, Standing> entry : standings.entrySet()) {
+                Standing standing = entry.getValue();
+                if (standing.ranked) {
+                    ranked.add(entry);
+                }
+                for (int i = 0; i < standing.months.length; i++) {
+                    monthEntries.computeIfAbsent(standing.months[i], month -> new ArrayList<>())
+                            .add(new long[]{entry.getKey(), standing.monthPoints[i]});
+                }
+            }
+            ranked.sort((a, b) -> RankedBoard.compare(a.getKey(), a.getValue().totalPoints, b.getKey(), b.getValue().totalPoints));
+            long[] customerIds = new long[ranked.size()];
+            int[] points = new int[ranked.size()];
+            for (int i = 0; i < customerIds.length; i++) {
+                customerIds[i] = ranked.get(i).getKey();
+                points[i] = ranked.get(i).getValue().totalPoints;
+            }
+            boards.overall = RankedBoard.build(customerIds, points, customerIds.length, boards.random);
+            Comparator<long[]> monthOrder = (a, b) -> RankedBoard.compare(a[0], (int) a[1], b[0], (int) b[1]);
+            monthEntries.forEach((month, entries) -> {
+                entries.sort(monthOrder);
+                long[] monthCustomerIds = new long[entries.size()];
+                int[] monthPoints = new int[entries.size()];
+                for (int i = 0; i < monthCustomerIds.length; i++) {
+                    monthCustomerIds[i] = entries.get(i)[0];
+                    monthPoints[i] = (int) entries.get(i)[1];
+                }
+                boards.monthly.put(month, RankedBoard.build(monthCustomerIds, monthPoints, monthCustomerIds.length, boards.random));
+            });
+            return boards;
+        }
+
+        /**
+         * Replaces a customer's standing unless the current one is at least as recent.
+         * Only months whose points changed are moved on their boards.
+         */
+        void replace(Long customerId, Standing updated) {
+            Standing current = standings.get(customerId);
+            if (current != null && updated != null && current.version >= updated.version) {
+                return;
+            }
+            if (current != null && current.ranked) {
+                overall.remove(customerId, current.totalPoints);
+            }
+            if (updated != null && updated.ranked) {
+                overall.insert(customerId, updated.totalPoints);
+            }
+            int[] currentMonths = current == null ? new int[0] : current.months;
+            int[] updatedMonths = updated == null ? new int[0] : updated.months;
+            int i = 0;
+            int j = 0;
+            while (i < currentMonths.length || j < updatedMonths.length) {
+                int currentMonth = i < currentMonths.length ? currentMonths[i] : Integer.MAX_VALUE;
+                int updatedMonth = j < updatedMonths.length ? updatedMonths[j] : Integer.MAX_VALUE;
+                if (currentMonth == updatedMonth && current.monthPoints[i] == updated.monthPoints[j]) {
+                    i++;
+                    j++;
+                    continue;
+                }
+                if (currentMonth <= updatedMonth) {
+                    RankedBoard board = monthly.get(currentMonth);
+                    board.remove(customerId, current.monthPoints[i]);
+                    if (board.size() == 0) {
+                        monthly.remove(currentMonth);
+                    }
+                    i++;
+                }
+                if (updatedMonth <= currentMonth) {
+                    monthly.computeIfAbsent(updatedMonth, month -> new RankedBoard(random)).insert(customerId, updated.monthPoints[j]);
+                    j++;
+                }
+            }
+            if (updated == null) {
+                standings.remove(customerId);
+            } else {
+                standings.put(customerId, updated);
+            }
+        }
+    }
+}
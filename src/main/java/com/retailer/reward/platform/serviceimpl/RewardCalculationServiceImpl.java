@@ -1,34 +1,42 @@
 package com.retailer.reward.platform.serviceimpl;
 
+import com.retailer.reward.platform.dto.MonthlyRewards;
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.InvalidTransactionAmountException;
 import com.retailer.reward.platform.exception.InvalidTransactionException;
 import com.retailer.reward.platform.exception.RewardNotFoundException;
 import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.repository.MonthlyRewardView;
 import com.retailer.reward.platform.repository.TransactionRepository;
 import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardRuleService;
 import com.retailer.reward.platform.util.Constants;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for calculating rewards based on transactions.
  * Provides methods to calculate rewards for individual transactions,
  * monthly rewards, and total rewards for a customer.
+ * Customer-level calculations are timed as reward.calculation, tagged with the method;
+ * the per-transaction getRewardPoints() runs inside batch and ledger loops and is covered by their callers.
  */
 @Service
 @Slf4j
 @AllArgsConstructor
 public class RewardCalculationServiceImpl implements RewardCalculationService {
 
+    private static final String REWARD_CALCULATION_TIMER = "reward.calculation";
+
     private final TransactionRepository transactionRepository;
+    private final RewardRuleService rewardRuleService;
 
     /**
      * Calculates reward points for a given transaction.
@@ -38,45 +46,56 @@ public class RewardCalculationServiceImpl implements RewardCalculationService {
      * @throws InvalidTransactionAmountException if the transaction amount is zero or negative
      */
     @Override
+    @Timed(value = REWARD_CALCULATION_TIMER, histogram = true)
     public int getCustomerTransactionRewards(Transaction transaction) {
-        int amount = (int) transaction.getAmount();
-        int points = 0;
+        return getRewardPoints(transaction.getAmount(), transaction.getTransactionMonth());
+    }
 
-        // If amount is zero or negative, return 0 points
+    /**
+     * Calculates reward points for a transaction amount made in the given month, using the active reward rules.
+     *
+     * @param transactionAmount the amount spent in the transaction
+     * @param month             the month key of the transaction, used for promotional multipliers
+     * @return the calculated reward points
+     * @throws InvalidTransactionAmountException if the amount is zero or negative
+     */
+    @Override
+    public int getRewardPoints(double transactionAmount, int month) {
+        int amount = (int) transactionAmount;
+
+        // If amount is zero or negative, there is nothing to reward
         if (amount <= 0) {
             throw new InvalidTransactionAmountException(Constants.INVALID_AMOUNT);
         }
-
-        // Reward 2 points for each dollar spent over $100
-        if (amount > 100) {
-            points += (amount - 100) * 2;
-        }
-
-        // Reward 1 point for each dollar spent over $50, up to $50
-        if (amount > 50) {
-            points += Math.min(50, amount - 50);
-        }
-        return points;
+        return rewardRuleService.getEvaluator().points(amount, month);
     }
 
     /**
      * Calculates the monthly reward points for a list of transactions.
+     * The first pass finds the month range, the second sums points into an array slot per month,
+     * so nothing is allocated per transaction.
      *
      * @param transactions the list of transactions
-     * @return a map where the keys are month names and the values are the total reward points for each month
+     * @return the reward points of each month with transactions, ordered by month
      * @throws TransactionNotFoundException if the list of transactions is null or empty
      */
     @Override
-    public Map<String, Integer> getCustomerMonthlyRewards(List<Transaction> transactions) {
+    @Timed(value = REWARD_CALCULATION_TIMER, histogram = true)
+    public MonthlyRewards getCustomerMonthlyRewards(List<Transaction> transactions) {
         if (transactions == null || transactions.isEmpty()) {
             throw new TransactionNotFoundException(Constants.TRANSACTIONS_NOT_FOUND);
         }
-        Map<String, Integer> monthlyRewards = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getTransactionMonth,
-                        Collectors.summingInt(this::getCustomerTransactionRewards)
-                ));
-        return monthlyRewards;
+        int firstMonth = Integer.MAX_VALUE;
+        int lastMonth = Integer.MIN_VALUE;
+        for (Transaction transaction : transactions) {
+            firstMonth = Math.min(firstMonth, transaction.getTransactionMonth());
+            lastMonth = Math.max(lastMonth, transaction.getTransactionMonth());
+        }
+        MonthlyRewards.Accumulator accumulator = new MonthlyRewards.Accumulator(firstMonth, lastMonth);
+        for (Transaction transaction : transactions) {
+            accumulator.add(transaction.getTransactionMonth(), getCustomerTransactionRewards(transaction));
+        }
+        return accumulator.toMonthlyRewards();
     }
 
     /**
@@ -88,6 +107,7 @@ public class RewardCalculationServiceImpl implements RewardCalculationService {
      * @throws RewardNotFoundException      if the calculated total rewards are zero or negative
      */
     @Override
+    @Timed(value = REWARD_CALCULATION_TIMER, histogram = true)
     public int getCustomerTotalRewards(List<Transaction> transactions) {
         if (transactions == null || transactions.isEmpty()) {
             throw new TransactionNotFoundException(Constants.TRANSACTIONS_NOT_FOUND);
@@ -101,4 +121,52 @@ public class RewardCalculationServiceImpl implements RewardCalculationService {
         return totalRewards;
     }
 
+    /**
+     * Calculates the monthly reward points of a customer in the database,
+     * without loading the customer's transactions.
+     *
+     * @param customerId the ID of the customer
+     * @return the reward points of each month with transactions, ordered by month
+     * @throws TransactionNotFoundException if the customer has no transactions
+     */
+    @Override
+    @Timed(value = REWARD_CALCULATION_TIMER, histogram = true)
+    @Transactional(readOnly = true)
+    public MonthlyRewards getCustomerMonthlyRewards(Long customerId) {
+        List<MonthlyRewardView> monthlyRewardViews = transactionRepository.findMonthlyRewardsByCustomerId(customerId);
+        if (monthlyRewardViews.isEmpty()) {
+            throw new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId);
+        }
+        int[] months = new int[monthlyRewardViews.size()];
+        int[] points = new int[monthlyRewardViews.size()];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = monthlyRewardViews.get(i).getMonth();
+            points[i] = monthlyRewardViews.get(i).getPoints().intValue();
+        }
+        return new MonthlyRewards(months, points);
+    }
+
+    /**
+     * Calculates the total reward points of a customer in the database,
+     * without loading the customer's transactions.
+     *
+     * @param customerId the ID of the customer
+     * @return the total reward points
+     * @throws TransactionNotFoundException if the customer has no transactions
+     * @throws RewardNotFoundException      if the calculated total rewards are zero or negative
+     */
+    @Override
+    @Timed(value = REWARD_CALCULATION_TIMER, histogram = true)
+    @Transactional(readOnly = true)
+    public int getCustomerTotalRewards(Long customerId) {
+        Long totalRewards = transactionRepository.sumRewardPointsByCustomerId(customerId);
+        if (totalRewards == null) {
+            throw new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId);
+        }
+        if (totalRewards <= 0) {
+            throw new RewardNotFoundException(Constants.REWARDS_NOT_FOUND);
+        }
+        return totalRewards.intValue();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,365 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.dto.RewardLedgerChangedEvent;
+import com.retailer.reward.platform.dto.RewardLedgerRebuiltEvent;
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import com.retailer.reward.platform.entity.CustomerMonthRewardId;
+import com.retailer.reward.platform.entity.CustomerRewardLedger;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.entity.TransactionEvent;
+import com.retailer.reward.platform.exception.RewardNotFoundException;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.repository.CustomerMonthRewardRepository;
+import com.retailer.reward.platform.repository.CustomerMonthlyRewardView;
+import com.retailer.reward.platform.repository.CustomerRewardLedgerRepository;
+import com.retailer.reward.platform.repository.TransactionEventRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.util.Constants;
+import com.retailer.reward.platform.util.RewardMetrics;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Service implementation for maintaining the per-customer reward ledger and monthly rollup.
+ * Transaction writes apply their point delta to the ledger inside the caller's
+ * database transaction, so the total rewards of a customer can be served from a single row
+ * and the monthly rewards from one row per active month.
+ * Each ledger write bumps the customer's reward version, which identifies the state of both.
+ * Every write first appends its transaction events to the event log, which also holds the log head
+ * until commit, so ledger writes are applied in event sequence order.
+ */
+@Service
+@Slf4j
+@AllArgsConstructor
+public class RewardLedgerServiceImpl implements RewardLedgerService {
+
+    private final CustomerRewardLedgerRepository ledgerRepository;
+    private final CustomerMonthRewardRepository monthRewardRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionEventRepository transactionEventRepository;
+    private final RewardCalculationService rewardCalculationService;
+    private final RewardMetrics rewardMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Adds the reward points of a newly created transaction to the customer's ledger and monthly rollup.
+     *
+     * @param transaction the created transaction
+     */
+    @Override
+    @Transactional
+    public void recordTransactionCreated(Transaction transaction) {
+        transactionEventRepository.append(List.of(TransactionEvent.created(transaction)));
+        Long customerId = transaction.getCustomer().getCustomerId();
+        int points = rewardCalculationService.getRewardPoints(transaction.getAmount(), transaction.getTransactionMonth());
+        applyDelta(customerId, points, 1);
+        applyMonthDelta(customerId, transaction.getTransactionMonth(), points, transaction.getAmount(), 1);
+    }
+
+    /**
+     * Adds the reward points of many newly created transactions to the ledger and monthly rollup.
+     * Deltas are summed per customer and per customer month first, then written with one batched
+     * upsert per table, in customer order to keep a consistent lock order between concurrent batches.
+     *
+     * @param transactions the created transactions
+     */
+    @Override
+    @Transactional
+    public void recordTransactionsCreated(List<Transaction> transactions) {
+        List<TransactionEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            events.add(TransactionEvent.created(transaction));
+        }
+        transactionEventRepository.append(events);
+        Map<Long, CustomerRewardLedger> ledgerDeltas = new TreeMap<>();
+        Map<CustomerMonthRewardId, CustomerMonthReward> monthDeltas =
+                new TreeMap<>(Comparator.comparing(CustomerMonthRewardId::getCustomerId).thenComparingInt(CustomerMonthRewardId::getMonth));
+        for (Transaction transaction : transactions) {
+            Long customerId = transaction.getCustomer().getCustomerId();
+            int month = transaction.getTransactionMonth();
+            int points = rewardCalculationService.getRewardPoints(transaction.getAmount(), month);
+            CustomerRewardLedger ledgerDelta = ledgerDeltas.computeIfAbsent(customerId, id -> new CustomerRewardLedger(id, 0, 0, 0));
+            ledgerDelta.setTotalPoints(ledgerDelta.getTotalPoints() + points);
+            ledgerDelta.setTransactionCount(ledgerDelta.getTransactionCount() + 1);
+            CustomerMonthReward monthDelta = monthDeltas.computeIfAbsent(new CustomerMonthRewardId(customerId, month),
+                    id -> new CustomerMonthReward(customerId, month, 0, 0, 0));
+            monthDelta.setPoints(monthDelta.getPoints() + points);
+            monthDelta.setSpend(monthDelta.getSpend() + transaction.getAmount());
+            monthDelta.setTransactionCount(monthDelta.getTransactionCount() + 1);
+        }
+        ledgerRepository.addDeltas(List.copyOf(ledgerDeltas.values()));
+        monthRewardRepository.addDeltas(List.copyOf(monthDeltas.values()));
+        eventPublisher.publishEvent(new RewardLedgerChangedEvent(Set.copyOf(ledgerDeltas.keySet())));
+        log.info("RewardLedgerServiceImpl.recordTransactionsCreated():: applied {} transactions to {} customers",
+                transactions.size(), ledgerDeltas.size());
+    }
+
+    /**
+     * Applies the point difference between the previous and the updated amount of a transaction.
+     * When the month changed, the transaction is moved from the previous month's rollup to the new one.
+     *
+     * @param previousTransaction the transaction state before the update
+     * @param updatedTransaction  the transaction state after the update
+     */
+    @Override
+    @Transactional
+    public void recordTransactionUpdated(Transaction previousTransaction, Transaction updatedTransaction) {
+        transactionEventRepository.append(List.of(TransactionEvent.updated(previousTransaction, updatedTransaction)));
+        Long customerId = updatedTransaction.getCustomer().getCustomerId();
+        int previousPoints = rewardCalculationService.getRewardPoints(previousTransaction.getAmount(), previousTransaction.getTransactionMonth());
+        int updatedPoints = rewardCalculationService.getRewardPoints(updatedTransaction.getAmount(), updatedTransaction.getTransactionMonth());
+        applyDelta(customerId, updatedPoints - previousPoints, 0);
+        if (previousTransaction.getTransactionMonth() == updatedTransaction.getTransactionMonth()) {
+            applyMonthDelta(customerId, updatedTransaction.getTransactionMonth(), updatedPoints - previousPoints,
+                    updatedTransaction.getAmount() - previousTransaction.getAmount(), 0);
+        } else {
+            applyMonthDelta(customerId, previousTransaction.getTransactionMonth(), -previousPoints, -previousTransaction.getAmount(), -1);
+            applyMonthDelta(customerId, updatedTransaction.getTransactionMonth(), updatedPoints, updatedTransaction.getAmount(), 1);
+        }
+    }
+
+    /**
+     * Removes the reward points of a deleted transaction from the customer's ledger and monthly rollup.
+     *
+     * @param transaction the deleted transaction
+     */
+    @Override
+    @Transactional
+    public void recordTransactionDeleted(Transaction transaction) {
+        transactionEventRepository.append(List.of(TransactionEvent.deleted(transaction)));
+        Long customerId = transaction.getCustomer().getCustomerId();
+        int points = rewardCalculationService.getRewardPoints(transaction.getAmount(), transaction.getTransactionMonth());
+        applyDelta(customerId, -points, -1);
+        applyMonthDelta(customerId, transaction.getTransactionMonth(), -points, -transaction.getAmount(), -1);
+    }
+
+    /**
+     * Reads the reward version of a customer, which changes whenever the customer's rewards may have changed.
+     *
+     * @param customerId the ID of the customer
+     * @return the current reward version
+     * @throws TransactionNotFoundException if the customer never had transactions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getCustomerRewardsVersion(Long customerId) {
+        return ledgerRepository.findVersionByCustomerId(customerId)
+                .orElseThrow(() -> new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId));
+    }
+
+    /**
+     * Reads the reward versions of many customers with one query.
+     *
+     * @param customerIds the IDs of the customers
+     * @return the current reward version of every customer with a ledger entry
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getCustomerRewardsVersions(Collection<Long> customerIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (CustomerRewardLedger ledger : ledgerRepository.findAllById(customerIds)) {
+            versions.put(ledger.getCustomerId(), ledger.getVersion());
+        }
+        return versions;
+    }
+
+    /**
+     * Reads the total reward points of a customer from the ledger.
+     *
+     * @param customerId the ID of the customer
+     * @return the total reward points
+     * @throws TransactionNotFoundException if the customer has no transactions
+     * @throws RewardNotFoundException      if the customer has no reward points
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int getCustomerTotalRewards(Long customerId) {
+        CustomerRewardLedger ledger = ledgerRepository.findById(customerId)
+                .filter(entry -> entry.getTransactionCount() > 0)
+                .orElseThrow(() -> new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId));
+        if (ledger.getTotalPoints() <= 0) {
+            throw new RewardNotFoundException(Constants.REWARDS_NOT_FOUND);
+        }
+        rewardMetrics.recordTransactions("total", ledger.getTransactionCount());
+        return ledger.getTotalPoints();
+    }
+
+    /**
+     * Reads the monthly reward points of a customer from the monthly rollup.
+     *
+     * @param customerId the ID of the customer
+     * @return the reward points of each month with transactions, ordered by month
+     * @throws TransactionNotFoundException if the customer has no transactions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MonthlyRewards getCustomerMonthlyRewards(Long customerId) {
+        List<CustomerMonthReward> monthRewards =
+                monthRewardRepository.findAllByCustomerIdAndTransactionCountGreaterThanOrderByMonth(customerId, 0);
+        if (monthRewards.isEmpty()) {
+            throw new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId);
+        }
+        int[] months = new int[monthRewards.size()];
+        int[] points = new int[monthRewards.size()];
+        long transactions = 0;
+        for (int i = 0; i < months.length; i++) {
+            months[i] = monthRewards.get(i).getMonth();
+            points[i] = monthRewards.get(i).getPoints();
+            transactions += monthRewards.get(i).getTransactionCount();
+        }
+        rewardMetrics.recordTransactions("monthly", transactions);
+        return new MonthlyRewards(months, points);
+    }
+
+    /**
+     * Reads the monthly reward points of many customers from the monthly rollup with one query.
+     *
+     * @param customerIds the IDs of the customers
+     * @return the reward points of each month with transactions per customer, empty for customers without transactions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, MonthlyRewards> getCustomersMonthlyRewards(Collection<Long> customerIds) {
+        Map<Long, MonthlyRewards> monthlyRewards = new HashMap<>();
+        List<CustomerMonthReward> monthRewards = monthRewardRepository
+                .findAllByCustomerIdInAndTransactionCountGreaterThanOrderByCustomerIdAscMonthAsc(customerIds, 0);
+        int start = 0;
+        while (start < monthRewards.size()) {
+            Long customerId = monthRewards.get(start).getCustomerId();
+            int end = start;
+            while (end < monthRewards.size() && monthRewards.get(end).getCustomerId().equals(customerId)) {
+                end++;
+            }
+            int[] months = new int[end - start];
+            int[] points = new int[end - start];
+            for (int i = start; i < end; i++) {
+                months[i - start] = monthRewards.get(i).getMonth();
+                points[i - start] = monthRewards.get(i).getPoints();
+            }
+            monthlyRewards.put(customerId, new MonthlyRewards(months, points));
+            start = end;
+        }
+        for (Long customerId : customerIds) {
+            monthlyRewards.putIfAbsent(customerId, MonthlyRewards.EMPTY);
+        }
+        return monthlyRewards;
+    }
+
+    /**
+     * Recomputes the whole ledger and monthly rollup from reward aggregates computed by the database.
+     * The event log head is locked first, so no transaction write can change the ledger until the rebuilt
+     * one is committed.
+     *
+     * @return the number of customers with transactions in the rebuilt ledger
+     */
+    @Override
+    @Transactional
+    public int rebuildLedger() {
+        transactionEventRepository.lockHead();
+        List<CustomerMonthReward> monthRewards = new ArrayList<>();
+        for (CustomerMonthlyRewardView view : transactionRepository.findAllCustomerMonthlyRewards()) {
+            monthRewards.add(new CustomerMonthReward(view.getCustomerId(), view.getMonth(), view.getPoints().intValue(),
+                    view.getSpend(), view.getTransactionCount().intValue()));
+        }
+        return restoreLedger(monthRewards);
+    }
+
+    /**
+     * Replaces the whole ledger and monthly rollup with the given monthly rollup rows.
+     * Existing ledger rows are kept and their versions bumped, so a version never identifies two
+     * different states, customers without transactions left are reset to zero.
+     * Callers must hold the event log head, so no transaction write interleaves with the replacement.
+     *
+     * @param monthRewards the monthly rollup rows of every customer
+     * @return the number of customers with transactions in the restored ledger
+     */
+    @Override
+    @Transactional
+    public int restoreLedger(Collection<CustomerMonthReward> monthRewards) {
+        Map<Long, CustomerRewardLedger> ledgers = new HashMap<>();
+        for (CustomerRewardLedger ledger : ledgerRepository.findAll()) {
+            ledger.setTotalPoints(0);
+            ledger.setTransactionCount(0);
+            ledgers.put(ledger.getCustomerId(), ledger);
+        }
+        for (CustomerMonthReward monthReward : monthRewards) {
+            CustomerRewardLedger ledger = ledgers.computeIfAbsent(monthReward.getCustomerId(), id -> new CustomerRewardLedger(id, 0, 0, 0));
+            ledger.setTotalPoints(ledger.getTotalPoints() + monthReward.getPoints());
+            ledger.setTransactionCount(ledger.getTransactionCount() + monthReward.getTransactionCount());
+        }
+        int customers = 0;
+        for (CustomerRewardLedger ledger : ledgers.values()) {
+            ledger.setVersion(ledger.getVersion() + 1);
+            if (ledger.getTransactionCount() > 0) {
+                customers++;
+            }
+        }
+        monthRewardRepository.deleteAllInBatch();
+        ledgerRepository.saveAll(ledgers.values());
+        // The rollup was just emptied, the batched upsert inserts every row without a merge select per row
+        monthRewardRepository.addDeltas(List.copyOf(monthRewards));
+        eventPublisher.publishEvent(new RewardLedgerRebuiltEvent(customers));
+        log.info("RewardLedgerServiceImpl.restoreLedger():: restored ledger for {} customers", customers);
+        return customers;
+    }
+
+    /**
+     * Replaces the ledger and monthly rollup of a range of customers with the given monthly rollup rows.
+     * Ledger rows in the range are reset to zero and their versions bumped before the rows are added,
+     * so customers without transactions left keep a zero entry, as after a full restore.
+     * Callers must hold the event log head, so no transaction write interleaves with the replacement.
+     *
+     * @param firstCustomerId the first customer ID of the range
+     * @param lastCustomerId  the last customer ID of the range, inclusive
+     * @param monthRewards    the monthly rollup rows of the customers in the range
+     * @return the number of customers with transactions in the range
+     */
+    @Override
+    @Transactional
+    public int restoreCustomerRange(long firstCustomerId, long lastCustomerId, Collection<CustomerMonthReward> monthRewards) {
+        Set<Long> changed = new HashSet<>(ledgerRepository.findCustomerIdsBetween(firstCustomerId, lastCustomerId));
+        ledgerRepository.resetTotalsBetween(firstCustomerId, lastCustomerId);
+        monthRewardRepository.deleteAllByCustomerIdBetween(firstCustomerId, lastCustomerId);
+        Map<Long, CustomerRewardLedger> ledgers = new TreeMap<>();
+        for (CustomerMonthReward monthReward : monthRewards) {
+            CustomerRewardLedger ledger = ledgers.computeIfAbsent(monthReward.getCustomerId(), id -> new CustomerRewardLedger(id, 0, 0, 0));
+            ledger.setTotalPoints(ledger.getTotalPoints() + monthReward.getPoints());
+            ledger.setTransactionCount(ledger.getTransactionCount() + monthReward.getTransactionCount());
+        }
+        ledgerRepository.addDeltas(List.copyOf(ledgers.values()));
+        monthRewardRepository.addDeltas(List.copyOf(monthRewards));
+        changed.addAll(ledgers.keySet());
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new RewardLedgerChangedEvent(changed));
+        }
+        log.info("RewardLedgerServiceImpl.restoreCustomerRange():: restored ledger for {} customers between {} and {}",
+                ledgers.size(), firstCustomerId, lastCustomerId);
+        return ledgers.size();
+    }
+
+    private void applyDelta(Long customerId, int points, int count) {
+        ledgerRepository.addTotals(customerId, points, count);
+        eventPublisher.publishEvent(new RewardLedgerChangedEvent(Set.of(customerId)));
+        log.info("RewardLedgerServiceImpl.applyDelta():: customer {} points delta {} count delta {}", customerId, points, count);
+    }
+
+    private void applyMonthDelta(Long customerId, int month, int points, double spend, int count) {
+        monthRewardRepository.addTotals(customerId, month, points, spend, count);
+    }
+}
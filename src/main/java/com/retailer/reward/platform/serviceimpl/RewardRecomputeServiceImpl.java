@@ -0,0 +1,349 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import com.retailer.reward.platform.entity.CustomerMonthRewardId;
+import com.retailer.reward.platform.entity.RecomputeJob;
+import com.retailer.reward.platform.entity.RecomputeRange;
+import com.retailer.reward.platform.entity.RewardSnapshot;
+import com.retailer.reward.platform.entity.TransactionEvent;
+import com.retailer.reward.platform.exception.InvalidRecomputeJobException;
+import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.RecomputeJobRepository;
+import com.retailer.reward.platform.repository.RecomputeRangeRepository;
+import com.retailer.reward.platform.repository.RewardSnapshotRepository;
+import com.retailer.reward.platform.repository.TransactionEventRepository;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.service.RewardRecomputeService;
+import com.retailer.reward.platform.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service implementation of the reward recomputation job, which recomputes the ledger and monthly rollup of every
+ * customer from the transaction table with the current reward rules, without blocking transaction writes for
+ * the whole run as a ledger rebuild does.
+ * The customer ID space is split into ranges of equal customer counts, recomputed in parallel by a fixed number
+ * of workers. A worker reads the transactions of its range together with the event log head, without locks, then
+ * locks the head only to fold in the events appended since and replace the range's ledger rows. The range is
+ * marked completed in that same database transaction, so a job interrupted by a failure or a restart resumes
+ * with the ranges not yet completed.
+ * Reward snapshots fold events onto the rewards being corrected, so they are discarded when a job starts and
+ * completes; the next snapshot or restore aggregates a new baseline from the transaction table.
+ */
+@Service
+@Slf4j
+public class RewardRecomputeServiceImpl implements RewardRecomputeService {
+
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final RecomputeJobRepository recomputeJobRepository;
+    private final RecomputeRangeRepository recomputeRangeRepository;
+    private final CustomerRepository customerRepository;
+    private final TransactionEventRepository transactionEventRepository;
+    private final RewardSnapshotRepository rewardSnapshotRepository;
+    private final RewardCalculationService rewardCalculationService;
+    private final RewardLedgerService rewardLedgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService rewardRecomputeExecutor;
+    private final int defaultRangeSize;
+    private final int maxAttempts;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public RewardRecomputeServiceImpl(RecomputeJobRepository recomputeJobRepository, RecomputeRangeRepository recomputeRangeRepository,
+                                      CustomerRepository customerRepository, TransactionEventRepository transactionEventRepository,
+                                      RewardSnapshotRepository rewardSnapshotRepository, RewardCalculationService rewardCalculationService,
+                                      RewardLedgerService rewardLedgerService, PlatformTransactionManager transactionManager,
+                                      ExecutorService rewardRecomputeExecutor,
+                                      @Value("${reward.recompute.range-size:1000}") int defaultRangeSize,
+                                      @Value("${reward.recompute.max-attempts:3}") int maxAttempts) {
+        this.recomputeJobRepository = recomputeJobRepository;
+        this.recomputeRangeRepository = recomputeRangeRepository;
+        this.customerRepository = customerRepository;
+        this.transactionEventRepository = transactionEventRepository;
+        this.rewardSnapshotRepository = rewardSnapshotRepository;
+        this.rewardCalculationService = rewardCalculationService;
+        this.rewardLedgerService = rewardLedgerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rewardRecomputeExecutor = rewardRecomputeExecutor;
+        this.defaultRangeSize = defaultRangeSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Splits the customers into ranges and starts recomputing them in the background.
+     *
+     * @param rangeSize the number of customers per range, or null for the configured default
+     * @return the started job, follow its progress with {@link #getRecomputeJob(Long)}
+     * @throws InvalidRecomputeJobException if the range size is invalid or a job is already running
+     */
+    @Override
+    public synchronized RecomputeJob startRecompute(Integer rangeSize) {
+        if (rangeSize != null && (rangeSize < 1 || rangeSize > Constants.MAX_RECOMPUTE_RANGE_SIZE)) {
+            throw new InvalidRecomputeJobException(Constants.INVALID_RECOMPUTE_RANGE_SIZE);
+        }
+        checkNoJobRunning();
+        int size = rangeSize != null ? rangeSize : defaultRangeSize;
+        RecomputeJob job = transactionTemplate.execute(status -> createJob(size));
+        log.info("RewardRecomputeServiceImpl.startRecompute():: job {} split customers into {} ranges of {}",
+                job.getJobId(), job.getTotalRanges(), size);
+        return launch(job);
+    }
+
+    /**
+     * Resumes a failed or interrupted job with the ranges it has not completed.
+     *
+     * @param jobId the ID of the job
+     * @return the resumed job
+     * @throws ResourceNotFoundException    if the job does not exist
+     * @throws InvalidRecomputeJobException if the job is completed or a job is already running
+     */
+    @Override
+    public synchronized RecomputeJob resumeRecompute(Long jobId) {
+        RecomputeJob job = getRecomputeJob(jobId);
+        if (job.getStatus() == RecomputeJob.Status.COMPLETED) {
+            throw new InvalidRecomputeJobException(Constants.RECOMPUTE_JOB_COMPLETED + jobId);
+        }
+        checkNoJobRunning();
+        job.setStatus(RecomputeJob.Status.RUNNING);
+        job.setLastError(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        log.info("RewardRecomputeServiceImpl.resumeRecompute():: resuming job {} after {} of {} ranges",
+                jobId, job.getCompletedRanges(), job.getTotalRanges());
+        return launch(recomputeJobRepository.save(job));
+    }
+
+    /**
+     * Retrieves a job, e.g. to follow the progress of a running recomputation.
+     *
+     * @param jobId the ID of the job
+     * @return the job with its completed ranges, counts, throughput and estimated completion
+     * @throws ResourceNotFoundException if the job does not exist
+     */
+    @Override
+    public RecomputeJob getRecomputeJob(Long jobId) {
+        return recomputeJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.RECOMPUTE_JOB_NOT_FOUND + jobId));
+    }
+
+    /**
+     * Resumes the job left running by a previous process, e.g. after a crash. Called once on startup.
+     * Jobs run one at a time, any other job left running is marked as failed and can be resumed later.
+     *
+     * @return the number of jobs resumed
+     */
+    @Override
+    public synchronized int resumeInterruptedJobs() {
+        int resumed = 0;
+        for (RecomputeJob job : recomputeJobRepository.findAllByStatusOrderByJobId(RecomputeJob.Status.RUNNING)) {
+            if (!runningJobs.isEmpty()) {
+                job.setStatus(RecomputeJob.Status.FAILED);
+                job.setLastError("Interrupted");
+                job.setUpdatedAt(LocalDateTime.now());
+                recomputeJobRepository.save(job);
+                continue;
+            }
+            log.info("RewardRecomputeServiceImpl.resumeInterruptedJobs():: resuming interrupted job {} after {} of {} ranges",
+                    job.getJobId(), job.getCompletedRanges(), job.getTotalRanges());
+            launch(job);
+            resumed++;
+        }
+        return resumed;
+    }
+
+    private void checkNoJobRunning() {
+        runningJobs.stream().findFirst().ifPresent(jobId -> {
+            throw new InvalidRecomputeJobException(Constants.RECOMPUTE_JOB_RUNNING + jobId);
+        });
+    }
+
+    private RecomputeJob createJob(int rangeSize) {
+        discardSnapshots();
+        List<Long> startIds = customerRepository.findRangeStartIds(rangeSize);
+        LocalDateTime now = LocalDateTime.now();
+        RecomputeJob job = recomputeJobRepository.save(new RecomputeJob(null, RecomputeJob.Status.RUNNING, rangeSize, startIds.size(),
+                0, 0, 0, 0, null, null, now, now));
+        List<RecomputeRange> ranges = new ArrayList<>(startIds.size());
+        for (int i = 0; i < startIds.size(); i++) {
+            long lastCustomerId = i + 1 < startIds.size() ? startIds.get(i + 1) - 1 : Long.MAX_VALUE;
+            ranges.add(new RecomputeRange(null, job.getJobId(), startIds.get(i), lastCustomerId, false, 0, 0, null));
+        }
+        recomputeRangeRepository.saveAll(ranges);
+        return job;
+    }
+
+    private RecomputeJob launch(RecomputeJob job) {
+        if (!runningJobs.add(job.getJobId())) {
+            throw new InvalidRecomputeJobException(Constants.RECOMPUTE_JOB_RUNNING + job.getJobId());
+        }
+        List<RecomputeRange> ranges = recomputeRangeRepository.findAllByJobIdAndCompletedFalseOrderByFirstCustomerId(job.getJobId());
+        Run run = new Run(job.getJobId());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(ranges.size());
+        for (RecomputeRange range : ranges) {
+            futures.add(CompletableFuture.runAsync(() -> recomputeRange(run, range), rewardRecomputeExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).whenComplete((ignored, failure) -> finish(run, failure));
+        return job;
+    }
+
+    private void recomputeRange(Run run, RecomputeRange range) {
+        for (int attempt = 1; run.failure == null; attempt++) {
+            try {
+                Map<CustomerMonthRewardId, CustomerMonthReward> state = new HashMap<>();
+                long readSequence = transactionEventRepository.forEachTransactionInCustomerRange(range.getFirstCustomerId(),
+                        range.getLastCustomerId(), event -> fold(state, event));
+                int customers = transactionTemplate.execute(status -> applyRange(run, range, state, readSequence));
+                run.completedRanges.incrementAndGet();
+                run.customers.addAndGet(customers);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    run.failure = e;
+                    throw e;
+                }
+                log.warn("RewardRecomputeServiceImpl.recomputeRange():: job {} range {} attempt {} failed, retrying",
+                        run.jobId, range.getRangeId(), attempt, e);
+            }
+        }
+    }
+
+    // Runs with the log head locked, the ranges of a job are applied one at a time between transaction writes
+    private int applyRange(Run run, RecomputeRange range, Map<CustomerMonthRewardId, CustomerMonthReward> state, long readSequence) {
+        long lastSequence = transactionEventRepository.lockHead();
+        if (lastSequence > readSequence) {
+            transactionEventRepository.forEachEvent(readSequence, lastSequence, event -> {
+                if (event.getCustomerId() >= range.getFirstCustomerId() && event.getCustomerId() <= range.getLastCustomerId()) {
+                    fold(state, event);
+                }
+            });
+        }
+        List<CustomerMonthReward> monthRewards = new ArrayList<>(state.size());
+        long transactions = 0;
+        for (CustomerMonthReward monthReward : state.values()) {
+            if (monthReward.getTransactionCount() > 0) {
+                monthRewards.add(monthReward);
+                transactions += monthReward.getTransactionCount();
+            }
+        }
+        int customers = rewardLedgerService.restoreCustomerRange(range.getFirstCustomerId(), range.getLastCustomerId(), monthRewards);
+
+        LocalDateTime now = LocalDateTime.now();
+        range.setCompleted(true);
+        range.setCustomerCount(customers);
+        range.setTransactionCount(transactions);
+        range.setCompletedAt(now);
+        recomputeRangeRepository.save(range);
+
+        RecomputeJob job = getRecomputeJob(run.jobId);
+        job.setCompletedRanges(job.getCompletedRanges() + 1);
+        job.setCustomerCount(job.getCustomerCount() + customers);
+        job.setTransactionCount(job.getTransactionCount() + transactions);
+        long elapsedNanos = Math.max(System.nanoTime() - run.startNanos, 1);
+        int runRanges = run.completedRanges.get() + 1;
+        job.setCustomersPerSecond((run.customers.get() + customers) * 1_000_000_000.0 / elapsedNanos);
+        long remainingRanges = job.getTotalRanges() - job.getCompletedRanges();
+        job.setEstimatedCompletionAt(now.plusNanos(remainingRanges * (elapsedNanos / runRanges)));
+        job.setUpdatedAt(now);
+        recomputeJobRepository.save(job);
+        return customers;
+    }
+
+    private void fold(Map<CustomerMonthRewardId, CustomerMonthReward> state, TransactionEvent event) {
+        switch (event.getType()) {
+            case CREATED -> apply(state, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), 1);
+            case DELETED -> apply(state, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), -1);
+            case UPDATED -> {
+                apply(state, event.getCustomerId(), event.getPreviousMonth(), event.getPreviousAmount(), -1);
+                apply(state, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), 1);
+            }
+        }
+    }
+
+    private void apply(Map<CustomerMonthRewardId, CustomerMonthReward> state, Long customerId, int month, double amount, int sign) {
+        int points = rewardCalculationService.getRewardPoints(amount, month);
+        CustomerMonthReward monthReward = state.computeIfAbsent(new CustomerMonthRewardId(customerId, month),
+                id -> new CustomerMonthReward(customerId, month, 0, 0, 0));
+        monthReward.setPoints(monthReward.getPoints() + sign * points);
+        monthReward.setSpend(monthReward.getSpend() + sign * amount);
+        monthReward.setTransactionCount(monthReward.getTransactionCount() + sign);
+    }
+
+    // Holds the service lock from saving the end state until the job is released, so a client that sees the
+    // job ended and starts or resumes one waits for the release instead of being told this job still runs
+    private synchronized void finish(Run run, Throwable failure) {
+        try {
+            if (failure == null && run.failure == null) {
+                transactionTemplate.executeWithoutResult(status -> discardSnapshots());
+            } else if (run.failure == null) {
+                run.failure = failure instanceof CompletionException && failure.getCause() instanceof RuntimeException cause
+                        ? cause : new IllegalStateException(failure);
+            }
+            RecomputeJob job = getRecomputeJob(run.jobId);
+            if (run.failure == null) {
+                job.setStatus(RecomputeJob.Status.COMPLETED);
+                log.info("RewardRecomputeServiceImpl.finish():: job {} recomputed {} customers with {} transactions, {} customers/s",
+                        job.getJobId(), job.getCustomerCount(), job.getTransactionCount(), Math.round(job.getCustomersPerSecond()));
+            } else {
+                log.error("RewardRecomputeServiceImpl.finish():: job {} failed after {} of {} ranges", job.getJobId(),
+                        job.getCompletedRanges(), job.getTotalRanges(), run.failure);
+                job.setStatus(RecomputeJob.Status.FAILED);
+                job.setLastError(truncate(String.valueOf(run.failure.getMessage())));
+            }
+            job.setEstimatedCompletionAt(null);
+            job.setUpdatedAt(LocalDateTime.now());
+            recomputeJobRepository.save(job);
+        } catch (RuntimeException e) {
+            // The job stays RUNNING in the table and is resumed on the next start
+            log.error("RewardRecomputeServiceImpl.finish():: could not record the end of job {}", run.jobId, e);
+        } finally {
+            // Released only once the end state is saved, a job shown as running can never be started twice
+            runningJobs.remove(run.jobId);
+        }
+    }
+
+    // The head is locked first, so no baseline snapshot is being aggregated meanwhile
+    private void discardSnapshots() {
+        transactionEventRepository.lockHead();
+        List<Long> snapshotIds = rewardSnapshotRepository.findAllByOrderBySnapshotIdDesc().stream().map(RewardSnapshot::getSnapshotId).toList();
+        if (!snapshotIds.isEmpty()) {
+            rewardSnapshotRepository.deleteSnapshots(snapshotIds);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    /**
+     * Progress of one run of a job in this process, the throughput and completion estimate are based on it.
+     */
+    private static final class Run {
+
+        private final Long jobId;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completedRanges = new AtomicInteger();
+        private final AtomicLong customers = new AtomicLong();
+        private volatile RuntimeException failure;
+
+        Run(Long jobId) {
+            this.jobId = jobId;
+        }
+    }
+}
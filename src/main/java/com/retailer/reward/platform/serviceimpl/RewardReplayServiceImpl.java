@@ -0,0 +1,216 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import com.retailer.reward.platform.entity.CustomerMonthRewardId;
+import com.retailer.reward.platform.entity.RewardSnapshot;
+import com.retailer.reward.platform.repository.CustomerMonthlyRewardView;
+import com.retailer.reward.platform.repository.RewardSnapshotRepository;
+import com.retailer.reward.platform.repository.TransactionEventRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.service.RewardReplayService;
+import com.retailer.reward.platform.service.RewardRuleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service implementation of reward snapshots and replay of the transaction event log.
+ * A snapshot is the monthly rollup of every customer as of a log sequence. The next snapshot is the previous
+ * one with the events after it folded in, and recovery restores the ledger from the latest snapshot plus
+ * the events appended since, instead of aggregating the whole transaction table.
+ * Snapshot points depend on the reward rules, so snapshots are looked up by a fingerprint of the current
+ * rules. When none matches, e.g. after a rules change, a baseline snapshot is aggregated from the
+ * transaction table while the log head is locked, so it matches the last sequence exactly.
+ */
+@Service
+@Slf4j
+public class RewardReplayServiceImpl implements RewardReplayService {
+
+    private final TransactionEventRepository transactionEventRepository;
+    private final RewardSnapshotRepository rewardSnapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final RewardRuleService rewardRuleService;
+    private final RewardCalculationService rewardCalculationService;
+    private final RewardLedgerService rewardLedgerService;
+    private final int snapshotsRetained;
+
+    public RewardReplayServiceImpl(TransactionEventRepository transactionEventRepository, RewardSnapshotRepository rewardSnapshotRepository,
+                                   TransactionRepository transactionRepository, RewardRuleService rewardRuleService,
+                                   RewardCalculationService rewardCalculationService, RewardLedgerService rewardLedgerService,
+                                   @Value("${reward.event-log.snapshots-retained:2}") int snapshotsRetained) {
+        this.transactionEventRepository = transactionEventRepository;
+        this.rewardSnapshotRepository = rewardSnapshotRepository;
+        this.transactionRepository = transactionRepository;
+        this.rewardRuleService = rewardRuleService;
+        this.rewardCalculationService = rewardCalculationService;
+        this.rewardLedgerService = rewardLedgerService;
+        this.snapshotsRetained = Math.max(1, snapshotsRetained);
+    }
+
+    /**
+     * Takes a snapshot at the last committed event by folding the events since the latest snapshot onto it.
+     * Transaction writes are not blocked, except while a baseline snapshot is aggregated.
+     *
+     * @return the new snapshot, or the latest one when no event was appended since
+     */
+    @Override
+    @Transactional
+    public RewardSnapshot takeSnapshot() {
+        String fingerprint = rulesFingerprint();
+        RewardSnapshot latest = findLatestSnapshot(fingerprint);
+        if (latest == null) {
+            long lastSequence = transactionEventRepository.lockHead();
+            return saveSnapshot(fingerprint, lastSequence, 0, aggregateTransactions());
+        }
+        // Appends commit in sequence order, every event up to the committed head is visible
+        long lastSequence = transactionEventRepository.findLastSequence();
+        if (lastSequence == latest.getLastSequence()) {
+            return latest;
+        }
+        Map<CustomerMonthRewardId, CustomerMonthReward> state = loadSnapshot(latest);
+        long events = replayEvents(state, latest.getLastSequence(), lastSequence);
+        return saveSnapshot(fingerprint, lastSequence, events, state);
+    }
+
+    /**
+     * Restores the reward ledger and monthly rollup from the latest snapshot and the events after it.
+     * The log head stays locked until the restored ledger is committed, so no transaction write is lost.
+     *
+     * @return the snapshot used, the events replayed and the replay throughput
+     */
+    @Override
+    @Transactional
+    public RewardReplayResult replayLedger() {
+        long start = System.nanoTime();
+        long lastSequence = transactionEventRepository.lockHead();
+        String fingerprint = rulesFingerprint();
+        RewardSnapshot snapshot = findLatestSnapshot(fingerprint);
+        Map<CustomerMonthRewardId, CustomerMonthReward> state;
+        if (snapshot == null) {
+            state = aggregateTransactions();
+            snapshot = saveSnapshot(fingerprint, lastSequence, 0, state);
+        } else {
+            state = loadSnapshot(snapshot);
+        }
+        long replayStart = System.nanoTime();
+        long events = replayEvents(state, snapshot.getLastSequence(), lastSequence);
+        long replayNanos = System.nanoTime() - replayStart;
+        int customers = rewardLedgerService.restoreLedger(activeMonths(state));
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+        double eventsPerSecond = replayNanos > 0 ? events * 1e9 / replayNanos : 0;
+        log.info("RewardReplayServiceImpl.replayLedger():: replayed {} events after snapshot {} at sequence {} for {} customers in {} ms, {} events/s",
+                events, snapshot.getSnapshotId(), snapshot.getLastSequence(), customers, totalMillis, Math.round(eventsPerSecond));
+        return new RewardReplayResult(snapshot.getSnapshotId(), snapshot.getLastSequence(), lastSequence, events, customers,
+                replayNanos / 1_000_000, totalMillis, eventsPerSecond);
+    }
+
+    /**
+     * Counts the events a recovery would replay.
+     *
+     * @return the number of committed events after the latest snapshot of the current reward rules
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getEventsSinceSnapshot() {
+        RewardSnapshot latest = findLatestSnapshot(rulesFingerprint());
+        long lastSequence = transactionEventRepository.findLastSequence();
+        return latest == null ? lastSequence : lastSequence - latest.getLastSequence();
+    }
+
+    private RewardSnapshot findLatestSnapshot(String fingerprint) {
+        return rewardSnapshotRepository.findFirstByRulesFingerprintOrderByLastSequenceDescSnapshotIdDesc(fingerprint).orElse(null);
+    }
+
+    private Map<CustomerMonthRewardId, CustomerMonthReward> aggregateTransactions() {
+        Map<CustomerMonthRewardId, CustomerMonthReward> state = new HashMap<>();
+        for (CustomerMonthlyRewardView view : transactionRepository.findAllCustomerMonthlyRewards()) {
+            state.put(new CustomerMonthRewardId(view.getCustomerId(), view.getMonth()), new CustomerMonthReward(view.getCustomerId(),
+                    view.getMonth(), view.getPoints().intValue(), view.getSpend(), view.getTransactionCount().intValue()));
+        }
+        return state;
+    }
+
+    private Map<CustomerMonthRewardId, CustomerMonthReward> loadSnapshot(RewardSnapshot snapshot) {
+        Map<CustomerMonthRewardId, CustomerMonthReward> state = new HashMap<>(snapshot.getCustomerMonthCount() * 4 / 3 + 1);
+        rewardSnapshotRepository.forEachMonth(snapshot.getSnapshotId(), monthReward ->
+                state.put(new CustomerMonthRewardId(monthReward.getCustomerId(), monthReward.getMonth()), monthReward));
+        return state;
+    }
+
+    private long replayEvents(Map<CustomerMonthRewardId, CustomerMonthReward> state, long afterSequence, long toSequence) {
+        if (toSequence <= afterSequence) {
+            return 0;
+        }
+        return transactionEventRepository.forEachEvent(afterSequence, toSequence, event -> {
+            switch (event.getType()) {
+                case CREATED -> apply(state, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), 1);
+                case DELETED -> apply(state, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), -1);
+                case UPDATED -> {
+                    apply(state, event.getCustomerId(), event.getPreviousMonth(), event.getPreviousAmount(), -1);
+                    apply(state, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), 1);
+                }
+            }
+        });
+    }
+
+    private void apply(Map<CustomerMonthRewardId, CustomerMonthReward> state, Long customerId, int month, double amount, int sign) {
+        int points = rewardCalculationService.getRewardPoints(amount, month);
+        CustomerMonthReward monthReward = state.computeIfAbsent(new CustomerMonthRewardId(customerId, month),
+                id -> new CustomerMonthReward(customerId, month, 0, 0, 0));
+        monthReward.setPoints(monthReward.getPoints() + sign * points);
+        monthReward.setSpend(monthReward.getSpend() + sign * amount);
+        monthReward.setTransactionCount(monthReward.getTransactionCount() + sign);
+    }
+
+    private static List<CustomerMonthReward> activeMonths(Map<CustomerMonthRewardId, CustomerMonthReward> state) {
+        List<CustomerMonthReward> active = new ArrayList<>(state.size());
+        for (CustomerMonthReward monthReward : state.values()) {
+            if (monthReward.getTransactionCount() > 0) {
+                active.add(monthReward);
+            }
+        }
+        return active;
+    }
+
+    private RewardSnapshot saveSnapshot(String fingerprint, long lastSequence, long replayedEvents,
+                                        Map<CustomerMonthRewardId, CustomerMonthReward> state) {
+        Collection<CustomerMonthReward> monthRewards = activeMonths(state);
+        RewardSnapshot snapshot = rewardSnapshotRepository.save(new RewardSnapshot(null, lastSequence, fingerprint,
+                monthRewards.size(), replayedEvents, LocalDateTime.now()));
+        rewardSnapshotRepository.saveMonths(snapshot.getSnapshotId(), monthRewards);
+        List<RewardSnapshot> snapshots = rewardSnapshotRepository.findAllByOrderBySnapshotIdDesc();
+        if (snapshots.size() > snapshotsRetained) {
+            rewardSnapshotRepository.deleteSnapshots(snapshots.subList(snapshotsRetained, snapshots.size()).stream()
+                    .map(RewardSnapshot::getSnapshotId).toList());
+        }
+        log.info("RewardReplayServiceImpl.saveSnapshot():: snapshot {} at sequence {} with {} customer months, {} events folded",
+                snapshot.getSnapshotId(), lastSequence, monthRewards.size(), replayedEvents);
+        return snapshot;
+    }
+
+    // Hashes the compiled rules' canonical form, so equal rules produce the same fingerprint in any declaration order
+    private String rulesFingerprint() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(rewardRuleService.getEvaluator().canonicalForm().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
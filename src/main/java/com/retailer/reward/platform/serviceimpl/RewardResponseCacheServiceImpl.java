@@ -0,0 +1,107 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.retailer.reward.platform.dto.CumulativeRewards;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.service.RewardResponseCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service implementation of a cache of customer reward results keyed by customer and reward version.
+ * A write to the customer's rewards bumps the version, so entries never need invalidation,
+ * entries of outdated versions are simply no longer requested and age out beyond the maximum size.
+ * Failed reads, such as a customer without transactions, are not cached.
+ */
+@Service
+public class RewardResponseCacheServiceImpl implements RewardResponseCacheService {
+
+    private final RewardLedgerService rewardLedgerService;
+    private final Cache<VersionKey, Integer> totalRewards;
+    private final Cache<VersionKey, MonthlyRewards> monthlyRewards;
+    private final Cache<VersionKey, CumulativeRewards> cumulativeRewards;
+
+    public RewardResponseCacheServiceImpl(RewardLedgerService rewardLedgerService,
+                                          @Value("${reward.response-cache.maximum-size:10000}") long maximumSize) {
+        this.rewardLedgerService = rewardLedgerService;
+        this.totalRewards = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.monthlyRewards = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.cumulativeRewards = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Returns the total reward points of a customer at a reward version, reading the ledger on a cache miss.
+     *
+     * @param customerId the ID of the customer
+     * @param version    the customer's current reward version
+     * @return the total reward points
+     */
+    @Override
+    public int getCustomerTotalRewards(Long customerId, long version) {
+        return totalRewards.get(new VersionKey(customerId, version), key -> rewardLedgerService.getCustomerTotalRewards(customerId));
+    }
+
+    /**
+     * Returns the monthly reward points of a customer at a reward version, reading the rollup on a cache miss.
+     *
+     * @param customerId the ID of the customer
+     * @param version    the customer's current reward version
+     * @return the reward points of each month with transactions
+     */
+    @Override
+    public MonthlyRewards getCustomerMonthlyRewards(Long customerId, long version) {
+        return monthlyRewards.get(new VersionKey(customerId, version), key -> rewardLedgerService.getCustomerMonthlyRewards(customerId));
+    }
+
+    /**
+     * Returns the running totals of a customer's monthly rewards at a reward version,
+     * built from the cached monthly rewards on a cache miss.
+     *
+     * @param customerId the ID of the customer
+     * @param version    the customer's current reward version
+     * @return the running totals of the customer's monthly rewards
+     */
+    @Override
+    public CumulativeRewards getCustomerCumulativeRewards(Long customerId, long version) {
+        return cumulativeRewards.get(new VersionKey(customerId, version),
+                key -> CumulativeRewards.of(getCustomerMonthlyRewards(customerId, version)));
+    }
+
+    /**
+     * Returns the running totals of many customers at their reward versions,
+     * reading the monthly rollup of all cache misses with one query.
+     *
+     * @param versions the current reward version of each customer
+     * @return the running totals of each customer's monthly rewards
+     */
+    @Override
+    public Map<Long, CumulativeRewards> getCustomersCumulativeRewards(Map<Long, Long> versions) {
+        List<VersionKey> keys = versions.entrySet().stream()
+                .map(entry -> new VersionKey(entry.getKey(), entry.getValue()))
+                .toList();
+        Map<Long, CumulativeRewards> cumulative = new HashMap<>();
+        cumulativeRewards.getAll(keys, this::loadCumulativeRewards)
+                .forEach((key, rewards) -> cumulative.put(key.customerId(), rewards));
+        return cumulative;
+    }
+
+    private Map<VersionKey, CumulativeRewards> loadCumulativeRewards(Set<? extends VersionKey> keys) {
+        Map<Long, MonthlyRewards> loaded = rewardLedgerService.getCustomersMonthlyRewards(
+                keys.stream().map(VersionKey::customerId).toList());
+        Map<VersionKey, CumulativeRewards> cumulative = new HashMap<>();
+        for (VersionKey key : keys) {
+            cumulative.put(key, CumulativeRewards.of(loaded.getOrDefault(key.customerId(), MonthlyRewards.EMPTY)));
+        }
+        return cumulative;
+    }
+
+    private record VersionKey(Long customerId, long version) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.exception.InvalidRewardRuleException;
+import com.retailer.reward.platform.rules.RewardRuleEvaluator;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.rules.RewardRulesChangedEvent;
+import com.retailer.reward.platform.service.RewardRuleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service implementation holding the active reward rules.
+ * Rules are compiled once when loaded and the compiled evaluator is swapped atomically,
+ * so concurrent reward calculations always see one complete rule set.
+ */
+@Service
+@Slf4j
+public class RewardRuleServiceImpl implements RewardRuleService {
+
+    private final AtomicReference<RewardRuleEvaluator> evaluator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RewardRuleServiceImpl(RewardRules configuredRewardRules, ApplicationEventPublisher eventPublisher) {
+        this.evaluator = new AtomicReference<>(RewardRuleEvaluator.compile(configuredRewardRules));
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Retrieves the compiled evaluator of the active rules.
+     *
+     * @return the active evaluator
+     */
+    @Override
+    public RewardRuleEvaluator getEvaluator() {
+        return evaluator.get();
+    }
+
+    /**
+     * Retrieves the active rules.
+     *
+     * @return the active rules
+     */
+    @Override
+    public RewardRules getRules() {
+        return evaluator.get().getRules();
+    }
+
+    /**
+     * Compiles and activates new reward rules, then publishes a {@link RewardRulesChangedEvent}.
+     *
+     * @param rules the new rules
+     * @return the activated rules
+     * @throws InvalidRewardRuleException if the rules are inconsistent
+     */
+    @Override
+    public RewardRules updateRules(RewardRules rules) {
+        RewardRuleEvaluator compiled = RewardRuleEvaluator.compile(rules);
+        evaluator.set(compiled);
+        log.info("RewardRuleServiceImpl.updateRules():: activated reward rules {}", rules);
+        eventPublisher.publishEvent(new RewardRulesChangedEvent(compiled));
+        return compiled.getRules();
+    }
+}
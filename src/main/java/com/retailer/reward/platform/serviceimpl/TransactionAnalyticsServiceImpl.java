@@ -0,0 +1,286 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.columnar.ColumnarTransactionStore;
+import com.retailer.reward.platform.dto.ColumnarSnapshotInfo;
+import com.retailer.reward.platform.dto.MonthAnalytics;
+import com.retailer.reward.platform.dto.TransactionAnalytics;
+import com.retailer.reward.platform.repository.TransactionEventRepository;
+import com.retailer.reward.platform.rules.RewardRuleEvaluator;
+import com.retailer.reward.platform.service.RewardRuleService;
+import com.retailer.reward.platform.service.TransactionAnalyticsService;
+import com.retailer.reward.platform.util.MonthKey;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation of whole-table transaction analytics over a columnar snapshot.
+ * The snapshot is exported once from the transaction table into memory-mapped column files and then kept
+ * up to date by appending the transaction events after its watermark, so scans neither load entities
+ * nor allocate per row, and the columns live outside the Java heap.
+ * Snapshots are process-local: the first read after a start exports a new one, and its files are deleted on shutdown.
+ * Reads catch up first when the snapshot is more than the configured number of events behind.
+ * Scans are split into row ranges aggregated on the batch reward pool.
+ */
+@Service
+@Slf4j
+public class TransactionAnalyticsServiceImpl implements TransactionAnalyticsService {
+
+    private static final String SELECT_ALL = "select customer_id, transaction_month, amount from transaction";
+    private static final int FETCH_SIZE = 1000;
+    private static final int SCAN_CHUNK_ROWS = 1 << 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionEventRepository transactionEventRepository;
+    private final RewardRuleService rewardRuleService;
+    private final ForkJoinPool rewardBatchPool;
+    private final Path directory;
+    private final long maxStaleEvents;
+    private final Object writeLock = new Object();
+    private volatile Snapshot current;
+    private int generation;
+
+    public TransactionAnalyticsServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                           TransactionEventRepository transactionEventRepository,
+                                           RewardRuleService rewardRuleService, ForkJoinPool rewardBatchPool,
+                                           @Value("${reward.columnar.directory:${java.io.tmpdir}/reward-columnar}") Path directory,
+                                           @Value("${reward.columnar.max-stale-events:1000}") long maxStaleEvents) {
+        // Dedicated template, the fetch size only applies to the export scan
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionEventRepository = transactionEventRepository;
+        this.rewardRuleService = rewardRuleService;
+        this.rewardBatchPool = rewardBatchPool;
+        this.directory = directory;
+        this.maxStaleEvents = maxStaleEvents;
+    }
+
+    /**
+     * Exports every transaction into a new columnar snapshot and replaces the current one.
+     * The event log head is locked during the export, so the snapshot matches its watermark exactly.
+     *
+     * @return the state of the exported snapshot
+     */
+    @Override
+    public ColumnarSnapshotInfo exportSnapshot() {
+        synchronized (writeLock) {
+            Snapshot previous = current;
+            Snapshot exported = transactionTemplate.execute(status -> export());
+            current = exported;
+            if (previous != null) {
+                discard(previous.store);
+            }
+            return info(exported, exported.watermark);
+        }
+    }
+
+    /**
+     * Appends the transaction events after the snapshot's watermark, exporting a snapshot first if there is none.
+     * A deletion appends a retraction of the deleted row, an update retracts the previous row and appends the new one.
+     *
+     * @return the state of the refreshed snapshot
+     */
+    @Override
+    public ColumnarSnapshotInfo refreshSnapshot() {
+        synchronized (writeLock) {
+            Snapshot snapshot = current;
+            if (snapshot == null) {
+                return exportSnapshot();
+            }
+            // Appends commit in sequence order, every event up to the committed head is visible
+            long lastSequence = transactionEventRepository.findLastSequence();
+            if (lastSequence > snapshot.watermark) {
+                ColumnarTransactionStore store = snapshot.store;
+                try {
+                    transactionEventRepository.forEachEvent(snapshot.watermark, lastSequence, event -> {
+                        switch (event.getType()) {
+                            case CREATED -> append(store, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), false);
+                            case DELETED -> append(store, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), true);
+                            case UPDATED -> {
+                                append(store, event.getCustomerId(), event.getPreviousMonth(), event.getPreviousAmount(), true);
+                                append(store, event.getCustomerId(), event.getTransactionMonth(), event.getAmount(), false);
+                            }
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    store.discardUnpublished();
+                    throw e;
+                }
+                snapshot = new Snapshot(store, store.publish(), lastSequence, snapshot.exportedAt);
+                current = snapshot;
+            }
+            return info(snapshot, lastSequence);
+        }
+    }
+
+    /**
+     * Aggregates the transaction count, spend and reward points of every month over the whole snapshot.
+     * Points are computed with the reward rules current when the scan starts, the same way the ledger
+     * computes them, and amounts earning no reward count as 0 points.
+     *
+     * @return the totals of every month with transactions, in month order, and the state of the snapshot
+     */
+    @Override
+    public TransactionAnalytics getMonthlyAnalytics() {
+        Snapshot snapshot = current;
+        long lastSequence = transactionEventRepository.findLastSequence();
+        if (snapshot == null || lastSequence - snapshot.watermark > maxStaleEvents) {
+            refreshSnapshot();
+            snapshot = current;
+        }
+        ColumnarTransactionStore.Columns columns = snapshot.columns;
+        RewardRuleEvaluator evaluator = rewardRuleService.getEvaluator();
+        List<MonthAnalytics> months = new ArrayList<>();
+        if (columns.rows() > 0) {
+            int firstIndex = MonthKey.toIndex(columns.firstMonth());
+            int size = MonthKey.toIndex(columns.lastMonth()) - firstIndex + 1;
+            List<ForkJoinTask<MonthTotals>> tasks = new ArrayList<>();
+            for (int from = 0; from < columns.rows(); from += SCAN_CHUNK_ROWS) {
+                int start = from;
+                int end = Math.min(from + SCAN_CHUNK_ROWS, columns.rows());
+                tasks.add(rewardBatchPool.submit(() -> scan(columns, evaluator, start, end, firstIndex, size)));
+            }
+            MonthTotals totals = new MonthTotals(size);
+            for (ForkJoinTask<MonthTotals> task : tasks) {
+                totals.add(task.join());
+            }
+            for (int slot = 0; slot < size; slot++) {
+                if (totals.transactionCounts[slot] > 0) {
+                    months.add(new MonthAnalytics(MonthKey.fromIndex(firstIndex + slot), totals.transactionCounts[slot],
+                            totals.spend[slot], totals.points[slot]));
+                }
+            }
+        }
+        return new TransactionAnalytics(info(snapshot, lastSequence), months);
+    }
+
+    private Snapshot export() {
+        long start = System.nanoTime();
+        long watermark = transactionEventRepository.lockHead();
+        ColumnarTransactionStore store;
+        try {
+            store = ColumnarTransactionStore.create(directory.resolve("snapshot-" + (++generation)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.query(SELECT_ALL, resultSet -> {
+            append(store, resultSet.getLong(1), resultSet.getInt(2), resultSet.getDouble(3), false);
+        });
+        ColumnarTransactionStore.Columns columns = store.publish();
+        log.info("TransactionAnalyticsServiceImpl.export():: exported {} transactions at sequence {} to {} in {} ms",
+                columns.rows(), watermark, store.getDirectory(), (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(store, columns, watermark, LocalDateTime.now());
+    }
+
+    private static void append(ColumnarTransactionStore store, long customerId, int month, double amount, boolean retraction) {
+        try {
+            store.append(customerId, month, amount, retraction);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Tight loop over absolute gets of the mapped columns, accumulating into arrays indexed by month.
+    // Points truncate to whole dollars like RewardCalculationServiceImpl.getRewardPoints(), which rejects the
+    // amounts under a dollar that the scan counts as earning nothing
+    private static MonthTotals scan(ColumnarTransactionStore.Columns columns, RewardRuleEvaluator evaluator,
+                                    int from, int to, int firstIndex, int size) {
+        IntBuffer months = columns.months();
+        DoubleBuffer amounts = columns.amounts();
+        MonthTotals totals = new MonthTotals(size);
+        for (int row = from; row < to; row++) {
+            int signedMonth = months.get(row);
+            double amount = amounts.get(row);
+            int sign = signedMonth < 0 ? -1 : 1;
+            int month = sign * signedMonth;
+            int slot = MonthKey.toIndex(month) - firstIndex;
+            int dollars = (int) amount;
+            totals.transactionCounts[slot] += sign;
+            totals.spend[slot] += sign * amount;
+            totals.points[slot] += dollars > 0 ? sign * evaluator.points(dollars, month) : 0;
+        }
+        return totals;
+    }
+
+    private ColumnarSnapshotInfo info(Snapshot snapshot, long lastSequence) {
+        return new ColumnarSnapshotInfo(snapshot.columns.rows(), snapshot.watermark, Math.max(0, lastSequence - snapshot.watermark),
+                snapshot.exportedAt);
+    }
+
+    /**
+     * Deletes the files of the current snapshot, they are not reopened by the next start.
+     */
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            if (current != null) {
+                discard(current.store);
+                current = null;
+            }
+        }
+    }
+
+    // Published columns of the replaced store stay readable by running scans, the files are unlinked
+    private static void discard(ColumnarTransactionStore store) {
+        try (Stream<Path> files = Files.list(store.getDirectory())) {
+            store.close();
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(store.getDirectory());
+        } catch (IOException e) {
+            log.warn("TransactionAnalyticsServiceImpl.discard():: could not delete {}", store.getDirectory(), e);
+        }
+    }
+
+    /**
+     * A columnar store with the columns published at a watermark.
+     */
+    private record Snapshot(ColumnarTransactionStore store, ColumnarTransactionStore.Columns columns, long watermark,
+                            LocalDateTime exportedAt) {
+    }
+
+    /**
+     * Per-month accumulators of a scanned row range.
+     */
+    private static final class MonthTotals {
+
+        private final long[] transactionCounts;
+        private final double[] spend;
+        private final long[] points;
+
+        MonthTotals(int size) {
+            transactionCounts = new long[size];
+            spend = new double[size];
+            points = new long[size];
+        }
+
+        void add(MonthTotals other) {
+            for (int slot = 0; slot < transactionCounts.length; slot++) {
+                transactionCounts[slot] += other.transactionCounts[slot];
+                spend[slot] += other.spend[slot];
+                points[slot] += other.points[slot];
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.dto.TransactionBatchItemResult;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.InvalidTransactionException;
+import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.exception.TransactionCommitPendingException;
+import com.retailer.reward.platform.exception.TransactionQueueFullException;
+import com.retailer.reward.platform.service.CustomerCacheService;
+import com.retailer.reward.platform.service.TransactionGroupCommitService;
+import com.retailer.reward.platform.service.TransactionService;
+import com.retailer.reward.platform.util.Constants;
+import com.retailer.reward.platform.util.MonthKey;
+import com.retailer.reward.platform.util.RewardMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Service implementation of write-behind transaction creation with group commit, enabled by
+ * reward.group-commit.enabled. Callers validate their transaction and queue it, a single writer thread
+ * drains the queue into batches of up to max-batch-size transactions, waiting at most max-delay after the
+ * oldest one, and creates each batch with one database transaction. A caller returns once the commit of its
+ * batch returned, so an acknowledged transaction is as durable as one created on its own. When a batch fails,
+ * its transactions are created one by one, so only the failing ones are reported to their callers.
+ * The queue is a lock-free linked queue bounded by a counter, callers beyond its capacity are turned away
+ * instead of piling up behind the writer.
+ */
+@Service
+@Slf4j
+public class TransactionGroupCommitServiceImpl implements TransactionGroupCommitService {
+
+    private static final long IDLE_PARK_NANOS = 100_000_000;
+
+    private final TransactionService transactionService;
+    private final CustomerCacheService customerCacheService;
+    private final RewardMetrics rewardMetrics;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public TransactionGroupCommitServiceImpl(TransactionService transactionService, CustomerCacheService customerCacheService,
+                                             RewardMetrics rewardMetrics,
+                                             @Value("${reward.group-commit.enabled:false}") boolean enabled,
+                                             @Value("${reward.group-commit.max-batch-size:200}") int maxBatchSize,
+                                             @Value("${reward.group-commit.max-delay:PT0.005S}") Duration maxDelay,
+                                             @Value("${reward.group-commit.queue-capacity:10000}") int queueCapacity,
+                                             @Value("${reward.group-commit.max-wait:PT10S}") Duration maxWait) {
+        this.transactionService = transactionService;
+        this.customerCacheService = customerCacheService;
+        this.rewardMetrics = rewardMetrics;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, Constants.MAX_TRANSACTION_BATCH_SIZE));
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rewardMetrics.registerGroupCommitQueue(queued::get);
+        running = true;
+        Thread thread = new Thread(this::drain, "transaction-group-commit");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        log.info("TransactionGroupCommitServiceImpl.start():: group commit of up to {} transactions, waiting at most {} us",
+                maxBatchSize, maxDelayNanos / 1000);
+    }
+
+    // Transactions queued before the stop are still committed, callers queueing later are turned away
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        // A caller that queued while the writer was exiting is not left waiting, later callers see the stop and dequeue themselves
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new TransactionQueueFullException(Constants.TRANSACTION_QUEUE_FULL));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates a transaction as part of the next group commit and waits until that commit returned.
+     * The transaction is validated before it is queued, with the same outcomes as creating it on its own.
+     *
+     * @param transaction the transaction to create
+     * @return the created transaction
+     * @throws ResourceNotFoundException         if the associated customer is not found
+     * @throws InvalidTransactionException       if the transaction month is missing or invalid, or the batch rejected it
+     * @throws TransactionQueueFullException     if the queue is full or the writer is stopped
+     * @throws TransactionCommitPendingException if the wait ended before the commit, which may still create the transaction
+     */
+    @Override
+    public Transaction createTransaction(Transaction transaction) {
+        if (!MonthKey.isValid(transaction.getTransactionMonth())) {
+            throw new InvalidTransactionException(Constants.INVALID_TRANSACTION_MONTH);
+        }
+        Long customerId = transaction.getCustomer().getCustomerId();
+        Customer customer = customerCacheService.findCustomer(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + customerId));
+        transaction.setCustomer(customer);
+
+        if (!running) {
+            throw new TransactionQueueFullException(Constants.TRANSACTION_QUEUE_FULL);
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            rewardMetrics.countGroupCommitRejected();
+            throw new TransactionQueueFullException(Constants.TRANSACTION_QUEUE_FULL);
+        }
+        Pending pending = new Pending(transaction, System.nanoTime());
+        queue.offer(pending);
+        // Checked again after queueing: once stopped, nothing takes the transaction unless stop() already failed it
+        if (!running) {
+            dequeue(pending);
+        }
+        LockSupport.unpark(writer);
+        try {
+            return pending.result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return abandon(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(pending);
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    private void dequeue(Pending pending) {
+        if (queue.remove(pending)) {
+            queued.decrementAndGet();
+            throw new TransactionQueueFullException(Constants.TRANSACTION_QUEUE_FULL);
+        }
+    }
+
+    // A transaction still queued is withdrawn and reported as not created, one already taken by the writer may be committed
+    private Transaction abandon(Pending pending) {
+        dequeue(pending);
+        if (!pending.result.isDone()) {
+            throw new TransactionCommitPendingException(Constants.TRANSACTION_COMMIT_PENDING);
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    private static RuntimeException failure(Throwable cause) {
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(cause);
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            Pending first = queue.poll();
+            if (first == null) {
+                // Callers unpark the writer after queueing, the timeout only bounds a missed wake-up
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            batch.add(first);
+            long deadline = first.queuedNanos + maxDelayNanos;
+            while (batch.size() < maxBatchSize) {
+                Pending next = queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            queued.addAndGet(-batch.size());
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            transactions.add(pending.transaction);
+        }
+        long start = System.nanoTime();
+        try {
+            TransactionBatchResult result = transactionService.createTransactions(transactions);
+            long committed = System.nanoTime();
+            rewardMetrics.recordGroupCommit(batch.size(), committed - start);
+            for (TransactionBatchItemResult item : result.getResults()) {
+                Pending pending = batch.get(item.getIndex());
+                rewardMetrics.recordGroupCommitLatency(committed - pending.queuedNanos);
+                if (item.getStatus() == TransactionBatchItemResult.Status.CREATED) {
+                    pending.result.complete(pending.transaction);
+                } else {
+                    pending.result.completeExceptionally(new InvalidTransactionException(item.getMessage()));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Nothing of the batch was committed, each transaction is retried on its own so one bad row fails alone
+            log.warn("TransactionGroupCommitServiceImpl.commit():: group commit of {} transactions failed, creating them one by one",
+                    batch.size(), e);
+            for (Pending pending : batch) {
+                commitAlone(pending);
+            }
+        }
+    }
+
+    private void commitAlone(Pending pending) {
+        try {
+            // The rolled back batch may have assigned an ID, it must not turn the retry into an update
+            pending.transaction.setTransactionId(null);
+            Transaction created = transactionService.createTransaction(pending.transaction);
+            rewardMetrics.recordGroupCommitLatency(System.nanoTime() - pending.queuedNanos);
+            pending.result.complete(created);
+        } catch (RuntimeException e) {
+            log.error("TransactionGroupCommitServiceImpl.commitAlone():: transaction of customer {} failed",
+                    pending.transaction.getCustomer().getCustomerId(), e);
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * A queued transaction and the result its caller waits for.
+     */
+    private static final class Pending {
+
+        private final Transaction transaction;
+        private final long queuedNanos;
+        private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+        Pending(Transaction transaction, long queuedNanos) {
+            this.transaction = transaction;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+}
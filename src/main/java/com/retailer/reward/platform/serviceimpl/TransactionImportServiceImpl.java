@@ -0,0 +1,332 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailer.reward.platform.dto.TransactionBatchItemResult;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.ImportJob;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.InvalidTransactionException;
+import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.repository.ImportJobRepository;
+import com.retailer.reward.platform.service.TransactionImportService;
+import com.retailer.reward.platform.service.TransactionService;
+import com.retailer.reward.platform.util.Constants;
+import com.retailer.reward.platform.util.MonthKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Service implementation for importing large transaction files.
+ * A reader thread parses the NDJSON or CSV input into chunks and hands them to the calling
+ * thread through a bounded queue, so reading blocks while the writer is behind and memory stays
+ * constant whatever the input size. Every chunk is created as one transaction batch and
+ * committed together with the job's new offset, which makes an interrupted import resumable.
+ * The job's version is checked on each of those commits: when the same job is resumed twice,
+ * the stale import's chunk is rolled back and that import stops without touching the job.
+ */
+@Service
+@Slf4j
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final ImportJobRepository importJobRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService transactionImportExecutor;
+    private final ObjectMapper objectMapper;
+    private final int defaultChunkSize;
+    private final int queueCapacity;
+
+    public TransactionImportServiceImpl(ImportJobRepository importJobRepository, TransactionService transactionService,
+                                        PlatformTransactionManager transactionManager, ExecutorService transactionImportExecutor,
+                                        ObjectMapper objectMapper,
+                                        @Value("${reward.import.chunk-size:1000}") int defaultChunkSize,
+                                        @Value("${reward.import.queue-capacity:4}") int queueCapacity) {
+        this.importJobRepository = importJobRepository;
+        this.transactionService = transactionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionImportExecutor = transactionImportExecutor;
+        this.objectMapper = objectMapper;
+        this.defaultChunkSize = defaultChunkSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Starts a new import job, or prepares a failed or interrupted job to be resumed.
+     *
+     * @param format    the format of the input
+     * @param jobId     the ID of the job to resume, or null to start a new job
+     * @param chunkSize the number of rows committed per database transaction, or null for the configured default
+     * @return the running job
+     * @throws ResourceNotFoundException   if the job to resume does not exist
+     * @throws InvalidTransactionException if the chunk size is invalid, the job is completed, was started with another format
+     *                                     or was resumed concurrently by another import
+     */
+    @Override
+    @Transactional
+    public ImportJob startImport(ImportJob.Format format, Long jobId, Integer chunkSize) {
+        if (chunkSize != null && (chunkSize < 1 || chunkSize > Constants.MAX_TRANSACTION_BATCH_SIZE)) {
+            throw new InvalidTransactionException(Constants.INVALID_IMPORT_CHUNK_SIZE);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (jobId == null) {
+            ImportJob job = new ImportJob(null, format, ImportJob.Status.RUNNING, chunkSize != null ? chunkSize : defaultChunkSize,
+                    0, 0, 0, null, null, 0, now, now, 0);
+            return importJobRepository.save(job);
+        }
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.IMPORT_JOB_NOT_FOUND + jobId));
+        if (job.getStatus() == ImportJob.Status.COMPLETED) {
+            throw new InvalidTransactionException(Constants.IMPORT_JOB_COMPLETED + jobId);
+        }
+        if (job.getFormat() != format) {
+            throw new InvalidTransactionException(Constants.IMPORT_JOB_FORMAT_MISMATCH + job.getFormat());
+        }
+        if (chunkSize != null) {
+            job.setChunkSize(chunkSize);
+        }
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setLastError(null);
+        job.setUpdatedAt(now);
+        log.info("TransactionImportServiceImpl.startImport():: resuming import job {} at row {}", jobId, job.getCommittedOffset());
+        try {
+            return importJobRepository.saveAndFlush(job);
+        } catch (OptimisticLockingFailureException e) {
+            throw new InvalidTransactionException(Constants.IMPORT_JOB_CONCURRENT + jobId);
+        }
+    }
+
+    /**
+     * Imports the input rows of a started job, skipping the rows it already committed.
+     * Rows that cannot be parsed or fail validation are counted as rejected without stopping the import;
+     * a read or database failure stops it and marks the job as failed at its last committed offset.
+     *
+     * @param job   the started job
+     * @param input the complete input, from its first row
+     * @return the job once completed or failed
+     * @throws InvalidTransactionException if the job was resumed by another import, which keeps running it
+     */
+    @Override
+    public ImportJob importTransactions(ImportJob job, InputStream input) {
+        BlockingQueue<ImportChunk> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        long skipRows = job.getCommittedOffset();
+        Future<?> reader = transactionImportExecutor.submit(() -> readChunks(job.getFormat(), input, skipRows, job.getChunkSize(), chunks));
+        long startNanos = System.nanoTime();
+        long importedRows = 0;
+        ImportJob current = job;
+        try {
+            ImportChunk chunk;
+            while ((chunk = chunks.take()) != ImportChunk.END) {
+                if (chunk.failure != null) {
+                    throw chunk.failure;
+                }
+                importedRows += chunk.rows;
+                double rowsPerSecond = importedRows * 1_000_000_000.0 / Math.max(System.nanoTime() - startNanos, 1);
+                ImportJob committing = current;
+                ImportChunk committed = chunk;
+                current = transactionTemplate.execute(status -> commitChunk(committing, committed, rowsPerSecond));
+                log.info("TransactionImportServiceImpl.importTransactions():: job {} committed {} rows, {} created, {} rejected, {} rows/s",
+                        current.getJobId(), current.getCommittedOffset(), current.getCreatedCount(), current.getRejectedCount(),
+                        Math.round(rowsPerSecond));
+            }
+            current.setStatus(ImportJob.Status.COMPLETED);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            reader.cancel(true);
+            if (e instanceof OptimisticLockingFailureException) {
+                // Another import resumed the job after this one, the chunk was rolled back and the job is left to it
+                log.warn("TransactionImportServiceImpl.importTransactions():: job {} was resumed by another import, stopping", job.getJobId());
+                throw new InvalidTransactionException(Constants.IMPORT_JOB_CONCURRENT + job.getJobId());
+            }
+            // A chunk that failed to commit may have left its counts on the entity, the database has the committed state
+            current = importJobRepository.findById(job.getJobId()).orElse(current);
+            log.error("TransactionImportServiceImpl.importTransactions():: job {} failed after row {}", current.getJobId(),
+                    current.getCommittedOffset(), e);
+            current.setStatus(ImportJob.Status.FAILED);
+            current.setLastError(truncate(String.valueOf(e.getMessage())));
+        }
+        current.setUpdatedAt(LocalDateTime.now());
+        return importJobRepository.save(current);
+    }
+
+    /**
+     * Retrieves an import job, e.g. to follow the progress of a running import.
+     *
+     * @param jobId the ID of the job
+     * @return the job with its committed offset and counts
+     * @throws ResourceNotFoundException if the job does not exist
+     */
+    @Override
+    public ImportJob getImportJob(Long jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.IMPORT_JOB_NOT_FOUND + jobId));
+    }
+
+    private ImportJob commitChunk(ImportJob job, ImportChunk chunk, double rowsPerSecond) {
+        long created = 0;
+        long rejected = chunk.rejections.size();
+        long lastRejectedRow = chunk.rejections.isEmpty() ? 0 : chunk.rejectedRows.get(chunk.rejections.size() - 1);
+        String lastRejection = chunk.rejections.isEmpty() ? job.getLastRejection() : chunk.rejections.get(chunk.rejections.size() - 1);
+        if (!chunk.transactions.isEmpty()) {
+            TransactionBatchResult result = transactionService.createTransactions(chunk.transactions);
+            created = result.getCreated();
+            rejected += result.getRejected();
+            for (TransactionBatchItemResult item : result.getResults()) {
+                long row = chunk.transactionRows.get(item.getIndex());
+                if (item.getStatus() == TransactionBatchItemResult.Status.REJECTED && row > lastRejectedRow) {
+                    lastRejectedRow = row;
+                    lastRejection = rejection(row, item.getMessage());
+                }
+            }
+        }
+        job.setCommittedOffset(job.getCommittedOffset() + chunk.rows);
+        job.setCreatedCount(job.getCreatedCount() + created);
+        job.setRejectedCount(job.getRejectedCount() + rejected);
+        job.setLastRejection(lastRejection);
+        job.setRowsPerSecond(rowsPerSecond);
+        job.setUpdatedAt(LocalDateTime.now());
+        return importJobRepository.save(job);
+    }
+
+    private void readChunks(ImportJob.Format format, InputStream input, long skipRows, int chunkSize, BlockingQueue<ImportChunk> chunks) {
+        try {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                RowParser parser = format == ImportJob.Format.CSV ? new CsvRowParser(reader.readLine()) : this::parseJson;
+                long row = 0;
+                ImportChunk chunk = new ImportChunk(chunkSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || ++row <= skipRows) {
+                        continue;
+                    }
+                    chunk.rows++;
+                    try {
+                        chunk.transactions.add(parser.parse(line));
+                        chunk.transactionRows.add(row);
+                    } catch (IllegalArgumentException | JsonProcessingException e) {
+                        chunk.rejections.add(rejection(row, e instanceof JsonProcessingException jsonException
+                                ? jsonException.getOriginalMessage() : e.getMessage()));
+                        chunk.rejectedRows.add(row);
+                    }
+                    if (chunk.rows == chunkSize) {
+                        chunks.put(chunk);
+                        chunk = new ImportChunk(chunkSize);
+                    }
+                }
+                if (chunk.rows > 0) {
+                    chunks.put(chunk);
+                }
+            }
+            chunks.put(ImportChunk.END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            ImportChunk failed = new ImportChunk(0);
+            failed.failure = e;
+            try {
+                chunks.put(failed);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Transaction parseJson(String line) throws JsonProcessingException {
+        return objectMapper.readValue(line, Transaction.class);
+    }
+
+    private static String rejection(long row, String message) {
+        return truncate("Row " + row + ": " + message);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        Transaction parse(String line) throws JsonProcessingException;
+    }
+
+    /**
+     * Parses comma separated rows, locating the customerId, amount and transactionMonth columns from the header.
+     */
+    private static final class CsvRowParser implements RowParser {
+
+        private final int columns;
+        private final int customerIdColumn;
+        private final int amountColumn;
+        private final int monthColumn;
+
+        CsvRowParser(String header) {
+            if (header == null) {
+                throw new InvalidTransactionException(Constants.INVALID_IMPORT_CSV_HEADER);
+            }
+            List<String> names = new ArrayList<>();
+            for (String name : header.split(",", -1)) {
+                names.add(name.strip().toLowerCase(Locale.ROOT));
+            }
+            columns = names.size();
+            customerIdColumn = names.indexOf("customerid");
+            amountColumn = names.indexOf("amount");
+            monthColumn = names.indexOf("transactionmonth");
+            if (customerIdColumn < 0 || amountColumn < 0 || monthColumn < 0) {
+                throw new InvalidTransactionException(Constants.INVALID_IMPORT_CSV_HEADER);
+            }
+        }
+
+        @Override
+        public Transaction parse(String line) {
+            String[] values = line.split(",", -1);
+            if (values.length != columns) {
+                throw new IllegalArgumentException("Expected " + columns + " columns but found " + values.length);
+            }
+            Customer customer = new Customer(Long.parseLong(values[customerIdColumn].strip()), null);
+            return new Transaction(null, Double.parseDouble(values[amountColumn].strip()),
+                    MonthKey.parse(values[monthColumn].strip()), customer);
+        }
+    }
+
+    /**
+     * Rows of one chunk: the parsed transactions and the rows rejected while parsing, with their row numbers.
+     */
+    private static final class ImportChunk {
+
+        static final ImportChunk END = new ImportChunk(0);
+
+        final List<Transaction> transactions;
+        final List<Long> transactionRows;
+        final List<String> rejections = new ArrayList<>();
+        final List<Long> rejectedRows = new ArrayList<>();
+        int rows;
+        Exception failure;
+
+        ImportChunk(int chunkSize) {
+            transactions = new ArrayList<>(chunkSize);
+            transactionRows = new ArrayList<>(chunkSize);
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.retailer.reward.platform.serviceimpl;
 
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.dto.TransactionBatchItemResult;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
 import com.retailer.reward.platform.entity.Customer;
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.CustomerNotFoundException;
+import com.retailer.reward.platform.exception.InvalidPageRequestException;
 import com.retailer.reward.platform.exception.InvalidTransactionException;
 import com.retailer.reward.platform.exception.ResourceNotFoundException;
 import com.retailer.reward.platform.exception.TransactionNotFoundException;
-import com.retailer.reward.platform.repository.CustomerRepository;
 import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.repository.TransactionRowView;
+import com.retailer.reward.platform.service.CustomerCacheService;
+import com.retailer.reward.platform.service.RewardLedgerService;
 import com.retailer.reward.platform.service.TransactionService;
 import com.retailer.reward.platform.util.Constants;
+import com.retailer.reward.platform.util.MonthKey;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for managing transactions.
@@ -27,56 +41,125 @@ import java.util.List;
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final CustomerRepository customerRepository;
+    private final CustomerCacheService customerCacheService;
+    private final RewardLedgerService rewardLedgerService;
 
     /**
-     * Creates a new transaction.
+     * Creates a new transaction and adds its reward points to the customer's ledger.
      *
      * @param transaction the transaction to create
      * @return the created transaction
      * @throws CustomerNotFoundException if the associated customer is not found
+     * @throws InvalidTransactionException if the transaction month is missing or invalid
      */
     @Override
+    @Transactional
     public Transaction createTransaction(Transaction transaction) {
-        Customer customer = customerRepository.findById(transaction.getCustomer().getCustomerId())
+        validateTransactionMonth(transaction);
+        Customer customer = customerCacheService.findCustomer(transaction.getCustomer().getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.CUSTOMER_ID_NOT_FOUND + transaction.getCustomer().getCustomerId()));
         transaction.setCustomer(customer);
         Transaction transactionCreated =  transactionRepository.save(transaction);
+        rewardLedgerService.recordTransactionCreated(transactionCreated);
         log.info("TransactionServiceImpl.createTransaction():: transaction {}", transaction);
         return  transactionCreated;
     }
 
     /**
-     * Updates an existing transaction.
+     * Creates many transactions in one database transaction.
+     * Each distinct customer is looked up once in the customer cache, transactions that cannot be created are rejected
+     * individually, and the accepted ones are inserted in JDBC batches with their reward points
+     * added to the ledger once per customer.
+     *
+     * @param transactions the transactions to create
+     * @return the outcome of every transaction, in request order
+     * @throws InvalidTransactionException if the batch is empty or larger than the maximum batch size
+     */
+    @Override
+    @Transactional
+    public TransactionBatchResult createTransactions(List<Transaction> transactions) {
+        if (transactions == null || transactions.isEmpty() || transactions.size() > Constants.MAX_TRANSACTION_BATCH_SIZE) {
+            throw new InvalidTransactionException(Constants.INVALID_TRANSACTION_BATCH_SIZE);
+        }
+        Set<Long> customerIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            if (transaction != null && transaction.getCustomer() != null && transaction.getCustomer().getCustomerId() != null) {
+                customerIds.add(transaction.getCustomer().getCustomerId());
+            }
+        }
+        Map<Long, Customer> customers = customerCacheService.findCustomers(customerIds);
+
+        TransactionBatchItemResult[] results = new TransactionBatchItemResult[transactions.size()];
+        List<Transaction> accepted = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            String rejection = validateBatchTransaction(transaction, customers);
+            if (rejection != null) {
+                results[i] = TransactionBatchItemResult.rejected(i, rejection);
+            } else {
+                // Always insert, an ID in the request must not turn the item into an update
+                transaction.setTransactionId(null);
+                transaction.setCustomer(customers.get(transaction.getCustomer().getCustomerId()));
+                accepted.add(transaction);
+            }
+        }
+        transactionRepository.saveAll(accepted);
+        rewardLedgerService.recordTransactionsCreated(accepted);
+
+        int next = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = TransactionBatchItemResult.created(i, accepted.get(next++).getTransactionId());
+            }
+        }
+        log.info("TransactionServiceImpl.createTransactions():: created {} of {} transactions", accepted.size(), transactions.size());
+        return new TransactionBatchResult(accepted.size(), transactions.size() - accepted.size(), List.of(results));
+    }
+
+    /**
+     * Updates an existing transaction and applies the reward point delta to the customer's ledger.
+     * The row is updated with a single statement that also returns its previous amount and month,
+     * the transaction does not exist when that statement returns no row.
      *
      * @param transactionId the ID of the transaction to update
      * @param transactionDetails the new details of the transaction
-     * @return the updated transaction, or null if the transaction does not exist
+     * @return the updated transaction
+     * @throws InvalidTransactionException if the transaction month is missing or invalid
+     * @throws TransactionNotFoundException if the transaction is not found
      */
     @Override
+    @Transactional
     public Transaction updateTransaction(Long transactionId, Transaction transactionDetails) {
-        // Check if the transaction exists
-        Transaction existingTransaction= transactionRepository.findById(transactionId).orElseThrow(() ->
-                new TransactionNotFoundException(Constants.TRANSCTION_ID_NOT_FOUND + transactionId));
-            transactionDetails.setTransactionId(transactionId);
-        transactionDetails.setCustomer(existingTransaction.getCustomer());
-        // Save the updated transaction
-           Transaction updatedTransaction = transactionRepository.save(transactionDetails);
-            log.info("TransactionServiceImpl.updateTransaction() updated transaction: {}", updatedTransaction);
-        // Return the updated transaction
-            return updatedTransaction;
-        }
+        validateTransactionMonth(transactionDetails);
+        TransactionRowView previousRow = transactionRepository.updateReturningPrevious(transactionId,
+                        transactionDetails.getAmount(), transactionDetails.getTransactionMonth())
+                .orElseThrow(() -> new TransactionNotFoundException(Constants.TRANSCTION_ID_NOT_FOUND + transactionId));
+        Customer customer = customerCacheService.findCustomer(previousRow.getCustomerId())
+                .orElseGet(() -> new Customer(previousRow.getCustomerId(), null));
+        Transaction previousTransaction = new Transaction(transactionId, previousRow.getAmount(), previousRow.getTransactionMonth(), customer);
+        Transaction updatedTransaction = new Transaction(transactionId, transactionDetails.getAmount(),
+                transactionDetails.getTransactionMonth(), customer);
+        rewardLedgerService.recordTransactionUpdated(previousTransaction, updatedTransaction);
+        log.info("TransactionServiceImpl.updateTransaction() updated transaction: {}", updatedTransaction);
+        return updatedTransaction;
+    }
 
     /**
-     * Deletes a transaction by its ID.
+     * Deletes a transaction by its ID and removes its reward points from the customer's ledger.
+     * The row is deleted with a single statement that also returns it, the transaction does not
+     * exist when that statement returns no row.
      *
      * @param transactionId the ID of the transaction to delete
+     * @throws TransactionNotFoundException if the transaction is not found
      */
     @Override
+    @Transactional
     public void deleteTransaction(Long transactionId) {
-        transactionRepository.findById(transactionId).orElseThrow(() ->
+        TransactionRowView deletedRow = transactionRepository.deleteReturningPrevious(transactionId).orElseThrow(() ->
                 new TransactionNotFoundException(Constants.TRANSCTION_ID_NOT_FOUND + transactionId));
-        transactionRepository.deleteById(transactionId);
+        Transaction transaction = new Transaction(transactionId, deletedRow.getAmount(), deletedRow.getTransactionMonth(),
+                new Customer(deletedRow.getCustomerId(), null));
+        rewardLedgerService.recordTransactionDeleted(transaction);
         log.info("TransactionServiceImpl.deleteTransaction() deleted transaction Id : {}", transactionId);
     }
 
@@ -89,6 +172,7 @@ public class TransactionServiceImpl implements TransactionService {
      * @throws TransactionNotFoundException if the transaction is not found
      */
     @Override
+    @Transactional(readOnly = true)
     public Transaction getTransactionById(Long transactionId) {
         Transaction transactionDeatil = transactionRepository.findById(transactionId).orElseThrow(() -> new TransactionNotFoundException(Constants.TRANSCTION_ID_NOT_FOUND + transactionId));
         log.info("TransactionServiceImpl.getTransactionById()::  Fetch transaction details by transactionId : {}", transactionDeatil);
@@ -96,15 +180,35 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * Retrieves all transactions.
+     * Retrieves one page of transactions in ID order, with their customers.
+     * Pages are read with a keyset condition on the ID, so every page costs the same however deep it is.
+     *
+     * @param afterId the cursor returned with the previous page, or null for the first page
+     * @param limit   the page size, or null for the default page size
+     * @return the page of transactions and the cursor of the next page
+     * @throws InvalidPageRequestException if the page size is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Transaction> getTransactions(Long afterId, Integer limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        log.info("TransactionServiceImpl.getTransactions() :: Fetch {} transactions after ID {}", pageSize, afterId);
+        List<Transaction> rows = transactionRepository.findPageAfter(afterId != null ? afterId : 0, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Transaction::getTransactionId);
+    }
+
+    /**
+     * Hands every transaction, with its customer, to the consumer in ID order while reading them from a database cursor.
      *
-     * @return a list of all transactions
+     * @param consumer receives each transaction
+     * @return the number of transactions exported
      */
     @Override
-    public List<Transaction> getAllTransactions() {
-        log.info("TransactionServiceImpl.getAllTransactions() :: Fetch all transaction details ");
-        List<Transaction> transactions = transactionRepository.findAll();
-        return transactions;
+    @Transactional(readOnly = true)
+    public long exportTransactions(Consumer<Transaction> consumer) {
+        long exported = transactionRepository.forEachTransaction(consumer);
+        log.info("TransactionServiceImpl.exportTransactions() :: exported {} transactions", exported);
+        return exported;
     }
 
 
@@ -116,11 +220,34 @@ public class TransactionServiceImpl implements TransactionService {
      * @throws TransactionNotFoundException if no transactions are found for the customer
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByCustomerId(Long customerId) {
         List<Transaction> transactionList = transactionRepository.findAllByCustomerCustomerId(customerId);
         if (transactionList.isEmpty()) {
-            throw new TransactionNotFoundException("No transactions found for customer ID: " + customerId);
+            throw new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId);
         }
         return transactionList;
     }
+
+    private String validateBatchTransaction(Transaction transaction, Map<Long, Customer> customers) {
+        if (transaction == null || transaction.getCustomer() == null || transaction.getCustomer().getCustomerId() == null) {
+            return Constants.TRANSACTION_CUSTOMER_REQUIRED;
+        }
+        if (!customers.containsKey(transaction.getCustomer().getCustomerId())) {
+            return Constants.CUSTOMER_ID_NOT_FOUND + transaction.getCustomer().getCustomerId();
+        }
+        if (!MonthKey.isValid(transaction.getTransactionMonth())) {
+            return Constants.INVALID_TRANSACTION_MONTH;
+        }
+        if ((int) transaction.getAmount() <= 0) {
+            return Constants.INVALID_AMOUNT;
+        }
+        return null;
+    }
+
+    private void validateTransactionMonth(Transaction transaction) {
+        if (!MonthKey.isValid(transaction.getTransactionMonth())) {
+            throw new InvalidTransactionException(Constants.INVALID_TRANSACTION_MONTH);
+        }
+    }
 }
@@ -7,5 +7,30 @@ public class Constants {
     public final static String TRANSCTION_ID_NOT_FOUND = "Transaction not found with ID:";
     public final static String TRANSACTIONS_NOT_FOUND = "No transactions found for calculating monthly rewards.";
     public final static String REWARDS_NOT_FOUND = "No Rewards found for customer";
+    public final static String CUSTOMER_TRANSACTIONS_NOT_FOUND = "No transactions found for customer ID: ";
+    public final static String INVALID_TRANSACTION_MONTH = "Transaction month must be formatted as YYYY-MM.";
+    public final static String TRANSACTION_CUSTOMER_REQUIRED = "Transaction must have a customer associated with it";
+    public final static int MAX_TRANSACTION_BATCH_SIZE = 10000;
+    public final static String INVALID_TRANSACTION_BATCH_SIZE = "Transaction batch must contain between 1 and " + MAX_TRANSACTION_BATCH_SIZE + " transactions.";
+    public final static int DEFAULT_PAGE_SIZE = 100;
+    public final static int MAX_PAGE_SIZE = 1000;
+    public final static String INVALID_PAGE_SIZE = "Page size must be between 1 and " + MAX_PAGE_SIZE + ".";
+    public final static String IMPORT_JOB_NOT_FOUND = "Import job not found with ID:";
+    public final static String IMPORT_JOB_COMPLETED = "Import job is already completed, ID:";
+    public final static String IMPORT_JOB_CONCURRENT = "Import job was resumed by another import, ID:";
+    public final static String IMPORT_JOB_FORMAT_MISMATCH = "Import job must be resumed with the format it was started with: ";
+    public final static String INVALID_IMPORT_CHUNK_SIZE = "Import chunk size must be between 1 and " + MAX_TRANSACTION_BATCH_SIZE + ".";
+    public final static String INVALID_MONTH_RANGE = "Reward months must be formatted as YYYY-MM, with from not after to.";
+    public final static int MAX_REWARD_RANGE_BATCH_SIZE = 10000;
+    public final static int DEFAULT_LEADERBOARD_SIZE = 10;
+    public final static String INVALID_LEADERBOARD_MONTH = "Leaderboard month must be formatted as YYYY-MM.";
+    public final static String INVALID_IMPORT_CSV_HEADER = "CSV import must start with a header containing customerId, amount and transactionMonth.";
+    public final static int MAX_RECOMPUTE_RANGE_SIZE = 100000;
+    public final static String INVALID_RECOMPUTE_RANGE_SIZE = "Recompute range size must be between 1 and " + MAX_RECOMPUTE_RANGE_SIZE + ".";
+    public final static String RECOMPUTE_JOB_NOT_FOUND = "Recompute job not found with ID:";
+    public final static String RECOMPUTE_JOB_COMPLETED = "Recompute job is already completed, ID:";
+    public final static String RECOMPUTE_JOB_RUNNING = "A recompute job is already running, ID:";
+    public final static String TRANSACTION_QUEUE_FULL = "Transaction ingestion is at capacity, retry later.";
+    public final static String TRANSACTION_COMMIT_PENDING = "Transaction is queued but not committed yet, check for it before retrying.";
 
 }
@@ -0,0 +1,77 @@
+package com.retailer.reward.platform.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used by the service layer for internal parallel work.
+ * With spring.threads.virtual.enabled on Java 21, Spring Boot runs request handling and async
+ * request processing on virtual threads, and executors whose tasks block on I/O follow it.
+ * CPU-bound executors keep one platform thread per core in both modes.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Fork-join pool aggregating customer partitions of the batch reward calculation.
+     * A parallelism of 0 uses one worker per available core. Partitions are aggregated from rows
+     * already read, the work is CPU-bound and stays on platform threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool rewardBatchPool(@Value("${reward.batch.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Threads reading and parsing bulk import input ahead of the chunk writer, one per running import.
+     * Readers block on the request body, they are virtual threads in the virtual thread mode.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService transactionImportExecutor(Environment environment) {
+        ThreadFactory threadFactory;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("transaction-import-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            threadFactory = task -> {
+                Thread thread = new Thread(task, "transaction-import-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        // A thread per task executor needs the Java 21 API, reusing idle virtual threads is harmless
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * Workers of the reward recomputation job, each recomputing one customer range at a time.
+     * A worker holds at most one pooled connection, so the fixed number of workers bounds the connections
+     * the job takes from request handling. Workers block on the database, they are virtual threads in the
+     * virtual thread mode, still fixed in number.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService rewardRecomputeExecutor(Environment environment, @Value("${reward.recompute.parallelism:4}") int parallelism) {
+        ThreadFactory threadFactory;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("reward-recompute-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            threadFactory = task -> {
+                Thread thread = new Thread(task, "reward-recompute-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        return Executors.newFixedThreadPool(Math.max(1, parallelism), threadFactory);
+    }
+}
@@ -0,0 +1,19 @@
+package com.retailer.reward.platform.util;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration. HTTP endpoints and the connection pool are instrumented by Spring Boot,
+ * service methods annotated with {@link io.micrometer.core.annotation.Timed} are timed by the aspect.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.retailer.reward.platform.util;
+
+/**
+ * Encodes transaction months as int keys of the form yyyymm, e.g. 202401 for 2024-01.
+ * Keys sort in calendar order and compare without hashing or string comparison; the
+ * YYYY-MM text form is only produced at the API boundary.
+ */
+public final class MonthKey {
+
+    private MonthKey() {
+    }
+
+    /**
+     * Parses a month formatted as YYYY-MM.
+     *
+     * @param month the month text
+     * @return the month key
+     * @throws IllegalArgumentException if the month is not formatted as YYYY-MM
+     */
+    public static int parse(String month) {
+        if (month == null || month.length() != 7 || month.charAt(4) != '-') {
+            throw new IllegalArgumentException("Month must be formatted as YYYY-MM: " + month);
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            year = year * 10 + digit(month, i);
+        }
+        int monthOfYear = digit(month, 5) * 10 + digit(month, 6);
+        if (monthOfYear < 1 || monthOfYear > 12) {
+            throw new IllegalArgumentException("Month must be formatted as YYYY-MM: " + month);
+        }
+        return year * 100 + monthOfYear;
+    }
+
+    /**
+     * Formats a month key as YYYY-MM.
+     *
+     * @param key the month key
+     * @return the month text
+     */
+    public static String format(int key) {
+        int year = key / 100;
+        int monthOfYear = key % 100;
+        return new String(new char[]{
+                (char) ('0' + year / 1000), (char) ('0' + year / 100 % 10), (char) ('0' + year / 10 % 10), (char) ('0' + year % 10),
+                '-', (char) ('0' + monthOfYear / 10), (char) ('0' + monthOfYear % 10)});
+    }
+
+    /**
+     * Checks that a key denotes a month between 0000-01 and 9999-12.
+     */
+    public static boolean isValid(int key) {
+        int monthOfYear = key % 100;
+        return key > 0 && key <= 999912 && monthOfYear >= 1 && monthOfYear <= 12;
+    }
+
+    /**
+     * Converts a month key to a dense, contiguous month number, so consecutive months
+     * can index consecutive array slots.
+     */
+    public static int toIndex(int key) {
+        return (key / 100) * 12 + key % 100 - 1;
+    }
+
+    /**
+     * Converts a month number produced by {@link #toIndex(int)} back to a month key.
+     */
+    public static int fromIndex(int index) {
+        return (index / 12) * 100 + index % 12 + 1;
+    }
+
+    private static int digit(String month, int position) {
+        char c = month.charAt(position);
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Month must be formatted as YYYY-MM: " + month);
+        }
+        return c - '0';
+    }
+}
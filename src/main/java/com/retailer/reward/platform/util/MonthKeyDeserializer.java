@@ -0,0 +1,27 @@
+package com.retailer.reward.platform.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a month formatted as YYYY-MM into a month key.
+ */
+public class MonthKeyDeserializer extends StdDeserializer<Integer> {
+
+    public MonthKeyDeserializer() {
+        super(Integer.class);
+    }
+
+    @Override
+    public Integer deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String text = parser.getValueAsString();
+        try {
+            return MonthKey.parse(text);
+        } catch (IllegalArgumentException e) {
+            return (Integer) context.handleWeirdStringValue(Integer.class, text, "expected a month formatted as YYYY-MM");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.retailer.reward.platform.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a month key as YYYY-MM text, keeping the JSON representation of transactions unchanged.
+ */
+public class MonthKeySerializer extends StdSerializer<Integer> {
+
+    public MonthKeySerializer() {
+        super(Integer.class);
+    }
+
+    @Override
+    public void serialize(Integer value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeString(MonthKey.format(value));
+    }
+}
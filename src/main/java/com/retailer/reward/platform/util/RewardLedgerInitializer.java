@@ -0,0 +1,46 @@
+package com.retailer.reward.platform.util;
+
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.rules.RewardRulesChangedEvent;
+import com.retailer.reward.platform.service.RewardRecomputeService;
+import com.retailer.reward.platform.service.RewardReplayService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the reward ledger on startup from the latest reward snapshot and the transaction events
+ * after it, and whenever the reward rules change. Without a snapshot for the current rules, as on the
+ * first start or after a rules change, the ledger is aggregated from the transactions, including those
+ * loaded by the data insertion script, and becomes the baseline snapshot. The startup restore runs once
+ * all singletons are created, before the web server starts accepting requests. A recomputation job left
+ * running by the previous process then resumes in the background with the ranges it had not completed.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class RewardLedgerInitializer implements SmartInitializingSingleton {
+
+    private final RewardReplayService rewardReplayService;
+
+    private final RewardRecomputeService rewardRecomputeService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        RewardReplayResult result = rewardReplayService.replayLedger();
+        log.info("RewardLedgerInitializer.afterSingletonsInstantiated():: reward ledger initialized for {} customers, {} events replayed",
+                result.getCustomers(), result.getReplayedEvents());
+        int resumed = rewardRecomputeService.resumeInterruptedJobs();
+        if (resumed > 0) {
+            log.info("RewardLedgerInitializer.afterSingletonsInstantiated():: resumed {} interrupted recompute jobs", resumed);
+        }
+    }
+
+    @EventListener
+    public void onRewardRulesChanged(RewardRulesChangedEvent event) {
+        RewardReplayResult result = rewardReplayService.replayLedger();
+        log.info("RewardLedgerInitializer.onRewardRulesChanged():: reward ledger rebuilt for {} customers", result.getCustomers());
+    }
+}
@@ -0,0 +1,118 @@
+package com.retailer.reward.platform.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Application meters recorded by services and exception handlers.
+ */
+@Component
+public class RewardMetrics {
+
+    public static final String TRANSACTIONS_PER_CALCULATION = "reward.calculation.transactions";
+    public static final String HANDLED_EXCEPTIONS = "reward.exceptions.handled";
+    public static final String GROUP_COMMIT_ROWS = "reward.group.commit.rows";
+    public static final String GROUP_COMMIT_DURATION = "reward.group.commit.duration";
+    public static final String GROUP_COMMIT_LATENCY = "reward.group.commit.latency";
+    public static final String GROUP_COMMIT_QUEUED = "reward.group.commit.queued";
+    public static final String GROUP_COMMIT_REJECTED = "reward.group.commit.rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    public RewardMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records how many transactions a reward calculation covered, so growing histories show up per calculation.
+     *
+     * @param calculation  the kind of calculation, e.g. total, monthly or batch
+     * @param transactions the number of transactions covered
+     */
+    public void recordTransactions(String calculation, long transactions) {
+        DistributionSummary.builder(TRANSACTIONS_PER_CALCULATION)
+                .description("Transactions covered by a reward calculation")
+                .baseUnit("transactions")
+                .tag("calculation", calculation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(transactions);
+    }
+
+    /**
+     * Counts an exception turned into an error response.
+     *
+     * @param exception the handled exception
+     */
+    public void countHandledException(Exception exception) {
+        Counter.builder(HANDLED_EXCEPTIONS)
+                .description("Exceptions turned into error responses")
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records one group commit of queued transactions. The count of the duration timer is the number of commits,
+     * the total of the rows summary the number of rows, so their rates give commits and rows per second.
+     *
+     * @param rows        the number of transactions in the commit
+     * @param commitNanos the time taken by the database transaction
+     */
+    public void recordGroupCommit(int rows, long commitNanos) {
+        DistributionSummary.builder(GROUP_COMMIT_ROWS)
+                .description("Transactions written per group commit")
+                .baseUnit("transactions")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rows);
+        Timer.builder(GROUP_COMMIT_DURATION)
+                .description("Time taken by a group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(commitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time from queueing a transaction for group commit until it was committed or rejected,
+     * the latency a caller pays for sharing commits.
+     *
+     * @param nanos the time the caller waited
+     */
+    public void recordGroupCommitLatency(long nanos) {
+        Timer.builder(GROUP_COMMIT_LATENCY)
+                .description("Time from queueing a transaction until its group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publishes the number of transactions waiting for a group commit.
+     *
+     * @param queued supplies the current queue length
+     */
+    public void registerGroupCommitQueue(Supplier<Number> queued) {
+        Gauge.builder(GROUP_COMMIT_QUEUED, queued)
+                .description("Transactions waiting for a group commit")
+                .baseUnit("transactions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a transaction turned away because the group commit queue was full.
+     */
+    public void countGroupCommitRejected() {
+        Counter.builder(GROUP_COMMIT_REJECTED)
+                .description("Transactions rejected because the group commit queue was full")
+                .register(meterRegistry)
+                .increment();
+    }
+}
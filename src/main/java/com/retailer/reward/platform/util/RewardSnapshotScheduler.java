@@ -0,0 +1,36 @@
+package com.retailer.reward.platform.util;
+
+import com.retailer.reward.platform.service.RewardReplayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes a reward snapshot periodically once enough transaction events were appended since the latest one,
+ * which bounds the number of events a recovery has to replay.
+ */
+@Component
+@EnableScheduling
+@Slf4j
+public class RewardSnapshotScheduler {
+
+    private final RewardReplayService rewardReplayService;
+    private final long minEvents;
+
+    public RewardSnapshotScheduler(RewardReplayService rewardReplayService,
+                                   @Value("${reward.event-log.snapshot-min-events:10000}") long minEvents) {
+        this.rewardReplayService = rewardReplayService;
+        this.minEvents = minEvents;
+    }
+
+    @Scheduled(initialDelayString = "${reward.event-log.snapshot-interval:PT5M}", fixedDelayString = "${reward.event-log.snapshot-interval:PT5M}")
+    public void takeSnapshot() {
+        long events = rewardReplayService.getEventsSinceSnapshot();
+        if (events >= minEvents) {
+            rewardReplayService.takeSnapshot();
+            log.info("RewardSnapshotScheduler.takeSnapshot():: snapshot taken after {} events", events);
+        }
+    }
+}
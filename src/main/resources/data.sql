@@ -1,34 +1,38 @@
-INSERT INTO customer (customer_name) VALUES ('James');
-INSERT INTO customer (customer_name) VALUES ('Sai');
-INSERT INTO customer (customer_name) VALUES ('Jhon');
-INSERT INTO customer (customer_name) VALUES ('Raj');
-INSERT INTO customer (customer_name) VALUES ('David');
-INSERT INTO customer (customer_name) VALUES ('Sam');
-INSERT INTO customer (customer_name) VALUES ('Jhon');
-INSERT INTO customer (customer_name) VALUES ('Mathew');
-INSERT INTO customer (customer_name) VALUES ('Joe');
+INSERT INTO customer (customer_id, customer_name) VALUES (1, 'James');
+INSERT INTO customer (customer_id, customer_name) VALUES (2, 'Sai');
+INSERT INTO customer (customer_id, customer_name) VALUES (3, 'Jhon');
+INSERT INTO customer (customer_id, customer_name) VALUES (4, 'Raj');
+INSERT INTO customer (customer_id, customer_name) VALUES (5, 'David');
+INSERT INTO customer (customer_id, customer_name) VALUES (6, 'Sam');
+INSERT INTO customer (customer_id, customer_name) VALUES (7, 'Jhon');
+INSERT INTO customer (customer_id, customer_name) VALUES (8, 'Mathew');
+INSERT INTO customer (customer_id, customer_name) VALUES (9, 'Joe');
 
 
 
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (120.0, '2024-01', 1);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (80.0, '2024-01', 2);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (201.5, '2024-02', 1);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (50.0, '2024-02', 3);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 2);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (220.0, '2024-03', 3);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (120.0, '2024-01', 1);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (80.0, '2024-01', 2);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (200.0, '2024-02', 1);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (55.0, '2024-02', 3);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 5);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (210.0, '2024-03', 6);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 7);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (220.12, '2024-03', 5);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 6);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (220.0, '2024-03', 7);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 4);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (220.0, '2024-03', 3);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 6);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (220.0, '2024-03', 8);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (150.0, '2024-03', 6);
-INSERT INTO transaction (amount, transaction_month, customer_id) VALUES (51.5, '2024-03', 7);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (1, 120.0, 202401, 1);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (2, 80.0, 202401, 2);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (3, 201.5, 202402, 1);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (4, 50.0, 202402, 3);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (5, 150.0, 202403, 2);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (6, 220.0, 202403, 3);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (7, 120.0, 202401, 1);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (8, 80.0, 202401, 2);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (9, 200.0, 202402, 1);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (10, 55.0, 202402, 3);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (11, 150.0, 202403, 5);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (12, 210.0, 202403, 6);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (13, 150.0, 202403, 7);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (14, 220.12, 202403, 5);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (15, 150.0, 202403, 6);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (16, 220.0, 202403, 7);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (17, 150.0, 202403, 4);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (18, 220.0, 202403, 3);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (19, 150.0, 202403, 6);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (20, 220.0, 202403, 8);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (21, 150.0, 202403, 6);
+INSERT INTO transaction (transaction_id, amount, transaction_month, customer_id) VALUES (22, 51.5, 202403, 7);
+
+-- Continue the ID sequences after the explicitly numbered rows above
+ALTER SEQUENCE customer_seq RESTART WITH 10;
+ALTER SEQUENCE transaction_seq RESTART WITH 23;
@@ -1,16 +1,141 @@
+-- Sequences handing out blocks of 50 IDs, so Hibernate can assign IDs
+-- without an insert and batch the inserts (pooled-lo optimizer)
+CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 50;
+
 -- Create Customer table
 CREATE TABLE customer (
-    customer_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id BIGINT DEFAULT NEXT VALUE FOR customer_seq PRIMARY KEY,
     customer_name VARCHAR(255) NOT NULL
 );
 
 -- Create Transaction table
 CREATE TABLE transaction (
-    transaction_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    transaction_id BIGINT DEFAULT NEXT VALUE FOR transaction_seq PRIMARY KEY,
     amount DOUBLE NOT NULL,
-    transaction_month VARCHAR(255),
+    transaction_month INT NOT NULL,
     customer_id BIGINT,
     CONSTRAINT fk_customer
         FOREIGN KEY (customer_id)
         REFERENCES Customer(customer_id)
 );
+
+-- Reward reads filter by customer and group by month, carrying the amount in the
+-- index lets them be answered from the index alone, without touching table rows
+CREATE INDEX idx_transaction_customer_month ON transaction (customer_id, transaction_month, amount);
+
+-- Create Customer reward ledger table
+CREATE TABLE customer_reward_ledger (
+    customer_id BIGINT PRIMARY KEY,
+    total_points INT NOT NULL,
+    transaction_count INT NOT NULL,
+    version BIGINT NOT NULL
+);
+
+-- Create Customer monthly reward rollup table
+CREATE TABLE customer_month_rewards (
+    customer_id BIGINT NOT NULL,
+    reward_month INT NOT NULL,
+    points INT NOT NULL,
+    spend DOUBLE NOT NULL,
+    transaction_count INT NOT NULL,
+    PRIMARY KEY (customer_id, reward_month)
+);
+
+-- Create bulk import job table, the committed offset is the resume point
+CREATE TABLE import_job (
+    job_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    format VARCHAR(16) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    chunk_size INT NOT NULL,
+    committed_offset BIGINT NOT NULL,
+    created_count BIGINT NOT NULL,
+    rejected_count BIGINT NOT NULL,
+    last_rejection VARCHAR(500),
+    last_error VARCHAR(500),
+    rows_per_second DOUBLE NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Append-only log of transaction mutations. Writers take the next sequence numbers from the head row,
+-- whose row lock is held until commit, so events become visible in sequence order without gaps
+CREATE TABLE transaction_event (
+    sequence BIGINT PRIMARY KEY,
+    event_type VARCHAR(16) NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    amount DOUBLE NOT NULL,
+    transaction_month INT NOT NULL,
+    previous_amount DOUBLE,
+    previous_month INT,
+    recorded_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE transaction_event_head (
+    id INT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+INSERT INTO transaction_event_head (id, last_sequence) VALUES (1, 0);
+
+-- Create reward snapshot tables, the monthly rollup of every customer as of a log sequence
+-- under the reward rules with the given fingerprint
+CREATE TABLE reward_snapshot (
+    snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL,
+    rules_fingerprint VARCHAR(64) NOT NULL,
+    customer_month_count INT NOT NULL,
+    replayed_events BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE reward_snapshot_month (
+    snapshot_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    reward_month INT NOT NULL,
+    points INT NOT NULL,
+    spend DOUBLE NOT NULL,
+    transaction_count INT NOT NULL,
+    PRIMARY KEY (snapshot_id, customer_id, reward_month)
+);
+
+-- Create reward recomputation job tables. The customer ID space is split into ranges when the job starts,
+-- each range is marked completed in the database transaction that writes its ledger rows, the resume point
+CREATE TABLE recompute_job (
+    job_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    range_size INT NOT NULL,
+    total_ranges INT NOT NULL,
+    completed_ranges INT NOT NULL,
+    customer_count BIGINT NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    customers_per_second DOUBLE NOT NULL,
+    estimated_completion_at TIMESTAMP,
+    last_error VARCHAR(500),
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE recompute_range (
+    range_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    first_customer_id BIGINT NOT NULL,
+    last_customer_id BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    customer_count INT NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_recompute_range_job ON recompute_range (job_id, completed);
+
+-- Heartbeat of the replica lag monitor, which bumps the beat on the primary at every check
+-- and reads the replica's copy to learn which of its checks the replica has caught up with
+CREATE TABLE replica_heartbeat (
+    id INT PRIMARY KEY,
+    beat BIGINT NOT NULL,
+    beat_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, beat, beat_at) VALUES (1, 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,73 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.service.RewardCalculationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the reactive profile on a real Netty server and checks the streamed R2DBC folds against
+ * the reward aggregates computed by the database through JPA.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive",
+        "reward.reactive.r2dbc-url=r2dbc:h2:mem:///reactive"
+})
+@ActiveProfiles("reactive")
+public class ReactiveRewardsApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Test
+    public void testGetCustomerTotalRewards_MatchesDatabaseAggregate() {
+        webTestClient.get().uri("/api/v1/rewards/customer/1/total-rewards")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(rewardCalculationService.getCustomerTotalRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewards_MatchesDatabaseAggregate() {
+        Map<String, Integer> monthlyRewards = webTestClient.get().uri("/api/v1/rewards/customer/1/monthly-rewards")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<Map<String, Integer>>() {})
+                .returnResult().getResponseBody();
+
+        assertEquals(rewardCalculationService.getCustomerMonthlyRewards(1L).toMap(), monthlyRewards);
+    }
+
+    @Test
+    public void testGetCustomerRewards_Transaction() {
+        webTestClient.get().uri("/api/v1/rewards/transaction/1/rewards")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(90);
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_UnknownCustomer() {
+        webTestClient.get().uri("/api/v1/rewards/customer/999/total-rewards")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("No transactions found for customer ID: 999");
+    }
+
+    @Test
+    public void testMvcEndpointsAreNotServed() {
+        webTestClient.get().uri("/api/v1/transactions")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,54 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.service.ReactiveRewardService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveRewardsControllerIntegrationTest {
+
+    @Mock
+    private ReactiveRewardService reactiveRewardService;
+
+    @InjectMocks
+    private ReactiveRewardsController reactiveRewardsController;
+
+    @Test
+    public void testGetCustomerRewards() {
+        when(reactiveRewardService.getTransactionRewards(1L)).thenReturn(Mono.just(90));
+
+        assertEquals(90, reactiveRewardsController.getCustomerRewards(1L).block());
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewards() {
+        when(reactiveRewardService.getCustomerMonthlyRewards(1L))
+                .thenReturn(Mono.just(new MonthlyRewards(new int[]{202401, 202402}, new int[]{90, 0})));
+
+        Map<String, Integer> monthlyRewards = reactiveRewardsController.getCustomerMonthlyRewards(1L).block();
+
+        assertEquals(List.of("2024-01", "2024-02"), List.copyOf(monthlyRewards.keySet()));
+        assertEquals(90, monthlyRewards.get("2024-01"));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_NoTransactions() {
+        when(reactiveRewardService.getCustomerTotalRewards(1L))
+                .thenReturn(Mono.error(new TransactionNotFoundException("No transactions found for customer ID: 1")));
+
+        assertThrows(TransactionNotFoundException.class, () -> reactiveRewardsController.getCustomerTotalRewards(1L).block());
+    }
+}
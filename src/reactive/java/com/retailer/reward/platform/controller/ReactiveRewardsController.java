@@ -0,0 +1,70 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.service.ReactiveRewardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Reactive REST controller serving the reward read endpoints with the reactive profile.
+ * Same paths and responses as {@link RewardsController}, calculated from transactions streamed
+ * over R2DBC on WebFlux instead of read from the ledger over JDBC.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/rewards")
+@Tag(name = "Rewards Management System", description = "Operations pertaining to rewards in Rewards Management System")
+@Slf4j
+@AllArgsConstructor
+public class ReactiveRewardsController {
+
+    private final ReactiveRewardService reactiveRewardService;
+
+    /**
+     * Calculates the reward points for a specific transaction.
+     *
+     * @param transactionId the ID of the transaction to calculate rewards for
+     * @return the reward points for the specified transaction
+     */
+    @Operation(summary = "Calculate each transaction reward points", description = "get the each transaction reward points by transactionID ")
+    @GetMapping("/transaction/{transactionId}/rewards")
+    public Mono<Integer> getCustomerRewards(@PathVariable @NotNull Long transactionId) {
+        return reactiveRewardService.getTransactionRewards(transactionId);
+    }
+
+    /**
+     * Calculates the monthly reward points for a customer.
+     *
+     * @param customerId the ID of the customer to retrieve monthly rewards for
+     * @return a map of months and their corresponding reward points for the specified customer
+     */
+    @Operation(summary = "Calculate reward points per month for a customer", description = "Get the customer monthly rewards points summary by customerId")
+    @GetMapping("/customer/{customerId}/monthly-rewards")
+    public Mono<Map<String, Integer>> getCustomerMonthlyRewards(@PathVariable @NotNull Long customerId) {
+        log.info("Fetching reward points per month for customer with ID: {}", customerId);
+        return reactiveRewardService.getCustomerMonthlyRewards(customerId).map(MonthlyRewards::toMap);
+    }
+
+    /**
+     * Calculates the total reward points for a customer.
+     *
+     * @param customerId the ID of the customer to retrieve total rewards for
+     * @return the total reward points for the specified customer
+     */
+    @Operation(summary = "Calculate total reward points for a customer", description = "Get the customer total reward points by customerId")
+    @GetMapping("/customer/{customerId}/total-rewards")
+    public Mono<Integer> getCustomerTotalRewards(@PathVariable @NotNull Long customerId) {
+        return reactiveRewardService.getCustomerTotalRewards(customerId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRewardService {
+
+    Mono<Integer> getTransactionRewards(Long transactionId);
+
+    Mono<MonthlyRewards> getCustomerMonthlyRewards(Long customerId);
+
+    Mono<Integer> getCustomerTotalRewards(Long customerId);
+
+}
@@ -0,0 +1,156 @@
+package com.retailer.reward.platform.serviceimpl;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.exception.RewardNotFoundException;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.ReactiveRewardService;
+import com.retailer.reward.platform.util.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * Reactive service implementation calculating rewards from transactions streamed over R2DBC.
+ * Rows are folded into points as they arrive, no request holds a thread while waiting on the database.
+ * The connection pool is private to this service and signs in with the JDBC DataSource's credentials:
+ * a ConnectionFactory bean would make Spring Boot back off from the DataSource the rest of the application runs on,
+ * so the pool's gauges are bound here as well.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveRewardServiceImpl implements ReactiveRewardService, DisposableBean {
+
+    private static final String SELECT_TRANSACTION = "select amount, transaction_month from transaction " +
+            "where transaction_id = :transactionId";
+    private static final String SELECT_CUSTOMER_TRANSACTIONS = "select amount, transaction_month from transaction " +
+            "where customer_id = :customerId order by transaction_month";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final RewardCalculationService rewardCalculationService;
+
+    public ReactiveRewardServiceImpl(RewardCalculationService rewardCalculationService, MeterRegistry meterRegistry,
+                                     @Value("${reward.reactive.r2dbc-url}") String r2dbcUrl,
+                                     @Value("${reward.reactive.pool-size:20}") int poolSize,
+                                     @Value("${spring.datasource.username}") String username,
+                                     @Value("${spring.datasource.password}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        new ConnectionPoolMetrics(connectionPool, "reward", Tags.empty()).bindTo(meterRegistry);
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.rewardCalculationService = rewardCalculationService;
+    }
+
+    /**
+     * Calculates the reward points of a single transaction.
+     *
+     * @param transactionId the ID of the transaction
+     * @return the reward points, or an error if the transaction does not exist
+     */
+    @Override
+    public Mono<Integer> getTransactionRewards(Long transactionId) {
+        return databaseClient.sql(SELECT_TRANSACTION)
+                .bind("transactionId", transactionId)
+                .map(this::rewardPoints)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Transaction not found with ID: " + transactionId)));
+    }
+
+    /**
+     * Folds the customer's transactions, streamed in month order, into reward points per month.
+     *
+     * @param customerId the ID of the customer
+     * @return the reward points of each month with transactions, or an error if the customer has no transactions
+     */
+    @Override
+    public Mono<MonthlyRewards> getCustomerMonthlyRewards(Long customerId) {
+        return databaseClient.sql(SELECT_CUSTOMER_TRANSACTIONS)
+                .bind("customerId", customerId)
+                .map(row -> new MonthPoints(row.get("transaction_month", Integer.class), rewardPoints(row)))
+                .all()
+                .reduceWith(MonthlyFold::new, MonthlyFold::add)
+                .filter(fold -> fold.size > 0)
+                .map(MonthlyFold::toMonthlyRewards)
+                .switchIfEmpty(Mono.error(() -> new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId)));
+    }
+
+    /**
+     * Folds the customer's transactions into their total reward points.
+     *
+     * @param customerId the ID of the customer
+     * @return the total reward points, or an error if the customer has no transactions or no reward points
+     */
+    @Override
+    public Mono<Integer> getCustomerTotalRewards(Long customerId) {
+        return databaseClient.sql(SELECT_CUSTOMER_TRANSACTIONS)
+                .bind("customerId", customerId)
+                .map(this::rewardPoints)
+                .all()
+                .reduce(Integer::sum)
+                .switchIfEmpty(Mono.error(() -> new TransactionNotFoundException(Constants.CUSTOMER_TRANSACTIONS_NOT_FOUND + customerId)))
+                .flatMap(total -> total > 0 ? Mono.just(total) : Mono.error(new RewardNotFoundException(Constants.REWARDS_NOT_FOUND)));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private int rewardPoints(Readable row) {
+        return rewardCalculationService.getRewardPoints(row.get("amount", Double.class), row.get("transaction_month", Integer.class));
+    }
+
+    private record MonthPoints(int month, int points) {
+    }
+
+    /**
+     * Accumulates month-ordered points into parallel month and point arrays, one slot per month.
+     */
+    private static final class MonthlyFold {
+
+        private int[] months = new int[12];
+        private int[] points = new int[12];
+        private int size;
+
+        MonthlyFold add(MonthPoints monthPoints) {
+            if (size > 0 && months[size - 1] == monthPoints.month()) {
+                points[size - 1] += monthPoints.points();
+                return this;
+            }
+            if (size == months.length) {
+                months = Arrays.copyOf(months, size * 2);
+                points = Arrays.copyOf(points, size * 2);
+            }
+            months[size] = monthPoints.month();
+            points[size] = monthPoints.points();
+            size++;
+            return this;
+        }
+
+        MonthlyRewards toMonthlyRewards() {
+            return new MonthlyRewards(Arrays.copyOf(months, size), Arrays.copyOf(points, size));
+        }
+    }
+}
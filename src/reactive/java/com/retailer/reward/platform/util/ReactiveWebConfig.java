@@ -0,0 +1,23 @@
+package com.retailer.reward.platform.util;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Web server of the reactive profile.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    /**
+     * Serves the reactive profile on Netty. Tomcat stays on the classpath for the MVC stack,
+     * and Spring Boot would otherwise run WebFlux on its reactive Tomcat adapter.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,69 @@
+package com.retailer.reward.platform.columnar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarTransactionStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testAppend_GrowsPastInitialMappingAndPublishesRows() throws IOException {
+        int rows = 200_000;
+        try (ColumnarTransactionStore store = ColumnarTransactionStore.create(directory.resolve("store"))) {
+            for (int row = 0; row < rows; row++) {
+                store.append(row, 202401 + row % 12, row / 10.0, false);
+            }
+            assertEquals(0, store.columns().rows());
+
+            ColumnarTransactionStore.Columns columns = store.publish();
+            assertEquals(rows, columns.rows());
+            assertEquals(202401, columns.firstMonth());
+            assertEquals(202412, columns.lastMonth());
+            for (int row = 0; row < rows; row += 997) {
+                assertEquals(row, columns.customerIds().get(row));
+                assertEquals(202401 + row % 12, columns.months().get(row));
+                assertEquals(row / 10.0, columns.amounts().get(row));
+            }
+            assertTrue(Files.size(directory.resolve("store").resolve("amount.col")) >= (long) rows * Double.BYTES);
+        }
+    }
+
+    @Test
+    public void testDiscardUnpublished_RowsAppendedAgain() throws IOException {
+        try (ColumnarTransactionStore store = ColumnarTransactionStore.create(directory.resolve("store"))) {
+            store.append(1, 202401, 10.0, false);
+            store.publish();
+            store.append(2, 202402, 20.0, false);
+            store.discardUnpublished();
+            store.append(3, 202403, 50.999, false);
+
+            ColumnarTransactionStore.Columns columns = store.publish();
+            assertEquals(2, columns.rows());
+            assertEquals(3, columns.customerIds().get(1));
+            assertEquals(50.999, columns.amounts().get(1));
+        }
+    }
+
+    @Test
+    public void testAppend_RetractionNegatesMonthAndKeepsMonthRange() throws IOException {
+        try (ColumnarTransactionStore store = ColumnarTransactionStore.create(directory.resolve("store"))) {
+            store.append(1, 202401, 120.5, false);
+            store.append(1, 202403, 120.5, true);
+
+            ColumnarTransactionStore.Columns columns = store.publish();
+            assertEquals(-202403, columns.months().get(1));
+            assertEquals(120.5, columns.amounts().get(1));
+            assertEquals(202401, columns.firstMonth());
+            assertEquals(202403, columns.lastMonth());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.dto.ColumnarSnapshotInfo;
+import com.retailer.reward.platform.dto.MonthAnalytics;
+import com.retailer.reward.platform.dto.TransactionAnalytics;
+import com.retailer.reward.platform.service.TransactionAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticsControllerIntegrationTest {
+
+    @Mock
+    private TransactionAnalyticsService transactionAnalyticsService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    @Test
+    public void testGetMonthlyAnalytics() {
+        TransactionAnalytics analytics = new TransactionAnalytics(new ColumnarSnapshotInfo(3, 12L, 0L, LocalDateTime.now()),
+                List.of(new MonthAnalytics(202401, 2L, 170.0, 110L), new MonthAnalytics(202402, 1L, 30.0, 0L)));
+        when(transactionAnalyticsService.getMonthlyAnalytics()).thenReturn(analytics);
+
+        ResponseEntity<TransactionAnalytics> response = analyticsController.getMonthlyAnalytics();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(analytics, response.getBody());
+    }
+
+    @Test
+    public void testExportSnapshot() {
+        ColumnarSnapshotInfo info = new ColumnarSnapshotInfo(3, 12L, 0L, LocalDateTime.now());
+        when(transactionAnalyticsService.exportSnapshot()).thenReturn(info);
+
+        ResponseEntity<ColumnarSnapshotInfo> response = analyticsController.exportSnapshot();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(info, response.getBody());
+        verify(transactionAnalyticsService).exportSnapshot();
+    }
+}
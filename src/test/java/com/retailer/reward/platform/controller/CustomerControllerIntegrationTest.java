@@ -1,5 +1,6 @@
 package com.retailer.reward.platform.controller;
 
+import com.retailer.reward.platform.dto.CursorPage;
 import com.retailer.reward.platform.entity.Customer;
 import com.retailer.reward.platform.service.CustomerService;
 import org.junit.jupiter.api.Test;
@@ -86,12 +87,13 @@ public class CustomerControllerIntegrationTest {
         customers.add(new Customer());
         customers.add(new Customer());
 
-        when(customerService.getAllCustomers()).thenReturn(customers);
+        CursorPage<Customer> page = new CursorPage<>(customers, 2L);
+        when(customerService.getCustomers(null, 2)).thenReturn(page);
 
-        ResponseEntity<List<Customer>> response = customerController.getAllCustomers();
+        ResponseEntity<CursorPage<Customer>> response = customerController.getAllCustomers(null, 2);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(customers, response.getBody());
-        verify(customerService, times(1)).getAllCustomers();
+        assertEquals(page, response.getBody());
+        verify(customerService, times(1)).getCustomers(null, 2);
     }
 }
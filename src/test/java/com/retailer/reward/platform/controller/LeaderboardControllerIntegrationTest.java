@@ -0,0 +1,66 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.dto.LeaderboardEntry;
+import com.retailer.reward.platform.exception.InvalidMonthRangeException;
+import com.retailer.reward.platform.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardControllerIntegrationTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @InjectMocks
+    private LeaderboardController leaderboardController;
+
+    @Test
+    public void testGetTopCustomers() {
+        List<LeaderboardEntry> entries = List.of(new LeaderboardEntry(1, 7L, 580), new LeaderboardEntry(2, 5L, 440));
+        when(leaderboardService.getTopCustomers(null, 2)).thenReturn(entries);
+
+        ResponseEntity<List<LeaderboardEntry>> response = leaderboardController.getTopCustomers(null, 2);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(entries, response.getBody());
+    }
+
+    @Test
+    public void testGetTopCustomers_Month() {
+        when(leaderboardService.getTopCustomers(202403, 10)).thenReturn(List.of());
+
+        ResponseEntity<List<LeaderboardEntry>> response = leaderboardController.getTopCustomers("2024-03", 10);
+
+        assertEquals(List.of(), response.getBody());
+        verify(leaderboardService).getTopCustomers(202403, 10);
+    }
+
+    @Test
+    public void testGetCustomerRank() {
+        LeaderboardEntry entry = new LeaderboardEntry(3, 1L, 90);
+        when(leaderboardService.getCustomerRank(1L, 202401)).thenReturn(entry);
+
+        ResponseEntity<LeaderboardEntry> response = leaderboardController.getCustomerRank(1L, "2024-01");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(entry, response.getBody());
+    }
+
+    @Test
+    public void testGetCustomerRank_InvalidMonth() {
+        assertThrows(InvalidMonthRangeException.class, () -> leaderboardController.getCustomerRank(1L, "2024-13"));
+        verifyNoInteractions(leaderboardService);
+    }
+}
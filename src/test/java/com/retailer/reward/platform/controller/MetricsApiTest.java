@@ -0,0 +1,72 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.service.RewardCalculationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls the API on a real server and checks the meters in the Prometheus scrape.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics"
+})
+@AutoConfigureObservability
+public class MetricsApiTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Test
+    public void testEndpointTimerPublishesHistogram() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/api/v1/rewards/customer/1/total-rewards", String.class).getStatusCode());
+
+        String scrape = scrape();
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("uri=\"/api/v1/rewards/customer/{customerId}/total-rewards\""));
+    }
+
+    @Test
+    public void testTransactionsPerCalculationSummary() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/api/v1/rewards/customer/2/monthly-rewards", String.class).getStatusCode());
+
+        assertTrue(scrape().contains("reward_calculation_transactions_count{calculation=\"monthly\""));
+    }
+
+    @Test
+    public void testHandledExceptionCounter() {
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/api/v1/rewards/customer/999/total-rewards", String.class).getStatusCode());
+
+        assertTrue(scrape().contains("reward_exceptions_handled_total{exception=\"TransactionNotFoundException\""));
+    }
+
+    @Test
+    public void testRewardCalculationTimer() {
+        rewardCalculationService.getCustomerTotalRewards(1L);
+
+        String scrape = scrape();
+        assertTrue(scrape.contains("reward_calculation_seconds_bucket{"));
+        assertTrue(scrape.contains("method=\"getCustomerTotalRewards\""));
+    }
+
+    @Test
+    public void testConnectionPoolGauges() {
+        assertTrue(scrape().contains("hikaricp_connections_active{"));
+    }
+
+    private String scrape() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+}
@@ -0,0 +1,50 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.rules.RewardTier;
+import com.retailer.reward.platform.service.RewardRuleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RewardRulesControllerIntegrationTest {
+
+    @Mock
+    private RewardRuleService rewardRuleService;
+
+    @InjectMocks
+    private RewardRulesController rewardRulesController;
+
+    @Test
+    public void testGetRewardRules() {
+        RewardRules rules = new RewardRules();
+        when(rewardRuleService.getRules()).thenReturn(rules);
+
+        ResponseEntity<RewardRules> response = rewardRulesController.getRewardRules();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(rules, response.getBody());
+    }
+
+    @Test
+    public void testUpdateRewardRules() {
+        RewardRules rules = new RewardRules(List.of(new RewardTier(40, 1)), null, List.of());
+        when(rewardRuleService.updateRules(rules)).thenReturn(rules);
+
+        ResponseEntity<RewardRules> response = rewardRulesController.updateRewardRules(rules);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(rules, response.getBody());
+        verify(rewardRuleService, times(1)).updateRules(rules);
+    }
+}
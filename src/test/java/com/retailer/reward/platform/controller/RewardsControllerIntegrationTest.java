@@ -1,22 +1,49 @@
 package com.retailer.reward.platform.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailer.reward.platform.dto.BatchRewardRequest;
+import com.retailer.reward.platform.dto.CumulativeRewards;
+import com.retailer.reward.platform.dto.CustomerRewardSummary;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.dto.RewardRangeBatchRequest;
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.entity.RecomputeJob;
+import com.retailer.reward.platform.entity.RewardSnapshot;
+import com.retailer.reward.platform.exception.InvalidMonthRangeException;
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.service.BatchRewardService;
 import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.RewardLedgerService;
+import com.retailer.reward.platform.service.RewardRecomputeService;
+import com.retailer.reward.platform.service.RewardReplayService;
+import com.retailer.reward.platform.service.RewardResponseCacheService;
 import com.retailer.reward.platform.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +56,24 @@ public class RewardsControllerIntegrationTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private RewardLedgerService rewardLedgerService;
+
+    @Mock
+    private BatchRewardService batchRewardService;
+
+    @Mock
+    private RewardResponseCacheService rewardResponseCacheService;
+
+    @Mock
+    private RewardReplayService rewardReplayService;
+
+    @Mock
+    private RewardRecomputeService rewardRecomputeService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private RewardsController rewardsController;
 
@@ -51,31 +96,214 @@ public class RewardsControllerIntegrationTest {
     @Test
     public void testGetCustomerMonthlyRewards() {
         Long customerId = 1L;
-        List<Transaction> transactions = List.of(new Transaction(), new Transaction());
-        Map<String, Integer> monthlyRewards = new HashMap<>();
-        monthlyRewards.put("January", 100);
-        when(transactionService.getTransactionsByCustomerId(customerId)).thenReturn(transactions);
-        when(rewardService.getCustomerMonthlyRewards(anyList())).thenReturn(monthlyRewards);
+        MonthlyRewards monthlyRewards = new MonthlyRewards(new int[]{202401, 202402}, new int[]{100, 0});
+        when(rewardLedgerService.getCustomerRewardsVersion(customerId)).thenReturn(3L);
+        when(rewardResponseCacheService.getCustomerMonthlyRewards(customerId, 3L)).thenReturn(monthlyRewards);
 
         // Act
-        ResponseEntity<Map<String, Integer>> response = rewardsController.getCustomerMonthlyRewards(customerId);
+        ResponseEntity<Map<String, Integer>> response = rewardsController.getCustomerMonthlyRewards(customerId, webRequest(null));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(monthlyRewards, response.getBody());
+        assertEquals(eTag(3), response.getHeaders().getETag());
+        assertEquals(List.of("2024-01", "2024-02"), List.copyOf(response.getBody().keySet()));
+        assertEquals(100, response.getBody().get("2024-01"));
+        assertEquals(0, response.getBody().get("2024-02"));
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewards_NotModified() {
+        when(rewardLedgerService.getCustomerRewardsVersion(1L)).thenReturn(3L);
+
+        ResponseEntity<Map<String, Integer>> response = rewardsController.getCustomerMonthlyRewards(1L, webRequest(eTag(3)));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verifyNoInteractions(rewardResponseCacheService);
     }
 
     @Test
     public void testGetCustomerTotalRewards() {
         Long customerId = 1L;
-        List<Transaction> transactions = List.of(new Transaction(), new Transaction());
-        when(transactionService.getTransactionsByCustomerId(customerId)).thenReturn(transactions);
-        when(rewardService.getCustomerTotalRewards(anyList())).thenReturn(200);
+        when(rewardLedgerService.getCustomerRewardsVersion(customerId)).thenReturn(5L);
+        when(rewardResponseCacheService.getCustomerTotalRewards(customerId, 5L)).thenReturn(200);
 
-        ResponseEntity<Integer> response = rewardsController.getCustomerTotalRewards(customerId);
+        ResponseEntity<Integer> response = rewardsController.getCustomerTotalRewards(customerId, webRequest(null));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(eTag(5), response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
         assertEquals(200, response.getBody());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_NotModified() {
+        when(rewardLedgerService.getCustomerRewardsVersion(1L)).thenReturn(5L);
+
+        ResponseEntity<Integer> response = rewardsController.getCustomerTotalRewards(1L, webRequest(eTag(5)));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verifyNoInteractions(rewardResponseCacheService);
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_StaleETag() {
+        when(rewardLedgerService.getCustomerRewardsVersion(1L)).thenReturn(6L);
+        when(rewardResponseCacheService.getCustomerTotalRewards(1L, 6L)).thenReturn(210);
+
+        ResponseEntity<Integer> response = rewardsController.getCustomerTotalRewards(1L, webRequest(eTag(5)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(eTag(6), response.getHeaders().getETag());
+        assertEquals(210, response.getBody());
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_ETagFromEarlierEpoch() {
+        when(rewardLedgerService.getCustomerRewardsVersion(1L)).thenReturn(5L);
+        when(rewardResponseCacheService.getCustomerTotalRewards(1L, 5L)).thenReturn(200);
+
+        // The same version issued before a restart, when the versions counted up from 0 again
+        ResponseEntity<Integer> response = rewardsController.getCustomerTotalRewards(1L, webRequest("\"earlier-epoch-5\""));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(eTag(5), response.getHeaders().getETag());
+        assertEquals(200, response.getBody());
+    }
+
+    @Test
+    public void testGetCustomerRangeRewards() {
+        CumulativeRewards rewards = CumulativeRewards.of(new MonthlyRewards(new int[]{202401, 202402, 202403}, new int[]{90, 30, 250}));
+        when(rewardLedgerService.getCustomerRewardsVersion(1L)).thenReturn(4L);
+        when(rewardResponseCacheService.getCustomerCumulativeRewards(1L, 4L)).thenReturn(rewards);
+
+        ResponseEntity<Integer> response = rewardsController.getCustomerRangeRewards(1L, "2024-02", "2024-03", webRequest(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(eTag(4), response.getHeaders().getETag());
+        assertEquals(280, response.getBody());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    public void testGetCustomerRangeRewards_NotModified() {
+        when(rewardLedgerService.getCustomerRewardsVersion(1L)).thenReturn(4L);
+
+        ResponseEntity<Integer> response = rewardsController.getCustomerRangeRewards(1L, "2024-02", null, webRequest(eTag(4)));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verifyNoInteractions(rewardResponseCacheService);
+    }
+
+    @Test
+    public void testGetCustomerRangeRewards_InvalidRange() {
+        assertThrows(InvalidMonthRangeException.class,
+                () -> rewardsController.getCustomerRangeRewards(1L, "2024-03", "2024-02", webRequest(null)));
+        verifyNoInteractions(rewardLedgerService);
+    }
+
+    @Test
+    public void testGetBatchRangeRewards_InRequestOrder() {
+        RewardRangeBatchRequest request = new RewardRangeBatchRequest(List.of(3L, 1L, 2L), "2024-02", null);
+        when(rewardLedgerService.getCustomerRewardsVersions(request.getCustomerIds())).thenReturn(Map.of(1L, 4L, 3L, 2L));
+        when(rewardResponseCacheService.getCustomersCumulativeRewards(Map.of(1L, 4L, 3L, 2L))).thenReturn(Map.of(
+                1L, CumulativeRewards.of(new MonthlyRewards(new int[]{202401, 202402}, new int[]{90, 30})),
+                3L, CumulativeRewards.of(new MonthlyRewards(new int[]{202405}, new int[]{15}))));
+
+        ResponseEntity<Map<Long, Integer>> response = rewardsController.getBatchRangeRewards(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(3L, 1L, 2L), List.copyOf(response.getBody().keySet()));
+        assertEquals(List.of(15, 30, 0), List.copyOf(response.getBody().values()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetBatchRewards_StreamsOneJsonLinePerCustomer() throws Exception {
+        BatchRewardRequest request = new BatchRewardRequest(List.of(1L, 2L), false);
+        doAnswer(invocation -> {
+            Consumer<CustomerRewardSummary> consumer = invocation.getArgument(1);
+            consumer.accept(new CustomerRewardSummary(2L, new MonthlyRewards(new int[]{202401}, new int[]{30}), 30));
+            consumer.accept(new CustomerRewardSummary(1L, new MonthlyRewards(new int[]{202401}, new int[]{90}), 90));
+            return 2;
+        }).when(batchRewardService).calculateRewards(eq(request), any());
+
+        ResponseEntity<StreamingResponseBody> response = rewardsController.getBatchRewards(request);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"customerId\":2,\"monthlyRewards\":{\"2024-01\":30},\"totalRewards\":30}\n" +
+                "{\"customerId\":1,\"monthlyRewards\":{\"2024-01\":90},\"totalRewards\":90}\n", outputStream.toString());
+    }
+
+    @Test
+    public void testRebuildRewardLedger() {
+        when(rewardLedgerService.rebuildLedger()).thenReturn(9);
+
+        ResponseEntity<Integer> response = rewardsController.rebuildRewardLedger();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(9, response.getBody());
+    }
+
+    @Test
+    public void testTakeRewardSnapshot() {
+        RewardSnapshot snapshot = new RewardSnapshot(3L, 120L, "fingerprint", 40, 20L, null);
+        when(rewardReplayService.takeSnapshot()).thenReturn(snapshot);
+
+        ResponseEntity<RewardSnapshot> response = rewardsController.takeRewardSnapshot();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(snapshot, response.getBody());
+    }
+
+    @Test
+    public void testReplayRewardLedger() {
+        RewardReplayResult result = new RewardReplayResult(3L, 120L, 150L, 30L, 9, 1L, 12L, 30000.0);
+        when(rewardReplayService.replayLedger()).thenReturn(result);
+
+        ResponseEntity<RewardReplayResult> response = rewardsController.replayRewardLedger();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    public void testStartRewardRecompute() {
+        RecomputeJob job = recomputeJob(RecomputeJob.Status.RUNNING, 0);
+        when(rewardRecomputeService.startRecompute(500)).thenReturn(job);
+
+        ResponseEntity<RecomputeJob> response = rewardsController.startRewardRecompute(500);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    public void testResumeRewardRecompute() {
+        RecomputeJob job = recomputeJob(RecomputeJob.Status.RUNNING, 4);
+        when(rewardRecomputeService.resumeRecompute(7L)).thenReturn(job);
+
+        ResponseEntity<RecomputeJob> response = rewardsController.resumeRewardRecompute(7L);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    public void testGetRewardRecompute() {
+        RecomputeJob job = recomputeJob(RecomputeJob.Status.COMPLETED, 10);
+        when(rewardRecomputeService.getRecomputeJob(7L)).thenReturn(job);
+
+        ResponseEntity<RecomputeJob> response = rewardsController.getRewardRecompute(7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10, response.getBody().getCompletedRanges());
     }
 
     @Test
@@ -89,4 +317,22 @@ public class RewardsControllerIntegrationTest {
             assertEquals("Transaction not found with ID: " + transactionId, e.getMessage());
         }
     }
+
+    private static RecomputeJob recomputeJob(RecomputeJob.Status status, int completedRanges) {
+        LocalDateTime now = LocalDateTime.now();
+        return new RecomputeJob(7L, status, 500, 10, completedRanges, completedRanges * 500L, completedRanges * 1500L, 2500.0,
+                null, null, now, now);
+    }
+
+    private String eTag(long version) {
+        return "\"" + ReflectionTestUtils.getField(rewardsController, "eTagEpoch") + "-" + version + "\"";
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/rewards");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
@@ -1,18 +1,31 @@
 package com.retailer.reward.platform.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.dto.TransactionBatchItemResult;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
 import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.ImportJob;
 import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.service.TransactionGroupCommitService;
+import com.retailer.reward.platform.service.TransactionImportService;
 import com.retailer.reward.platform.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +37,15 @@ public class TransactionControllerIntegrationTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    @Mock
+    private TransactionGroupCommitService transactionGroupCommitService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -41,6 +63,61 @@ public class TransactionControllerIntegrationTest {
         verify(transactionService, times(1)).createTransaction(any(Transaction.class));
     }
 
+    @Test
+    public void testCreateTransactionWithGroupCommit() {
+        Transaction transaction = new Transaction();
+        transaction.setCustomer(new Customer());
+        when(transactionGroupCommitService.isEnabled()).thenReturn(true);
+        when(transactionGroupCommitService.createTransaction(transaction)).thenReturn(transaction);
+
+        ResponseEntity<Transaction> response = transactionController.createTransaction(transaction);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(transaction, response.getBody());
+        verify(transactionService, never()).createTransaction(any(Transaction.class));
+    }
+
+    @Test
+    public void testImportTransactions() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("text/csv");
+        request.setContent("customerId,amount,transactionMonth\n1,120,2024-01\n".getBytes());
+        ImportJob job = new ImportJob();
+        ImportJob importedJob = new ImportJob();
+        when(transactionImportService.startImport(ImportJob.Format.CSV, null, 500)).thenReturn(job);
+        when(transactionImportService.importTransactions(eq(job), any(InputStream.class))).thenReturn(importedJob);
+
+        ResponseEntity<ImportJob> response = transactionController.importTransactions(request, null, 500);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(importedJob, response.getBody());
+    }
+
+    @Test
+    public void testGetImportJob() {
+        ImportJob job = new ImportJob();
+        when(transactionImportService.getImportJob(5L)).thenReturn(job);
+
+        ResponseEntity<ImportJob> response = transactionController.getImportJob(5L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    public void testCreateTransactions() {
+        List<Transaction> transactions = List.of(new Transaction(), new Transaction());
+        TransactionBatchResult result = new TransactionBatchResult(1, 1, List.of(
+                TransactionBatchItemResult.created(0, 10L), TransactionBatchItemResult.rejected(1, "Invalid")));
+        when(transactionService.createTransactions(transactions)).thenReturn(result);
+
+        ResponseEntity<TransactionBatchResult> response = transactionController.createTransactions(transactions);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+        verify(transactionService, times(1)).createTransactions(transactions);
+    }
+
     @Test
     public void testUpdateTransaction() {
         Long transactionId = 1L;
@@ -82,12 +159,31 @@ public class TransactionControllerIntegrationTest {
         transactions.add(new Transaction());
         transactions.add(new Transaction());
 
-        when(transactionService.getAllTransactions()).thenReturn(transactions);
+        CursorPage<Transaction> page = new CursorPage<>(transactions, null);
+        when(transactionService.getTransactions(5L, null)).thenReturn(page);
 
-        ResponseEntity<List<Transaction>> response = transactionController.getAllTransactions();
+        ResponseEntity<CursorPage<Transaction>> response = transactionController.getAllTransactions(5L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(transactions, response.getBody());
-        verify(transactionService, times(1)).getAllTransactions();
+        assertEquals(page, response.getBody());
+        verify(transactionService, times(1)).getTransactions(5L, null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportTransactions_WritesJsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Transaction> consumer = invocation.getArgument(0);
+            consumer.accept(new Transaction(1L, 120.0, 202401, new Customer(1L, "John")));
+            consumer.accept(new Transaction(2L, 75.0, 202402, new Customer(1L, "John")));
+            return 2L;
+        }).when(transactionService).exportTransactions(any(Consumer.class));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transactionController.exportTransactions().getBody().writeTo(outputStream);
+
+        assertEquals("[{\"transactionId\":1,\"amount\":120.0,\"transactionMonth\":\"2024-01\",\"customer\":{\"customerId\":1,\"customerName\":\"John\"}}," +
+                "{\"transactionId\":2,\"amount\":75.0,\"transactionMonth\":\"2024-02\",\"customer\":{\"customerId\":1,\"customerName\":\"John\"}}]",
+                outputStream.toString());
     }
 }
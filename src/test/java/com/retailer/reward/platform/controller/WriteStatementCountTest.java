@@ -0,0 +1,132 @@
+package com.retailer.reward.platform.controller;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.util.StatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Counts the SQL statements of the update and delete endpoints: each one writes its row with exactly one
+ * statement, without reading it first. Transaction writes additionally append to the event log and adjust the ledger
+ * and monthly rollup. Statements are counted on the data source, so plain JDBC writes are included.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:writestatements")
+@Import(StatementCounter.DataSourceStatements.class)
+@Transactional
+public class WriteStatementCountTest {
+
+    private static final Pattern TRANSACTION_TABLE = Pattern.compile("(?i)\\btransaction\\b");
+    private static final Pattern CUSTOMER_TABLE = Pattern.compile("(?i)\\bcustomer\\b");
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private CustomerController customerController;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer customer;
+    private Transaction transaction;
+
+    @BeforeEach
+    public void setUp() {
+        customer = customerRepository.save(new Customer(null, "Statement Count"));
+        transaction = transactionController.createTransaction(new Transaction(null, 120.0, 202401, new Customer(customer.getCustomerId(), null))).getBody();
+        entityManager.flush();
+        StatementCounter.clear();
+    }
+
+    @Test
+    public void testUpdateTransaction_OneStatementOnTransactionTable() {
+        assertEquals(HttpStatus.OK, transactionController.updateTransaction(transaction.getTransactionId(),
+                new Transaction(null, 80.0, 202401, null)).getStatusCode());
+
+        // The update, the event log head advance, head read and event insert, then the ledger and month rollup upserts
+        assertEquals(1, count(TRANSACTION_TABLE));
+        assertEquals(6, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testUpdateTransaction_NotFoundIsOneStatement() {
+        assertThrows(TransactionNotFoundException.class,
+                () -> transactionController.updateTransaction(-1L, new Transaction(null, 80.0, 202401, null)));
+
+        assertEquals(1, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testDeleteTransaction_OneStatementOnTransactionTable() {
+        assertEquals(HttpStatus.NO_CONTENT, transactionController.deleteTransaction(transaction.getTransactionId()).getStatusCode());
+
+        assertEquals(1, count(TRANSACTION_TABLE));
+        assertEquals(6, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testDeleteTransaction_NotFoundIsOneStatement() {
+        assertThrows(TransactionNotFoundException.class, () -> transactionController.deleteTransaction(-1L));
+
+        assertEquals(1, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testUpdateCustomer_OneStatement() {
+        assertEquals(HttpStatus.OK, customerController.updateCustomer(customer.getCustomerId(),
+                new Customer(null, "Renamed")).getStatusCode());
+
+        assertEquals(1, count(CUSTOMER_TABLE));
+        assertEquals(1, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testUpdateCustomer_NotFoundIsOneStatement() {
+        assertThrows(ResourceNotFoundException.class, () -> customerController.updateCustomer(-1L, new Customer(null, "Renamed")));
+
+        assertEquals(1, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testDeleteCustomer_OneStatement() {
+        Customer withoutTransactions = customerRepository.save(new Customer(null, "No Transactions"));
+        entityManager.flush();
+        StatementCounter.clear();
+
+        assertEquals(HttpStatus.NO_CONTENT, customerController.deleteCustomer(withoutTransactions.getCustomerId()).getStatusCode());
+
+        assertEquals(1, count(CUSTOMER_TABLE));
+        assertEquals(1, StatementCounter.statements().size());
+    }
+
+    @Test
+    public void testDeleteCustomer_NotFoundIsOneStatement() {
+        assertThrows(ResourceNotFoundException.class, () -> customerController.deleteCustomer(-1L));
+
+        assertEquals(1, StatementCounter.statements().size());
+    }
+
+    private static long count(Pattern table) {
+        List<String> statements = StatementCounter.statements();
+        return statements.stream().filter(sql -> table.matcher(sql).find()).count();
+    }
+}
@@ -0,0 +1,51 @@
+package com.retailer.reward.platform.dto;
+
+import com.retailer.reward.platform.exception.InvalidMonthRangeException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CumulativeRewardsTest {
+
+    // 2023-11: 10, 2023-12: 20, 2024-02: 40, 2024-03: 0, 2024-06: 80
+    private final CumulativeRewards rewards = CumulativeRewards.of(new MonthlyRewards(
+            new int[]{202311, 202312, 202402, 202403, 202406}, new int[]{10, 20, 40, 0, 80}));
+
+    @Test
+    public void testPointsBetween_InclusiveBounds() {
+        assertEquals(60, rewards.pointsBetween(202312, 202402));
+        assertEquals(10, rewards.pointsBetween(202311, 202311));
+        assertEquals(150, rewards.pointsBetween(202311, 202406));
+    }
+
+    @Test
+    public void testPointsBetween_BoundsWithoutTransactions() {
+        assertEquals(40, rewards.pointsBetween(202401, 202405));
+        assertEquals(0, rewards.pointsBetween(202404, 202405));
+        assertEquals(0, rewards.pointsBetween(202201, 202310));
+        assertEquals(0, rewards.pointsBetween(202407, 202512));
+    }
+
+    @Test
+    public void testPointsBetween_OpenRange() {
+        MonthRange all = MonthRange.parse(null, null);
+        assertEquals(150, rewards.pointsBetween(all.fromMonth(), all.toMonth()));
+        MonthRange since = MonthRange.parse("2024-01", null);
+        assertEquals(120, rewards.pointsBetween(since.fromMonth(), since.toMonth()));
+        MonthRange until = MonthRange.parse(null, "2023-12");
+        assertEquals(30, rewards.pointsBetween(until.fromMonth(), until.toMonth()));
+    }
+
+    @Test
+    public void testPointsBetween_NoMonths() {
+        assertEquals(0, CumulativeRewards.of(MonthlyRewards.EMPTY).pointsBetween(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testMonthRange_RejectsInvalidBounds() {
+        assertThrows(InvalidMonthRangeException.class, () -> MonthRange.parse("2024-13", null));
+        assertThrows(InvalidMonthRangeException.class, () -> MonthRange.parse(null, "2024/01"));
+        assertThrows(InvalidMonthRangeException.class, () -> MonthRange.parse("2024-06", "2024-01"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.retailer.reward.platform.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RankedBoardTest {
+
+    private static final Comparator<long[]> ORDER = (a, b) -> RankedBoard.compare(a[0], (int) a[1], b[0], (int) b[1]);
+
+    @Test
+    public void testRankAndTop_OrderByPointsThenCustomerId() {
+        RankedBoard board = new RankedBoard(new SplittableRandom(1));
+        board.insert(3, 50);
+        board.insert(1, 90);
+        board.insert(2, 50);
+        board.insert(4, 10);
+        assertEquals(4, board.size());
+        assertEquals(1, board.rank(1, 90));
+        assertEquals(2, board.rank(2, 50));
+        assertEquals(3, board.rank(3, 50));
+        assertEquals(4, board.rank(4, 10));
+        assertEquals(0, board.rank(4, 11));
+        List<String> top = new ArrayList<>();
+        board.top(3, (rank, customerId, points) -> top.add(rank + ":" + customerId + ":" + points));
+        assertEquals(List.of("1:1:90", "2:2:50", "3:3:50"), top);
+    }
+
+    @Test
+    public void testRemove_MissingEntryIgnored() {
+        RankedBoard board = new RankedBoard(new SplittableRandom(1));
+        board.insert(1, 10);
+        board.remove(1, 20);
+        board.remove(2, 10);
+        assertEquals(1, board.size());
+        board.remove(1, 10);
+        assertEquals(0, board.size());
+        assertEquals(0, board.rank(1, 10));
+    }
+
+    @Test
+    public void testRandomUpdates_MatchSortedReference() {
+        SplittableRandom random = new SplittableRandom(42);
+        TreeSet<long[]> reference = new TreeSet<>(ORDER);
+        Map<Long, Integer> points = new HashMap<>();
+        for (long customerId = 0; customerId < 2000; customerId++) {
+            int value = random.nextInt(500);
+            points.put(customerId, value);
+            reference.add(new long[]{customerId, value});
+        }
+        long[] customerIds = new long[reference.size()];
+        int[] values = new int[reference.size()];
+        int count = 0;
+        for (long[] entry : reference) {
+            customerIds[count] = entry[0];
+            values[count++] = (int) entry[1];
+        }
+        RankedBoard board = RankedBoard.build(customerIds, values, count, new SplittableRandom(7));
+        assertMatches(reference, board);
+
+        for (int i = 0; i < 20000; i++) {
+            long customerId = random.nextLong(2500);
+            Integer current = points.remove(customerId);
+            if (current != null) {
+                board.remove(customerId, current);
+                reference.remove(new long[]{customerId, current});
+            }
+            if (random.nextInt(10) > 0) {
+                int value = random.nextInt(500);
+                board.insert(customerId, value);
+                reference.add(new long[]{customerId, value});
+                points.put(customerId, value);
+            }
+            if (i % 1000 == 0) {
+                assertMatches(reference, board);
+            }
+        }
+        assertMatches(reference, board);
+    }
+
+    private static void assertMatches(TreeSet<long[]> reference, RankedBoard board) {
+        assertEquals(reference.size(), board.size());
+        int expectedRank = 1;
+        for (long[] entry : reference) {
+            assertEquals(expectedRank++, board.rank(entry[0], (int) entry[1]));
+        }
+        List<long[]> top = new ArrayList<>();
+        board.top(100, (rank, customerId, points) -> top.add(new long[]{customerId, points}));
+        List<long[]> expected = reference.stream().limit(100).toList();
+        assertEquals(expected.size(), top.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], top.get(i)[0]);
+            assertEquals(expected.get(i)[1], top.get(i)[1]);
+        }
+    }
+}
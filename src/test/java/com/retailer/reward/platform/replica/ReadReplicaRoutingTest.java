@@ -0,0 +1,170 @@
+package com.retailer.reward.platform.replica;
+
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.service.CustomerService;
+import com.retailer.reward.platform.service.RewardCalculationService;
+import com.retailer.reward.platform.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that read-only transactions run on the replica while it is within the lag tolerance and on the primary
+ * beyond it, that a pinned request stays on one database, and that the replica keeps its foreign keys, with the
+ * replication stand-in and the lag check run by the test instead of their schedules.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing",
+        "reward.replica.enabled=true",
+        "reward.replica.datasource.url=jdbc:h2:mem:routing-replica",
+        "reward.replica.max-lag=PT2S",
+        "reward.replica.lag-check-interval=PT1H",
+        "reward.replica.stand-in.enabled=true",
+        "reward.replica.stand-in.interval=PT1H"
+})
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private ReplicationStandIn replicationStandIn;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        replicationStandIn.replicate();
+        replicaLagMonitor.checkLag();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsReadReplica() {
+        assertTrue(replicaLagMonitor.isWithinTolerance());
+        new JdbcTemplate(replicaDataSource).update("insert into customer (customer_id, customer_name) values (?, ?)",
+                900_000_001L, "Replica Only Customer");
+
+        CursorPage<Customer> page = customerService.getCustomers(900_000_000L, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Replica Only Customer", page.getItems().get(0).getCustomerName());
+        // Reads outside read-only transactions stay on the primary
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from customer where customer_id = ?", Integer.class, 900_000_001L));
+    }
+
+    @Test
+    public void testReadsMovePrimaryBeyondLagTolerance() throws Exception {
+        Customer customer = customerService.createCustomer(new Customer(null, "Routing Customer"));
+        Long customerId = customer.getCustomerId();
+        transactionService.createTransaction(new Transaction(null, 120.0, 202401, customer));
+
+        // The replica is behind but within the tolerance, reads accept the lag
+        assertThrows(TransactionNotFoundException.class, () -> rewardCalculationService.getCustomerTotalRewards(customerId));
+
+        replicaLagMonitor.checkLag();
+        Thread.sleep(2100);
+        replicaLagMonitor.checkLag();
+        assertFalse(replicaLagMonitor.isWithinTolerance());
+        assertEquals(90, rewardCalculationService.getCustomerTotalRewards(customerId));
+
+        replicationStandIn.replicate();
+        replicaLagMonitor.checkLag();
+        assertTrue(replicaLagMonitor.isWithinTolerance());
+        assertEquals(90, rewardCalculationService.getCustomerTotalRewards(customerId));
+    }
+
+    @Test
+    public void testRenameWithoutTransactionsLagsUntilReplicated() throws Exception {
+        Customer customer = customerService.createCustomer(new Customer(null, "Heartbeat Customer"));
+        Long afterId = customer.getCustomerId() - 1;
+        replicationStandIn.replicate();
+        replicaLagMonitor.checkLag();
+
+        // A rename writes no transaction event, the heartbeat still tells the replica has not caught up
+        customerService.updateCustomer(customer.getCustomerId(), new Customer(null, "Renamed Customer"));
+        assertEquals("Heartbeat Customer", customerService.getCustomers(afterId, 1).getItems().get(0).getCustomerName());
+        replicaLagMonitor.checkLag();
+        Thread.sleep(2100);
+        replicaLagMonitor.checkLag();
+        assertFalse(replicaLagMonitor.isWithinTolerance());
+        assertEquals("Renamed Customer", customerService.getCustomers(afterId, 1).getItems().get(0).getCustomerName());
+
+        replicationStandIn.replicate();
+        replicaLagMonitor.checkLag();
+        assertTrue(replicaLagMonitor.isWithinTolerance());
+        assertEquals("Renamed Customer", new JdbcTemplate(replicaDataSource).queryForObject(
+                "select customer_name from customer where customer_id = ?", String.class, customer.getCustomerId()));
+    }
+
+    @Test
+    public void testPinnedRequestStaysOnFirstTarget() throws Exception {
+        Customer customer = customerService.createCustomer(new Customer(null, "Pinned Customer"));
+        Long customerId = customer.getCustomerId();
+        transactionService.createTransaction(new Transaction(null, 120.0, 202401, customer));
+
+        ReplicaRoutingDataSource.pinRequest();
+        try {
+            assertThrows(TransactionNotFoundException.class, () -> rewardCalculationService.getCustomerTotalRewards(customerId));
+            replicaLagMonitor.checkLag();
+            Thread.sleep(2100);
+            replicaLagMonitor.checkLag();
+            assertFalse(replicaLagMonitor.isWithinTolerance());
+            // Beyond the tolerance, the rest of the request still reads the replica it started on
+            assertThrows(TransactionNotFoundException.class, () -> rewardCalculationService.getCustomerTotalRewards(customerId));
+        } finally {
+            ReplicaRoutingDataSource.releaseRequest();
+        }
+        assertEquals(90, rewardCalculationService.getCustomerTotalRewards(customerId));
+    }
+
+    @Test
+    public void testPinnedRequestReadsItsWritesOnPrimary() {
+        assertTrue(replicaLagMonitor.isWithinTolerance());
+
+        ReplicaRoutingDataSource.pinRequest();
+        try {
+            Customer customer = customerService.createCustomer(new Customer(null, "Writing Customer"));
+            transactionService.createTransaction(new Transaction(null, 120.0, 202401, customer));
+
+            assertEquals(90, rewardCalculationService.getCustomerTotalRewards(customer.getCustomerId()));
+        } finally {
+            ReplicaRoutingDataSource.releaseRequest();
+        }
+    }
+
+    @Test
+    public void testReplicaKeepsReferentialIntegrity() {
+        assertThrows(DataIntegrityViolationException.class, () -> new JdbcTemplate(replicaDataSource).update(
+                "insert into transaction (transaction_id, amount, transaction_month, customer_id) values (?, ?, ?, ?)",
+                900_000_001L, 120.0, 202401, 900_000_001L));
+    }
+}
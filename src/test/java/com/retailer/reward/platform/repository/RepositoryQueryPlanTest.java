@@ -0,0 +1,116 @@
+package com.retailer.reward.platform.repository;
+
+import com.retailer.reward.platform.util.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs H2 EXPLAIN on the SQL each repository query issues and fails when a keyed read falls back
+ * to a table scan. Reward reads must be served by the (customer_id, transaction_month, amount) index,
+ * which holds every column they touch. The streamed exports read every row by design and are not covered.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementcount",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.retailer.reward.platform.util.StatementCounter"
+})
+public class RepositoryQueryPlanTest {
+
+    private static final String REWARD_INDEX = "IDX_TRANSACTION_CUSTOMER_MONTH";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerRewardLedgerRepository customerRewardLedgerRepository;
+
+    @Autowired
+    private CustomerMonthRewardRepository customerMonthRewardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testFindAllByCustomerId_UsesRewardIndex() {
+        assertUsesIndex(REWARD_INDEX, planOf(() -> transactionRepository.findAllByCustomerCustomerId(1L)));
+    }
+
+    @Test
+    public void testFindMonthlyRewardsByCustomerId_UsesRewardIndex() {
+        assertUsesIndex(REWARD_INDEX, planOf(() -> transactionRepository.findMonthlyRewardsByCustomerId(1L)));
+    }
+
+    @Test
+    public void testSumRewardPointsByCustomerId_UsesRewardIndex() {
+        assertUsesIndex(REWARD_INDEX, planOf(() -> transactionRepository.sumRewardPointsByCustomerId(1L)));
+    }
+
+    @Test
+    public void testFindAllCustomerMonthlyRewards_GroupsInIndexOrder() {
+        String plan = planOf(transactionRepository::findAllCustomerMonthlyRewards);
+
+        assertUsesIndex(REWARD_INDEX, plan);
+        assertTrue(plan.contains("group sorted"), plan);
+    }
+
+    @Test
+    public void testFindPageAfter_SeeksPrimaryKey() {
+        assertNoTableScan(planOf(() -> transactionRepository.findPageAfter(0L, Limit.of(10))));
+    }
+
+    @Test
+    public void testFindCustomersAfter_SeeksPrimaryKey() {
+        assertNoTableScan(planOf(() -> customerRepository.findByCustomerIdGreaterThanOrderByCustomerId(0L, Limit.of(10))));
+    }
+
+    @Test
+    public void testFindLedgerById_SeeksPrimaryKey() {
+        assertNoTableScan(planOf(() -> customerRewardLedgerRepository.findById(1L)));
+    }
+
+    @Test
+    public void testFindLedgerVersionByCustomerId_SeeksPrimaryKey() {
+        assertNoTableScan(planOf(() -> customerRewardLedgerRepository.findVersionByCustomerId(1L)));
+    }
+
+    @Test
+    public void testFindMonthRewardsByCustomerId_SeeksPrimaryKey() {
+        assertNoTableScan(planOf(() -> customerMonthRewardRepository.findAllByCustomerIdAndTransactionCountGreaterThanOrderByMonth(1L, 0)));
+    }
+
+    /**
+     * Captures the single statement the query issues and explains it, binding 1 to every parameter.
+     */
+    private String planOf(Runnable query) {
+        StatementCounter.clear();
+        query.run();
+        List<String> statements = StatementCounter.statements();
+        assertEquals(1, statements.size(), statements.toString());
+
+        String sql = statements.get(0);
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        Arrays.fill(parameters, 1);
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, parameters));
+    }
+
+    private static void assertUsesIndex(String index, String plan) {
+        assertNoTableScan(plan);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private static void assertNoTableScan(String plan) {
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
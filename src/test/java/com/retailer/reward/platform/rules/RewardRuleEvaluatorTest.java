@@ -0,0 +1,83 @@
+package com.retailer.reward.platform.rules;
+
+import com.retailer.reward.platform.exception.InvalidRewardRuleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RewardRuleEvaluatorTest {
+
+    @Test
+    public void testDefaultRules_MatchOriginalProgram() {
+        RewardRuleEvaluator evaluator = RewardRuleEvaluator.compile(new RewardRules());
+        for (int amount = 1; amount <= 500; amount++) {
+            int expected = 0;
+            if (amount > 100) {
+                expected += (amount - 100) * 2;
+            }
+            if (amount > 50) {
+                expected += Math.min(50, amount - 50);
+            }
+            assertEquals(expected, evaluator.points(amount), "Reward points for amount " + amount);
+            assertEquals(expected, evaluator.points(amount, 202401), "Reward points for amount " + amount);
+        }
+    }
+
+    @Test
+    public void testTiersAreSortedAtCompileTime() {
+        RewardRuleEvaluator evaluator = RewardRuleEvaluator.compile(
+                new RewardRules(List.of(new RewardTier(200, 3), new RewardTier(50, 1), new RewardTier(100, 2)), null, List.of()));
+
+        assertEquals(0, evaluator.points(50));
+        assertEquals(50, evaluator.points(100));
+        assertEquals(250, evaluator.points(200));
+        assertEquals(253, evaluator.points(201));
+    }
+
+    @Test
+    public void testCapAppliesAfterPromotion() {
+        RewardRuleEvaluator evaluator = RewardRuleEvaluator.compile(new RewardRules(
+                List.of(new RewardTier(50, 1), new RewardTier(100, 2)), 100,
+                List.of(new RewardPromotion("2024-11", "2024-12", 2), new RewardPromotion("2024-12", "2024-12", 3))));
+
+        assertEquals(30, evaluator.points(80, 202410));
+        assertEquals(60, evaluator.points(80, 202411));
+        assertEquals(90, evaluator.points(80, 202412));
+        assertEquals(100, evaluator.points(150, 202410));
+    }
+
+    @Test
+    public void testCanonicalForm_IgnoresDeclarationOrder() {
+        RewardRuleEvaluator evaluator = RewardRuleEvaluator.compile(new RewardRules(
+                List.of(new RewardTier(50, 1), new RewardTier(100, 2)), 100,
+                List.of(new RewardPromotion("2024-11", "2024-12", 2), new RewardPromotion("2024-06", "2024-06", 2))));
+        RewardRuleEvaluator reordered = RewardRuleEvaluator.compile(new RewardRules(
+                List.of(new RewardTier(100, 2), new RewardTier(50, 1)), 100,
+                List.of(new RewardPromotion("2024-06", "2024-06", 2), new RewardPromotion("2024-11", "2024-12", 2))));
+        RewardRuleEvaluator uncapped = RewardRuleEvaluator.compile(new RewardRules(
+                List.of(new RewardTier(50, 1), new RewardTier(100, 2)), null,
+                List.of(new RewardPromotion("2024-11", "2024-12", 2), new RewardPromotion("2024-06", "2024-06", 2))));
+
+        assertEquals(evaluator.canonicalForm(), reordered.canonicalForm());
+        assertNotEquals(evaluator.canonicalForm(), uncapped.canonicalForm());
+    }
+
+    @Test
+    public void testInvalidRulesAreRejected() {
+        assertThrows(InvalidRewardRuleException.class, () -> RewardRuleEvaluator.compile(new RewardRules(List.of(), null, List.of())));
+        assertThrows(InvalidRewardRuleException.class, () -> RewardRuleEvaluator.compile(
+                new RewardRules(List.of(new RewardTier(50, 1), new RewardTier(50, 2)), null, List.of())));
+        assertThrows(InvalidRewardRuleException.class, () -> RewardRuleEvaluator.compile(
+                new RewardRules(List.of(new RewardTier(50, -1)), null, List.of())));
+        assertThrows(InvalidRewardRuleException.class, () -> RewardRuleEvaluator.compile(
+                new RewardRules(List.of(new RewardTier(50, 1)), 0, List.of())));
+        assertThrows(InvalidRewardRuleException.class, () -> RewardRuleEvaluator.compile(
+                new RewardRules(List.of(new RewardTier(50, 1)), null, List.of(new RewardPromotion("2024-12", "2024-11", 2)))));
+        assertThrows(InvalidRewardRuleException.class, () -> RewardRuleEvaluator.compile(
+                new RewardRules(List.of(new RewardTier(50, 1)), null, List.of(new RewardPromotion("2024-1' or '1", "2024-11", 2)))));
+    }
+}
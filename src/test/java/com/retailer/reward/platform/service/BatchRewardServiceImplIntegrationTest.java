@@ -0,0 +1,63 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.BatchRewardRequest;
+import com.retailer.reward.platform.dto.CustomerRewardSummary;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class BatchRewardServiceImplIntegrationTest {
+
+    @Autowired
+    private BatchRewardService batchRewardService;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    public void testCalculateRewards_AllCustomersMatchPerCustomerCalculation() {
+        List<CustomerRewardSummary> summaries = new ArrayList<>();
+
+        int reported = batchRewardService.calculateRewards(new BatchRewardRequest(null, true), summaries::add);
+
+        assertEquals(summaries.size(), reported);
+        assertTrue(reported > 0);
+        for (CustomerRewardSummary summary : summaries) {
+            MonthlyRewards expected = rewardCalculationService.getCustomerMonthlyRewards(summary.getCustomerId());
+            assertEquals(expected, summary.getMonthlyRewards());
+            assertEquals(expected.toMap().values().stream().mapToInt(Integer::intValue).sum(), summary.getTotalRewards());
+        }
+    }
+
+    @Test
+    public void testCalculateRewards_RequestedCustomersIncludingOneWithoutTransactions() {
+        Long withoutTransactions = customerRepository.findAll().stream()
+                .mapToLong(customer -> customer.getCustomerId()).max().getAsLong() + 1000;
+        List<CustomerRewardSummary> summaries = new ArrayList<>();
+
+        batchRewardService.calculateRewards(new BatchRewardRequest(List.of(1L, 2L, withoutTransactions), false), summaries::add);
+
+        Map<Long, CustomerRewardSummary> byCustomer = summaries.stream()
+                .collect(Collectors.toMap(CustomerRewardSummary::getCustomerId, Function.identity()));
+        assertEquals(3, byCustomer.size());
+        assertEquals(rewardCalculationService.getCustomerTotalRewards(1L), byCustomer.get(1L).getTotalRewards());
+        assertEquals(rewardCalculationService.getCustomerTotalRewards(2L), byCustomer.get(2L).getTotalRewards());
+        assertEquals(0, byCustomer.get(withoutTransactions).getTotalRewards());
+        assertTrue(byCustomer.get(withoutTransactions).getMonthlyRewards().isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.CustomerCacheStats;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.serviceimpl.CustomerCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomerCacheServiceImplIntegrationTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerCacheService customerCacheService;
+
+    @BeforeEach
+    public void setUp() {
+        customerCacheService = new CustomerCacheServiceImpl(customerRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void testFindCustomer_LoadsOnceAndReturnsCopies() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer(1L, "James")));
+
+        Customer first = customerCacheService.findCustomer(1L).orElseThrow();
+        first.setCustomerName("Changed by caller");
+        Customer second = customerCacheService.findCustomer(1L).orElseThrow();
+
+        assertEquals("James", second.getCustomerName());
+        verify(customerRepository, times(1)).findById(1L);
+        CustomerCacheStats stats = customerCacheService.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testFindCustomer_UnknownCustomerIsNotCached() {
+        when(customerRepository.findById(5L)).thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new Customer(5L, "Created later")));
+
+        assertTrue(customerCacheService.findCustomer(5L).isEmpty());
+        assertEquals("Created later", customerCacheService.findCustomer(5L).orElseThrow().getCustomerName());
+    }
+
+    @Test
+    public void testFindCustomers_LoadsOnlyMissesInOneQuery() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer(1L, "James")));
+        when(customerRepository.findAllById(anyIterable())).thenReturn(List.of(new Customer(2L, "Sai")));
+        customerCacheService.findCustomer(1L);
+
+        Map<Long, Customer> customers = customerCacheService.findCustomers(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, new Customer(1L, "James"), 2L, new Customer(2L, "Sai")), customers);
+        verify(customerRepository, times(1)).findAllById(List.of(2L, 3L));
+    }
+
+    @Test
+    public void testEvictCustomer_ReloadsOnNextLookup() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer(1L, "James")))
+                .thenReturn(Optional.of(new Customer(1L, "James Smith")));
+        customerCacheService.findCustomer(1L);
+
+        customerCacheService.evictCustomer(1L);
+
+        assertEquals("James Smith", customerCacheService.findCustomer(1L).orElseThrow().getCustomerName());
+        verify(customerRepository, times(2)).findById(1L);
+    }
+}
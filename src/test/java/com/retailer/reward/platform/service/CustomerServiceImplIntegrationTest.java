@@ -1,15 +1,19 @@
 package com.retailer.reward.platform.service;
 
+import com.retailer.reward.platform.dto.CursorPage;
 import com.retailer.reward.platform.entity.Customer;
 import com.retailer.reward.platform.exception.ResourceNotFoundException;
 import com.retailer.reward.platform.repository.CustomerRepository;
 import com.retailer.reward.platform.serviceimpl.CustomerServiceImpl;
+import com.retailer.reward.platform.service.CustomerCacheService;
+import com.retailer.reward.platform.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +31,9 @@ public class CustomerServiceImplIntegrationTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerCacheService customerCacheService;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -48,16 +55,17 @@ public class CustomerServiceImplIntegrationTest {
 
     @Test
     public void testGetCustomer_Success() {
-        when(customerRepository.findById(anyLong())).thenReturn(Optional.of(customer));
+        when(customerCacheService.findCustomer(anyLong())).thenReturn(Optional.of(customer));
         Customer fetchedCustomer = customerService.getCustomer(1L);
         assertEquals(customer, fetchedCustomer);
-        verify(customerRepository, times(1)).findById(anyLong());
+        verify(customerCacheService, times(1)).findCustomer(anyLong());
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
     void getCustomer_NonExistingCustomerId_ResourceNotFoundException() {
         Long customerId = 1L;
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerCacheService.findCustomer(customerId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomer(customerId));
     }
@@ -68,13 +76,14 @@ public class CustomerServiceImplIntegrationTest {
         Customer customer = new Customer();
         customer.setCustomerId(customerId);
         customer.setCustomerName("John Doe");
-        when(customerRepository.findById(anyLong())).thenReturn(Optional.of(customer));
-        when(customerRepository.save(any())).thenReturn(customer);
+        when(customerRepository.updateCustomerName(customerId, "John Doe")).thenReturn(1);
 
         Customer updatedCustomer = customerService.updateCustomer(1L, customer);
         assertEquals(customer, updatedCustomer);
-        verify(customerRepository, times(1)).findById(anyLong());
-        verify(customerRepository, times(1)).save(any());
+        verify(customerRepository, times(1)).updateCustomerName(customerId, "John Doe");
+        verify(customerRepository, never()).findById(anyLong());
+        verify(customerRepository, never()).save(any());
+        verify(customerCacheService, times(1)).evictCustomer(1L);
     }
 
 
@@ -82,30 +91,31 @@ public class CustomerServiceImplIntegrationTest {
     void updateCustomer_NonExistingCustomer_ResourceNotFoundException() {
         Long customerId = 1L;
         Customer customer = new Customer();
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.updateCustomerName(customerId, null)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(customerId, customer));
         verify(customerRepository, never()).save(customer);
+        verify(customerCacheService, never()).evictCustomer(anyLong());
     }
 
     @Test
     public void testDeleteCustomer_Success() {
-        when(customerRepository.findById(anyLong())).thenReturn(Optional.of(customer));
-        doNothing().when(customerRepository).delete(any());
+        when(customerRepository.deleteCustomerById(1L)).thenReturn(1);
 
         customerService.deleteCustomer(1L);
-        verify(customerRepository, times(1)).findById(anyLong());
-        verify(customerRepository, times(1)).delete(any());
+        verify(customerRepository, times(1)).deleteCustomerById(1L);
+        verify(customerRepository, never()).findById(anyLong());
+        verify(customerCacheService, times(1)).evictCustomer(anyLong());
 
     }
 
     @Test
     void deleteCustomer_NonExistingCustomerId_ResourceNotFoundException() {
         Long customerId = 1L;
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.deleteCustomerById(customerId)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.deleteCustomer(customerId));
-        verify(customerRepository, never()).delete(any(Customer.class));
+        verify(customerCacheService, never()).evictCustomer(anyLong());
     }
 
     @Test
@@ -119,17 +129,18 @@ public class CustomerServiceImplIntegrationTest {
         customer2.setCustomerId(2L);
         customer2.setCustomerName("Jane Doe");
         customers = Arrays.asList(customer1, customer2);
-        when(customerRepository.findAll()).thenReturn(customers);
-        List<Customer> fetchedCustomers = customerService.getAllCustomers();
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerId(0L, Limit.of(Constants.DEFAULT_PAGE_SIZE + 1))).thenReturn(customers);
+        CursorPage<Customer> fetchedCustomers = customerService.getCustomers(null, null);
         assertNotNull(customers);
-        assertEquals(2, fetchedCustomers.size());
-        assertEquals(customers, fetchedCustomers);
+        assertEquals(2, fetchedCustomers.getItems().size());
+        assertEquals(customers, fetchedCustomers.getItems());
+        assertNull(fetchedCustomers.getNextCursor());
     }
 
 
     @Test
     public void testGetCustomer_CustomerNotFound() {
-        when(customerRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(customerCacheService.findCustomer(anyLong())).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> {
             customerService.getCustomer(1L);
         });
@@ -138,7 +149,7 @@ public class CustomerServiceImplIntegrationTest {
 
     @Test
     public void testUpdateCustomer_CustomerNotFound() {
-        when(customerRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(customerRepository.updateCustomerName(anyLong(), any())).thenReturn(0);
         assertThrows(ResourceNotFoundException.class, () -> {
             customerService.updateCustomer(1L, customer);
         });
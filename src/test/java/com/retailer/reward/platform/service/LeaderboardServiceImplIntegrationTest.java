@@ -0,0 +1,91 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.LeaderboardEntry;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.InvalidPageRequestException;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the leaderboards loaded at startup rank customers exactly like the ledger and monthly rollup,
+ * and that committed transaction writes move customers on the boards.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:leaderboard")
+public class LeaderboardServiceImplIntegrationTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testStartupLoad_MatchesLedger() {
+        List<LeaderboardEntry> expected = jdbcTemplate.query(
+                "select customer_id, total_points from customer_reward_ledger where transaction_count > 0 " +
+                        "order by total_points desc, customer_id",
+                (rs, row) -> new LeaderboardEntry(row + 1, rs.getLong(1), rs.getInt(2)));
+        assertEquals(expected, leaderboardService.getTopCustomers(null, 1000));
+        for (LeaderboardEntry entry : expected) {
+            assertEquals(entry, leaderboardService.getCustomerRank(entry.getCustomerId(), null));
+        }
+
+        List<LeaderboardEntry> expectedMonth = jdbcTemplate.query(
+                "select customer_id, points from customer_month_rewards where reward_month = 202403 and transaction_count > 0 " +
+                        "order by points desc, customer_id",
+                (rs, row) -> new LeaderboardEntry(row + 1, rs.getLong(1), rs.getInt(2)));
+        assertEquals(expectedMonth, leaderboardService.getTopCustomers(202403, 1000));
+        assertEquals(expectedMonth.subList(0, 2), leaderboardService.getTopCustomers(202403, 2));
+    }
+
+    @Test
+    public void testTransactionWrites_MoveCustomerAfterCommit() {
+        Customer customer = customerRepository.save(new Customer(null, "Leader"));
+        Transaction transaction = transactionService.createTransaction(new Transaction(null, 5000.0, 203001, customer));
+
+        LeaderboardEntry overall = leaderboardService.getCustomerRank(customer.getCustomerId(), null);
+        assertEquals(1, overall.getRank());
+        assertTrue(overall.getPoints() > 0);
+        assertEquals(List.of(new LeaderboardEntry(1, customer.getCustomerId(), overall.getPoints())),
+                leaderboardService.getTopCustomers(203001, 10));
+
+        transactionService.updateTransaction(transaction.getTransactionId(), new Transaction(null, 5000.0, 203002, customer));
+        assertEquals(List.of(), leaderboardService.getTopCustomers(203001, 10));
+        assertEquals(1, leaderboardService.getCustomerRank(customer.getCustomerId(), 203002).getRank());
+
+        transactionService.deleteTransaction(transaction.getTransactionId());
+        assertThrows(TransactionNotFoundException.class, () -> leaderboardService.getCustomerRank(customer.getCustomerId(), null));
+        assertThrows(TransactionNotFoundException.class, () -> leaderboardService.getCustomerRank(customer.getCustomerId(), 203002));
+        assertEquals(List.of(), leaderboardService.getTopCustomers(203002, 10));
+    }
+
+    @Test
+    public void testReload_KeepsRanks() {
+        List<LeaderboardEntry> before = leaderboardService.getTopCustomers(null, 1000);
+        assertEquals(before.size(), leaderboardService.reload());
+        assertEquals(before, leaderboardService.getTopCustomers(null, 1000));
+    }
+
+    @Test
+    public void testGetTopCustomers_InvalidLimit() {
+        assertThrows(InvalidPageRequestException.class, () -> leaderboardService.getTopCustomers(null, 0));
+        assertThrows(InvalidPageRequestException.class, () -> leaderboardService.getTopCustomers(null, 1001));
+    }
+}
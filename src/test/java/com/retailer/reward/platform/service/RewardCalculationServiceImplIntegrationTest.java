@@ -2,19 +2,31 @@ package com.retailer.reward.platform.service;
 
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.InvalidTransactionAmountException;
+import com.retailer.reward.platform.exception.RewardNotFoundException;
 import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.repository.MonthlyRewardView;
 import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.rules.RewardPromotion;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.rules.RewardTier;
 import com.retailer.reward.platform.serviceimpl.RewardCalculationServiceImpl;
+import com.retailer.reward.platform.serviceimpl.RewardRuleServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +35,9 @@ public class RewardCalculationServiceImplIntegrationTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private RewardRuleService rewardRuleService = new RewardRuleServiceImpl(new RewardRules(), event -> { });
+
     @InjectMocks
     private RewardCalculationServiceImpl rewardCalculationService;
 
@@ -34,6 +49,16 @@ public class RewardCalculationServiceImplIntegrationTest {
         assertEquals(150, rewards);
     }
 
+    @Test
+    public void testGetRewardPoints_UsesActiveRules() {
+        rewardRuleService.updateRules(new RewardRules(List.of(new RewardTier(0, 1), new RewardTier(100, 3)), 200,
+                List.of(new RewardPromotion("2024-11", "2024-12", 2))));
+
+        assertEquals(160, rewardCalculationService.getRewardPoints(120.5, 202410));
+        assertEquals(200, rewardCalculationService.getRewardPoints(120.5, 202411));
+        assertEquals(160, rewardCalculationService.getRewardPoints(80.0, 202412));
+    }
+
     @Test
     public void testGetCustomerTransactionRewards_InvalidAmount() {
         Transaction transaction = new Transaction();
@@ -46,15 +71,54 @@ public class RewardCalculationServiceImplIntegrationTest {
     @Test
     public void testGetCustomerMonthlyRewards_TransactionsNotFound() {
         assertThrows(TransactionNotFoundException.class, () -> {
-            rewardCalculationService.getCustomerMonthlyRewards(null);
+            rewardCalculationService.getCustomerMonthlyRewards((List<Transaction>) null);
         });
     }
 
     @Test
     public void testGetCustomerTotalRewards_TransactionsNotFound() {
         assertThrows(TransactionNotFoundException.class, () -> {
-            rewardCalculationService.getCustomerTotalRewards(null);
+            rewardCalculationService.getCustomerTotalRewards((List<Transaction>) null);
         });
     }
 
+    @Test
+    public void testGetCustomerMonthlyRewardsByCustomerId_UsesAggregateQuery() {
+        MonthlyRewardView view = new MonthlyRewardView() {
+            public int getMonth() { return 202401; }
+            public Long getPoints() { return 180L; }
+        };
+        when(transactionRepository.findMonthlyRewardsByCustomerId(1L)).thenReturn(List.of(view));
+
+        Map<String, Integer> monthlyRewards = rewardCalculationService.getCustomerMonthlyRewards(1L).toMap();
+
+        assertEquals(Map.of("2024-01", 180), monthlyRewards);
+        verify(transactionRepository, never()).findAllByCustomerCustomerId(anyLong());
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewardsByCustomerId_TransactionsNotFound() {
+        when(transactionRepository.findMonthlyRewardsByCustomerId(1L)).thenReturn(Collections.emptyList());
+        assertThrows(TransactionNotFoundException.class, () -> rewardCalculationService.getCustomerMonthlyRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewardsByCustomerId_UsesAggregateQuery() {
+        when(transactionRepository.sumRewardPointsByCustomerId(1L)).thenReturn(342L);
+        assertEquals(342, rewardCalculationService.getCustomerTotalRewards(1L));
+        verify(transactionRepository, never()).findAllByCustomerCustomerId(anyLong());
+    }
+
+    @Test
+    public void testGetCustomerTotalRewardsByCustomerId_TransactionsNotFound() {
+        when(transactionRepository.sumRewardPointsByCustomerId(1L)).thenReturn(null);
+        assertThrows(TransactionNotFoundException.class, () -> rewardCalculationService.getCustomerTotalRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewardsByCustomerId_RewardsNotFound() {
+        when(transactionRepository.sumRewardPointsByCustomerId(1L)).thenReturn(0L);
+        assertThrows(RewardNotFoundException.class, () -> rewardCalculationService.getCustomerTotalRewards(1L));
+    }
+
     }
@@ -0,0 +1,257 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.CustomerMonthReward;
+import com.retailer.reward.platform.entity.CustomerRewardLedger;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.entity.TransactionEvent;
+import com.retailer.reward.platform.exception.RewardNotFoundException;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.repository.CustomerMonthRewardRepository;
+import com.retailer.reward.platform.repository.CustomerMonthlyRewardView;
+import com.retailer.reward.platform.repository.CustomerRewardLedgerRepository;
+import com.retailer.reward.platform.repository.TransactionEventRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.serviceimpl.RewardCalculationServiceImpl;
+import com.retailer.reward.platform.serviceimpl.RewardLedgerServiceImpl;
+import com.retailer.reward.platform.serviceimpl.RewardRuleServiceImpl;
+import com.retailer.reward.platform.util.RewardMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RewardLedgerServiceImplIntegrationTest {
+
+    @Mock
+    private CustomerRewardLedgerRepository ledgerRepository;
+
+    @Mock
+    private CustomerMonthRewardRepository monthRewardRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionEventRepository transactionEventRepository;
+
+    private RewardLedgerServiceImpl rewardLedgerService;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() {
+        rewardLedgerService = new RewardLedgerServiceImpl(ledgerRepository, monthRewardRepository, transactionRepository, transactionEventRepository,
+                new RewardCalculationServiceImpl(transactionRepository, new RewardRuleServiceImpl(new RewardRules(), event -> { })),
+                new RewardMetrics(new SimpleMeterRegistry()), event -> { });
+        customer = new Customer(1L, "James");
+    }
+
+    @Test
+    public void testRecordTransactionCreated_UpsertsLedger() {
+        rewardLedgerService.recordTransactionCreated(new Transaction(1L, 120.0, 202401, customer));
+
+        verify(ledgerRepository, times(1)).addTotals(1L, 90, 1);
+        verify(monthRewardRepository, times(1)).addTotals(1L, 202401, 90, 120.0, 1);
+        verify(ledgerRepository, never()).save(any());
+        verify(monthRewardRepository, never()).save(any());
+    }
+
+    @Test
+    public void testRecordTransactionUpdated_AppliesPointDelta() {
+        rewardLedgerService.recordTransactionUpdated(new Transaction(1L, 120.0, 202401, customer),
+                new Transaction(1L, 80.0, 202401, customer));
+
+        verify(ledgerRepository, times(1)).addTotals(1L, -60, 0);
+        verify(monthRewardRepository, times(1)).addTotals(1L, 202401, -60, -40.0, 0);
+        verify(transactionEventRepository, times(1)).append(List.of(
+                new TransactionEvent(null, TransactionEvent.Type.UPDATED, 1L, 1L, 80.0, 202401, 120.0, 202401, null)));
+    }
+
+    @Test
+    public void testRecordTransactionsCreated_AppliesOneDeltaPerCustomerAndMonth() {
+        Customer otherCustomer = new Customer(2L, "Sai");
+
+        rewardLedgerService.recordTransactionsCreated(List.of(
+                new Transaction(1L, 120.0, 202401, otherCustomer),
+                new Transaction(2L, 120.0, 202401, customer),
+                new Transaction(3L, 80.0, 202401, customer),
+                new Transaction(4L, 60.0, 202402, customer)));
+
+        verify(ledgerRepository, times(1)).addDeltas(List.of(
+                new CustomerRewardLedger(1L, 130, 3, 0), new CustomerRewardLedger(2L, 90, 1, 0)));
+        verify(monthRewardRepository, times(1)).addDeltas(List.of(
+                new CustomerMonthReward(1L, 202401, 120, 200.0, 2),
+                new CustomerMonthReward(1L, 202402, 10, 60.0, 1),
+                new CustomerMonthReward(2L, 202401, 90, 120.0, 1)));
+        ArgumentCaptor<List<TransactionEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(transactionEventRepository, times(1)).append(events.capture());
+        assertEquals(List.of(1L, 2L, 3L, 4L), events.getValue().stream().map(TransactionEvent::getTransactionId).toList());
+        verifyNoMoreInteractions(ledgerRepository, monthRewardRepository);
+    }
+
+    @Test
+    public void testRecordTransactionUpdated_MovesTransactionBetweenMonths() {
+        rewardLedgerService.recordTransactionUpdated(new Transaction(1L, 120.0, 202401, customer),
+                new Transaction(1L, 80.0, 202402, customer));
+
+        verify(monthRewardRepository, times(1)).addTotals(1L, 202401, -90, -120.0, -1);
+        verify(monthRewardRepository, times(1)).addTotals(1L, 202402, 30, 80.0, 1);
+    }
+
+    @Test
+    public void testRecordTransactionDeleted_RemovesPoints() {
+        rewardLedgerService.recordTransactionDeleted(new Transaction(1L, 120.0, 202401, customer));
+
+        verify(ledgerRepository, times(1)).addTotals(1L, -90, -1);
+        verify(monthRewardRepository, times(1)).addTotals(1L, 202401, -90, -120.0, -1);
+        verify(transactionEventRepository, times(1)).append(List.of(
+                new TransactionEvent(null, TransactionEvent.Type.DELETED, 1L, 1L, 120.0, 202401, null, null, null)));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_Success() {
+        when(ledgerRepository.findById(1L)).thenReturn(Optional.of(new CustomerRewardLedger(1L, 340, 3, 4)));
+
+        assertEquals(340, rewardLedgerService.getCustomerTotalRewards(1L));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_NoTransactions() {
+        when(ledgerRepository.findById(1L)).thenReturn(Optional.of(new CustomerRewardLedger(1L, 0, 0, 2)));
+
+        assertThrows(TransactionNotFoundException.class, () -> rewardLedgerService.getCustomerTotalRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_NoLedger() {
+        when(ledgerRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(TransactionNotFoundException.class, () -> rewardLedgerService.getCustomerTotalRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_NoRewards() {
+        when(ledgerRepository.findById(1L)).thenReturn(Optional.of(new CustomerRewardLedger(1L, 0, 2, 2)));
+
+        assertThrows(RewardNotFoundException.class, () -> rewardLedgerService.getCustomerTotalRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewards_Success() {
+        when(monthRewardRepository.findAllByCustomerIdAndTransactionCountGreaterThanOrderByMonth(1L, 0)).thenReturn(List.of(
+                new CustomerMonthReward(1L, 202401, 180, 240.0, 2),
+                new CustomerMonthReward(1L, 202402, 0, 40.0, 1)));
+
+        Map<String, Integer> monthlyRewards = rewardLedgerService.getCustomerMonthlyRewards(1L).toMap();
+
+        assertEquals(List.of("2024-01", "2024-02"), List.copyOf(monthlyRewards.keySet()));
+        assertEquals(180, monthlyRewards.get("2024-01"));
+        assertEquals(0, monthlyRewards.get("2024-02"));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewards_NoTransactions() {
+        when(monthRewardRepository.findAllByCustomerIdAndTransactionCountGreaterThanOrderByMonth(1L, 0)).thenReturn(List.of());
+
+        assertThrows(TransactionNotFoundException.class, () -> rewardLedgerService.getCustomerMonthlyRewards(1L));
+    }
+
+    @Test
+    public void testGetCustomersMonthlyRewards_GroupsRowsPerCustomer() {
+        List<Long> customerIds = List.of(1L, 2L, 3L);
+        when(monthRewardRepository.findAllByCustomerIdInAndTransactionCountGreaterThanOrderByCustomerIdAscMonthAsc(customerIds, 0))
+                .thenReturn(List.of(
+                        new CustomerMonthReward(1L, 202401, 180, 240.0, 2),
+                        new CustomerMonthReward(1L, 202402, 0, 40.0, 1),
+                        new CustomerMonthReward(2L, 202402, 90, 120.0, 1)));
+
+        Map<Long, MonthlyRewards> monthlyRewards = rewardLedgerService.getCustomersMonthlyRewards(customerIds);
+
+        assertEquals(new MonthlyRewards(new int[]{202401, 202402}, new int[]{180, 0}), monthlyRewards.get(1L));
+        assertEquals(new MonthlyRewards(new int[]{202402}, new int[]{90}), monthlyRewards.get(2L));
+        assertEquals(MonthlyRewards.EMPTY, monthlyRewards.get(3L));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testGetCustomerRewardsVersions() {
+        when(ledgerRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(new CustomerRewardLedger(1L, 90, 1, 3)));
+
+        assertEquals(Map.of(1L, 3L), rewardLedgerService.getCustomerRewardsVersions(List.of(1L, 2L)));
+    }
+
+    @Test
+    public void testGetCustomerRewardsVersion() {
+        when(ledgerRepository.findVersionByCustomerId(1L)).thenReturn(Optional.of(7L));
+
+        assertEquals(7L, rewardLedgerService.getCustomerRewardsVersion(1L));
+    }
+
+    @Test
+    public void testGetCustomerRewardsVersion_NoLedger() {
+        when(ledgerRepository.findVersionByCustomerId(1L)).thenReturn(Optional.empty());
+
+        assertThrows(TransactionNotFoundException.class, () -> rewardLedgerService.getCustomerRewardsVersion(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRebuildLedger() {
+        when(ledgerRepository.findAll()).thenReturn(List.of(
+                new CustomerRewardLedger(1L, 10, 1, 5), new CustomerRewardLedger(3L, 40, 2, 8)));
+        when(transactionRepository.findAllCustomerMonthlyRewards()).thenReturn(List.of(
+                monthlyRewardView(1L, 202401, 90, 120.0, 1),
+                monthlyRewardView(1L, 202402, 252, 201.5, 1),
+                monthlyRewardView(2L, 202401, 30, 80.0, 1)));
+
+        assertEquals(2, rewardLedgerService.rebuildLedger());
+        verify(transactionEventRepository, times(1)).lockHead();
+
+        // Existing rows keep counting versions, a customer without transactions left is reset to zero
+        ArgumentCaptor<Collection<CustomerRewardLedger>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(ledgerRepository, never()).deleteAllInBatch();
+        verify(ledgerRepository, times(1)).saveAll(saved.capture());
+        assertEquals(3, saved.getValue().size());
+        assertTrue(saved.getValue().contains(new CustomerRewardLedger(1L, 342, 2, 6)));
+        assertTrue(saved.getValue().contains(new CustomerRewardLedger(2L, 30, 1, 1)));
+        assertTrue(saved.getValue().contains(new CustomerRewardLedger(3L, 0, 0, 9)));
+
+        ArgumentCaptor<List<CustomerMonthReward>> savedMonths = ArgumentCaptor.forClass(List.class);
+        verify(monthRewardRepository, times(1)).deleteAllInBatch();
+        verify(monthRewardRepository, times(1)).addDeltas(savedMonths.capture());
+        assertEquals(3, savedMonths.getValue().size());
+        assertTrue(savedMonths.getValue().contains(new CustomerMonthReward(1L, 202402, 252, 201.5, 1)));
+    }
+
+    private static CustomerMonthlyRewardView monthlyRewardView(Long customerId, int month, long points,
+                                                               double spend, long transactionCount) {
+        return new CustomerMonthlyRewardView() {
+            public Long getCustomerId() { return customerId; }
+            public int getMonth() { return month; }
+            public Long getPoints() { return points; }
+            public Double getSpend() { return spend; }
+            public Long getTransactionCount() { return transactionCount; }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.rules.RewardPromotion;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.rules.RewardTier;
+import com.retailer.reward.platform.util.MonthKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that the reward formula pushed into the database agrees with the Java formula,
+ * in particular at the $50 and $100 tier boundaries and for fractional amounts.
+ */
+@SpringBootTest
+@Transactional
+public class RewardPointsQueryConsistencyTest {
+
+    private static final double[] BOUNDARY_AMOUNTS = {
+            1.0, 49.99, 50.0, 50.01, 50.99, 51.0, 51.5, 99.99, 100.0, 100.01, 100.99, 101.0, 101.5, 150.0, 1000.75
+    };
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Autowired
+    private RewardRuleService rewardRuleService;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() {
+        customer = customerRepository.save(new Customer(null, "Boundary Customer"));
+    }
+
+    @Test
+    public void testMonthlyRewards_MatchJavaFormulaPerAmount() {
+        for (int i = 0; i < BOUNDARY_AMOUNTS.length; i++) {
+            transactionRepository.save(new Transaction(null, BOUNDARY_AMOUNTS[i], month(i), customer));
+        }
+
+        Map<String, Integer> monthlyRewards = rewardCalculationService.getCustomerMonthlyRewards(customer.getCustomerId()).toMap();
+
+        assertEquals(BOUNDARY_AMOUNTS.length, monthlyRewards.size());
+        for (int i = 0; i < BOUNDARY_AMOUNTS.length; i++) {
+            assertEquals(rewardCalculationService.getRewardPoints(BOUNDARY_AMOUNTS[i], month(i)), monthlyRewards.get(MonthKey.format(month(i))),
+                    "Reward points for amount " + BOUNDARY_AMOUNTS[i]);
+        }
+    }
+
+    @Test
+    public void testTotalAndMonthlyRewards_MatchEntityBasedCalculation() {
+        for (int i = 0; i < BOUNDARY_AMOUNTS.length; i++) {
+            transactionRepository.save(new Transaction(null, BOUNDARY_AMOUNTS[i], month(i % 3), customer));
+        }
+        var transactions = transactionRepository.findAllByCustomerCustomerId(customer.getCustomerId());
+
+        assertEquals(rewardCalculationService.getCustomerTotalRewards(transactions),
+                rewardCalculationService.getCustomerTotalRewards(customer.getCustomerId()));
+        assertEquals(rewardCalculationService.getCustomerMonthlyRewards(transactions),
+                rewardCalculationService.getCustomerMonthlyRewards(customer.getCustomerId()));
+    }
+
+    @Test
+    public void testCustomRules_MatchJavaFormulaPerAmount() {
+        RewardRules defaultRules = rewardRuleService.getRules();
+        try {
+            rewardRuleService.updateRules(new RewardRules(List.of(new RewardTier(25, 1), new RewardTier(50, 2), new RewardTier(101, 4)),
+                    250, List.of(new RewardPromotion("2030-03", "2030-05", 3))));
+            for (int i = 0; i < BOUNDARY_AMOUNTS.length; i++) {
+                transactionRepository.save(new Transaction(null, BOUNDARY_AMOUNTS[i], month(i), customer));
+            }
+
+            Map<String, Integer> monthlyRewards = rewardCalculationService.getCustomerMonthlyRewards(customer.getCustomerId()).toMap();
+
+            for (int i = 0; i < BOUNDARY_AMOUNTS.length; i++) {
+                assertEquals(rewardCalculationService.getRewardPoints(BOUNDARY_AMOUNTS[i], month(i)), monthlyRewards.get(MonthKey.format(month(i))),
+                        "Reward points for amount " + BOUNDARY_AMOUNTS[i] + " in " + month(i));
+            }
+        } finally {
+            rewardRuleService.updateRules(defaultRules);
+        }
+    }
+
+    private static int month(int index) {
+        return (2030 + index / 12) * 100 + index % 12 + 1;
+    }
+}
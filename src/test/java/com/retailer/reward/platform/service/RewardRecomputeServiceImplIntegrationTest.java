@@ -0,0 +1,189 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.RecomputeJob;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.InvalidRecomputeJobException;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the recomputation job restores the ledger and monthly rollup of every customer from the
+ * transaction table, range by range, that transaction writes during the job are not lost, and that a resumed
+ * job recomputes only the ranges it had not completed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recompute",
+        "reward.recompute.range-size=2",
+        "reward.recompute.parallelism=3"
+})
+public class RewardRecomputeServiceImplIntegrationTest {
+
+    private static final String SELECT_ROLLUP = "select customer_id, reward_month, points, transaction_count from customer_month_rewards " +
+            "where transaction_count > 0 order by customer_id, reward_month";
+    private static final String SELECT_LEDGER = "select customer_id, total_points, transaction_count from customer_reward_ledger " +
+            "where transaction_count > 0 order by customer_id";
+
+    @Autowired
+    private RewardRecomputeService rewardRecomputeService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Customer> customers = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        customers.clear();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Customer customer = customerRepository.save(new Customer(null, "Recompute Customer " + i));
+            customers.add(customer);
+            for (int j = 0; j <= i % 3; j++) {
+                transactions.add(new Transaction(null, 45.0 + i * 20 + j * 35.5, 202401 + j, customer));
+            }
+        }
+        transactionService.createTransactions(transactions);
+    }
+
+    @Test
+    public void testStartRecompute_RestoresLedgerFromTransactions() throws InterruptedException {
+        jdbcTemplate.update("update customer_month_rewards set points = points + 7");
+        jdbcTemplate.update("update customer_reward_ledger set total_points = 0");
+        assertNotEquals(aggregatedRollup(), jdbcTemplate.queryForList(SELECT_ROLLUP));
+
+        RecomputeJob job = awaitJob(rewardRecomputeService.startRecompute(null));
+
+        assertEquals(RecomputeJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRangeSize());
+        assertEquals(job.getTotalRanges(), job.getCompletedRanges());
+        assertEquals((countRows("select count(*) from customer") + 1) / 2, job.getTotalRanges());
+        assertEquals(countRows("select count(distinct customer_id) from transaction"), job.getCustomerCount());
+        assertEquals(countRows("select count(*) from transaction"), job.getTransactionCount());
+        assertTrue(job.getCustomersPerSecond() > 0);
+        assertNull(job.getEstimatedCompletionAt());
+        assertEquals(aggregatedRollup(), jdbcTemplate.queryForList(SELECT_ROLLUP));
+        assertEquals(aggregatedLedger(), jdbcTemplate.queryForList(SELECT_LEDGER));
+        assertEquals(0, countRows("select count(*) from reward_snapshot"));
+    }
+
+    @Test
+    public void testStartRecompute_KeepsTransactionWritesDuringJob() throws InterruptedException {
+        RecomputeJob job = rewardRecomputeService.startRecompute(1);
+        for (int i = 0; i < 20; i++) {
+            Customer customer = customers.get(i % customers.size());
+            Transaction created = transactionService.createTransaction(new Transaction(null, 60.0 + i * 11, 202402 + i % 2, customer));
+            if (i % 4 == 0) {
+                transactionService.updateTransaction(created.getTransactionId(), new Transaction(null, 140.0, 202403, customer));
+            }
+        }
+
+        assertEquals(RecomputeJob.Status.COMPLETED, awaitJob(job).getStatus());
+        assertEquals(aggregatedRollup(), jdbcTemplate.queryForList(SELECT_ROLLUP));
+        assertEquals(aggregatedLedger(), jdbcTemplate.queryForList(SELECT_LEDGER));
+    }
+
+    @Test
+    public void testResumeRecompute_RecomputesOnlyRangesNotCompleted() throws InterruptedException {
+        RecomputeJob job = awaitJob(rewardRecomputeService.startRecompute(null));
+        Long first = customers.get(0).getCustomerId();
+        Long last = customers.get(customers.size() - 1).getCustomerId();
+        // Interrupt the job before the range of the last customer, then corrupt the first and last customers
+        jdbcTemplate.update("update recompute_range set completed = false where job_id = ? and ? between first_customer_id and last_customer_id",
+                job.getJobId(), last);
+        jdbcTemplate.update("update recompute_job set status = 'FAILED', completed_ranges = completed_ranges - 1 where job_id = ?", job.getJobId());
+        jdbcTemplate.update("update customer_reward_ledger set total_points = total_points + 5 where customer_id in (?, ?)", first, last);
+
+        rewardRecomputeService.resumeRecompute(job.getJobId());
+        RecomputeJob resumed = awaitJob(job);
+
+        assertEquals(RecomputeJob.Status.COMPLETED, resumed.getStatus());
+        assertEquals(job.getTotalRanges(), resumed.getCompletedRanges());
+        Map<Long, Integer> expected = new TreeMap<>();
+        for (Map<String, Object> row : aggregatedLedger()) {
+            expected.put((Long) row.get("CUSTOMER_ID"), (Integer) row.get("TOTAL_POINTS"));
+        }
+        assertEquals(expected.get(first) + 5, totalPoints(first));
+        assertEquals(expected.get(last), totalPoints(last));
+        assertThrows(InvalidRecomputeJobException.class, () -> rewardRecomputeService.resumeRecompute(job.getJobId()));
+    }
+
+    @Test
+    public void testStartRecompute_InvalidRangeSize() {
+        assertThrows(InvalidRecomputeJobException.class, () -> rewardRecomputeService.startRecompute(0));
+    }
+
+    private RecomputeJob awaitJob(RecomputeJob job) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            RecomputeJob current = rewardRecomputeService.getRecomputeJob(job.getJobId());
+            if (current.getStatus() != RecomputeJob.Status.RUNNING) {
+                return current;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Recompute job " + job.getJobId() + " did not end");
+    }
+
+    private long countRows(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private int totalPoints(Long customerId) {
+        return jdbcTemplate.queryForObject("select total_points from customer_reward_ledger where customer_id = ?", Integer.class, customerId);
+    }
+
+    // The monthly rollup computed by the database from the transaction table, in the shape of SELECT_ROLLUP
+    private List<Map<String, Object>> aggregatedRollup() {
+        return transactionRepository.findAllCustomerMonthlyRewards().stream()
+                .sorted((a, b) -> a.getCustomerId().equals(b.getCustomerId())
+                        ? Integer.compare(a.getMonth(), b.getMonth()) : a.getCustomerId().compareTo(b.getCustomerId()))
+                .map(view -> Map.<String, Object>of("CUSTOMER_ID", view.getCustomerId(), "REWARD_MONTH", view.getMonth(),
+                        "POINTS", view.getPoints().intValue(), "TRANSACTION_COUNT", view.getTransactionCount().intValue()))
+                .toList();
+    }
+
+    // The ledger summed from the aggregated rollup, in the shape of SELECT_LEDGER
+    private List<Map<String, Object>> aggregatedLedger() {
+        Map<Long, int[]> totals = new TreeMap<>();
+        for (Map<String, Object> row : aggregatedRollup()) {
+            int[] total = totals.computeIfAbsent((Long) row.get("CUSTOMER_ID"), id -> new int[2]);
+            total[0] += (Integer) row.get("POINTS");
+            total[1] += (Integer) row.get("TRANSACTION_COUNT");
+        }
+        List<Map<String, Object>> ledger = new ArrayList<>();
+        totals.forEach((customerId, total) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("CUSTOMER_ID", customerId);
+            row.put("TOTAL_POINTS", total[0]);
+            row.put("TRANSACTION_COUNT", total[1]);
+            ledger.add(row);
+        });
+        return ledger;
+    }
+}
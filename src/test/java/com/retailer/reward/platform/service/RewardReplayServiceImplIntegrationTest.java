@@ -0,0 +1,150 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.RewardReplayResult;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.RewardSnapshot;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.rules.RewardRules;
+import com.retailer.reward.platform.rules.RewardTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that transaction writes append to the event log in sequence order, and that the ledger restored
+ * from a snapshot plus the events after it matches the ledger kept up to date by the writes themselves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replay",
+        "reward.event-log.snapshots-retained=10"
+})
+public class RewardReplayServiceImplIntegrationTest {
+
+    private static final String SELECT_ROLLUP = "select customer_id, reward_month, points, transaction_count from customer_month_rewards " +
+            "where transaction_count > 0 order by customer_id, reward_month";
+    private static final String SELECT_LEDGER = "select customer_id, total_points, transaction_count from customer_reward_ledger " +
+            "where transaction_count > 0 order by customer_id";
+
+    @Autowired
+    private RewardReplayService rewardReplayService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RewardRuleService rewardRuleService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() {
+        customer = customerRepository.save(new Customer(null, "Replay Customer"));
+    }
+
+    @Test
+    public void testTransactionWrites_AppendEventsInSequence() {
+        long lastSequence = jdbcTemplate.queryForObject("select last_sequence from transaction_event_head", Long.class);
+        Transaction created = transactionService.createTransaction(new Transaction(null, 120.0, 202401, customer));
+        transactionService.createTransactions(List.of(new Transaction(null, 70.0, 202402, customer), new Transaction(null, 30.0, 202402, customer)));
+        transactionService.updateTransaction(created.getTransactionId(), new Transaction(null, 150.0, 202403, customer));
+        transactionService.deleteTransaction(created.getTransactionId());
+
+        List<Map<String, Object>> events = jdbcTemplate.queryForList("select sequence, event_type, transaction_id, amount, transaction_month, " +
+                "previous_amount, previous_month from transaction_event where customer_id = ? order by sequence", customer.getCustomerId());
+        assertEquals(List.of("CREATED", "CREATED", "CREATED", "UPDATED", "DELETED"), events.stream().map(event -> event.get("EVENT_TYPE")).toList());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(lastSequence + i + 1, ((Number) events.get(i).get("SEQUENCE")).longValue());
+        }
+        assertEquals(150.0, events.get(3).get("AMOUNT"));
+        assertEquals(202403, events.get(3).get("TRANSACTION_MONTH"));
+        assertEquals(120.0, events.get(3).get("PREVIOUS_AMOUNT"));
+        assertEquals(202401, events.get(3).get("PREVIOUS_MONTH"));
+        assertEquals(created.getTransactionId(), ((Number) events.get(4).get("TRANSACTION_ID")).longValue());
+    }
+
+    @Test
+    public void testReplayLedger_ReplaysOnlyEventsAfterSnapshot() {
+        transactionService.createTransaction(new Transaction(null, 90.0, 202401, customer));
+        RewardSnapshot snapshot = rewardReplayService.takeSnapshot();
+        assertEquals(0, rewardReplayService.getEventsSinceSnapshot());
+
+        Transaction created = transactionService.createTransaction(new Transaction(null, 220.0, 202402, customer));
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(new Transaction(null, 40.0 + i * 7.5, 202401 + i % 3, new Customer(1L + i % 9, null)));
+        }
+        transactionService.createTransactions(batch);
+        transactionService.updateTransaction(created.getTransactionId(), new Transaction(null, 130.0, 202403, customer));
+        transactionService.deleteTransaction(transactionRepository.findAll().get(0).getTransactionId());
+        assertEquals(23, rewardReplayService.getEventsSinceSnapshot());
+
+        List<Map<String, Object>> rollup = jdbcTemplate.queryForList(SELECT_ROLLUP);
+        List<Map<String, Object>> ledger = jdbcTemplate.queryForList(SELECT_LEDGER);
+        jdbcTemplate.update("delete from customer_month_rewards");
+        jdbcTemplate.update("update customer_reward_ledger set total_points = 0, transaction_count = 0");
+
+        RewardReplayResult result = rewardReplayService.replayLedger();
+
+        assertEquals(snapshot.getSnapshotId(), result.getSnapshotId());
+        assertEquals(snapshot.getLastSequence(), result.getSnapshotSequence());
+        assertEquals(snapshot.getLastSequence() + 23, result.getLastSequence());
+        assertEquals(23, result.getReplayedEvents());
+        assertTrue(result.getEventsPerSecond() > 0);
+        assertEquals(rollup, jdbcTemplate.queryForList(SELECT_ROLLUP));
+        assertEquals(ledger, jdbcTemplate.queryForList(SELECT_LEDGER));
+        assertEquals(aggregatedRollup(), jdbcTemplate.queryForList(SELECT_ROLLUP));
+    }
+
+    @Test
+    public void testRulesChange_TakesBaselineAndReusesSnapshotWhenRestored() {
+        transactionService.createTransaction(new Transaction(null, 160.0, 202401, customer));
+        RewardSnapshot defaultSnapshot = rewardReplayService.takeSnapshot();
+        RewardRules defaultRules = rewardRuleService.getRules();
+        try {
+            rewardRuleService.updateRules(new RewardRules(List.of(new RewardTier(25, 1), new RewardTier(75, 3)), null, List.of()));
+            RewardSnapshot rulesSnapshot = rewardReplayService.takeSnapshot();
+            assertNotEquals(defaultSnapshot.getRulesFingerprint(), rulesSnapshot.getRulesFingerprint());
+            assertEquals(0, rulesSnapshot.getReplayedEvents());
+            assertEquals(aggregatedRollup(), jdbcTemplate.queryForList(SELECT_ROLLUP));
+
+            transactionService.createTransaction(new Transaction(null, 75.0, 202402, customer));
+        } finally {
+            rewardRuleService.updateRules(defaultRules);
+        }
+        RewardReplayResult result = rewardReplayService.replayLedger();
+        assertEquals(defaultSnapshot.getSnapshotId(), result.getSnapshotId());
+        assertTrue(result.getReplayedEvents() >= 1);
+        assertEquals(aggregatedRollup(), jdbcTemplate.queryForList(SELECT_ROLLUP));
+    }
+
+    // The monthly rollup computed by the database from the transaction table, in the shape of SELECT_ROLLUP
+    private List<Map<String, Object>> aggregatedRollup() {
+        return transactionRepository.findAllCustomerMonthlyRewards().stream()
+                .sorted((a, b) -> a.getCustomerId().equals(b.getCustomerId())
+                        ? Integer.compare(a.getMonth(), b.getMonth()) : a.getCustomerId().compareTo(b.getCustomerId()))
+                .map(view -> Map.<String, Object>of("CUSTOMER_ID", view.getCustomerId(), "REWARD_MONTH", view.getMonth(),
+                        "POINTS", view.getPoints().intValue(), "TRANSACTION_COUNT", view.getTransactionCount().intValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.CumulativeRewards;
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import com.retailer.reward.platform.exception.TransactionNotFoundException;
+import com.retailer.reward.platform.serviceimpl.RewardResponseCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RewardResponseCacheServiceImplIntegrationTest {
+
+    @Mock
+    private RewardLedgerService rewardLedgerService;
+
+    private RewardResponseCacheServiceImpl rewardResponseCacheService;
+
+    @BeforeEach
+    public void setUp() {
+        rewardResponseCacheService = new RewardResponseCacheServiceImpl(rewardLedgerService, 100);
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_ReadsOncePerVersion() {
+        when(rewardLedgerService.getCustomerTotalRewards(1L)).thenReturn(90, 120);
+
+        assertEquals(90, rewardResponseCacheService.getCustomerTotalRewards(1L, 1L));
+        assertEquals(90, rewardResponseCacheService.getCustomerTotalRewards(1L, 1L));
+        assertEquals(120, rewardResponseCacheService.getCustomerTotalRewards(1L, 2L));
+
+        verify(rewardLedgerService, times(2)).getCustomerTotalRewards(1L);
+    }
+
+    @Test
+    public void testGetCustomerMonthlyRewards_ReadsOncePerVersion() {
+        MonthlyRewards monthlyRewards = new MonthlyRewards(new int[]{202401}, new int[]{90});
+        when(rewardLedgerService.getCustomerMonthlyRewards(1L)).thenReturn(monthlyRewards);
+
+        assertEquals(monthlyRewards, rewardResponseCacheService.getCustomerMonthlyRewards(1L, 4L));
+        assertEquals(monthlyRewards, rewardResponseCacheService.getCustomerMonthlyRewards(1L, 4L));
+
+        verify(rewardLedgerService, times(1)).getCustomerMonthlyRewards(1L);
+    }
+
+    @Test
+    public void testGetCustomerCumulativeRewards_BuiltOncePerVersion() {
+        when(rewardLedgerService.getCustomerMonthlyRewards(1L))
+                .thenReturn(new MonthlyRewards(new int[]{202401, 202402}, new int[]{90, 30}));
+
+        assertEquals(120, rewardResponseCacheService.getCustomerCumulativeRewards(1L, 4L).pointsBetween(202401, 202402));
+        assertEquals(30, rewardResponseCacheService.getCustomerCumulativeRewards(1L, 4L).pointsBetween(202402, 202412));
+
+        verify(rewardLedgerService, times(1)).getCustomerMonthlyRewards(1L);
+    }
+
+    @Test
+    public void testGetCustomersCumulativeRewards_LoadsOnlyMissesInOneRead() {
+        when(rewardLedgerService.getCustomerMonthlyRewards(1L)).thenReturn(new MonthlyRewards(new int[]{202401}, new int[]{90}));
+        rewardResponseCacheService.getCustomerCumulativeRewards(1L, 4L);
+        when(rewardLedgerService.getCustomersMonthlyRewards(anyCollection()))
+                .thenReturn(Map.of(2L, new MonthlyRewards(new int[]{202402}, new int[]{25}), 3L, MonthlyRewards.EMPTY));
+
+        Map<Long, CumulativeRewards> rewards = rewardResponseCacheService.getCustomersCumulativeRewards(Map.of(1L, 4L, 2L, 1L, 3L, 7L));
+
+        assertEquals(90, rewards.get(1L).pointsBetween(0, Integer.MAX_VALUE));
+        assertEquals(25, rewards.get(2L).pointsBetween(0, Integer.MAX_VALUE));
+        assertEquals(0, rewards.get(3L).pointsBetween(0, Integer.MAX_VALUE));
+        verify(rewardLedgerService, times(1)).getCustomersMonthlyRewards(argThat(ids -> Set.copyOf(ids).equals(Set.of(2L, 3L))));
+    }
+
+    @Test
+    public void testGetCustomerTotalRewards_FailureIsNotCached() {
+        when(rewardLedgerService.getCustomerTotalRewards(1L))
+                .thenThrow(new TransactionNotFoundException("No transactions"))
+                .thenReturn(90);
+
+        assertThrows(TransactionNotFoundException.class, () -> rewardResponseCacheService.getCustomerTotalRewards(1L, 2L));
+        assertEquals(90, rewardResponseCacheService.getCustomerTotalRewards(1L, 2L));
+    }
+}
@@ -0,0 +1,127 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.ColumnarSnapshotInfo;
+import com.retailer.reward.platform.dto.MonthAnalytics;
+import com.retailer.reward.platform.dto.TransactionAnalytics;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the monthly analytics scanned from the columnar snapshot match an aggregation of the
+ * transaction table, and that writes reach the snapshot through the events after its watermark.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:columnar",
+        "reward.columnar.directory=${java.io.tmpdir}/reward-columnar-test-${random.uuid}",
+        "reward.columnar.max-stale-events=100"
+})
+public class TransactionAnalyticsServiceImplIntegrationTest {
+
+    @Autowired
+    private TransactionAnalyticsService transactionAnalyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() {
+        customer = customerRepository.save(new Customer(null, "Analytics Customer"));
+    }
+
+    @Test
+    public void testGetMonthlyAnalytics_MatchesTransactionTable() {
+        transactionService.createTransactions(List.of(new Transaction(null, 120.0, 202401, customer),
+                new Transaction(null, 75.5, 202401, customer), new Transaction(null, 40.0, 202402, customer),
+                new Transaction(null, 260.25, 202312, customer), new Transaction(null, 50.999, 202402, customer)));
+        // Amounts under a dollar are rejected by the ledger but may be in the table, they earn no points
+        jdbcTemplate.update("insert into transaction (transaction_id, amount, transaction_month, customer_id) " +
+                "values (next value for transaction_seq, 0.5, 202402, ?)", customer.getCustomerId());
+
+        transactionAnalyticsService.exportSnapshot();
+        TransactionAnalytics analytics = transactionAnalyticsService.getMonthlyAnalytics();
+
+        assertEquals(0, analytics.getSnapshot().getEventsBehind());
+        assertMatchesTransactionTable(analytics);
+    }
+
+    @Test
+    public void testRefreshSnapshot_AppliesEventsAfterWatermark() {
+        Transaction kept = transactionService.createTransaction(new Transaction(null, 90.0, 202405, customer));
+        Transaction updated = transactionService.createTransaction(new Transaction(null, 130.0, 202405, customer));
+        Transaction deleted = transactionService.createTransaction(new Transaction(null, 55.0, 202406, customer));
+        ColumnarSnapshotInfo exported = transactionAnalyticsService.exportSnapshot();
+
+        transactionService.updateTransaction(updated.getTransactionId(), new Transaction(null, 210.0, 202407, customer));
+        transactionService.deleteTransaction(deleted.getTransactionId());
+        transactionService.createTransaction(new Transaction(null, 101.0, kept.getTransactionMonth(), customer));
+
+        // Within the staleness bound, reads serve the snapshot as exported and report the lag
+        TransactionAnalytics stale = transactionAnalyticsService.getMonthlyAnalytics();
+        assertEquals(exported.getWatermark(), stale.getSnapshot().getWatermark());
+        assertEquals(3, stale.getSnapshot().getEventsBehind());
+
+        ColumnarSnapshotInfo refreshed = transactionAnalyticsService.refreshSnapshot();
+        assertEquals(exported.getWatermark() + 3, refreshed.getWatermark());
+        assertEquals(0, refreshed.getEventsBehind());
+        // An update adds a retraction and a row, a deletion a retraction
+        assertEquals(exported.getRows() + 4, refreshed.getRows());
+        assertMatchesTransactionTable(transactionAnalyticsService.getMonthlyAnalytics());
+    }
+
+    @Test
+    public void testGetMonthlyAnalytics_RefreshesWhenTooFarBehind() {
+        transactionAnalyticsService.exportSnapshot();
+        for (int i = 0; i < 101; i++) {
+            transactionService.createTransaction(new Transaction(null, 50.0 + i, 202408 + i % 3, customer));
+        }
+
+        TransactionAnalytics analytics = transactionAnalyticsService.getMonthlyAnalytics();
+
+        assertEquals(0, analytics.getSnapshot().getEventsBehind());
+        assertMatchesTransactionTable(analytics);
+    }
+
+    private void assertMatchesTransactionTable(TransactionAnalytics analytics) {
+        Map<Integer, MonthAnalytics> expected = new TreeMap<>();
+        jdbcTemplate.query("select transaction_month, amount from transaction", resultSet -> {
+            int month = resultSet.getInt(1);
+            double amount = resultSet.getDouble(2);
+            MonthAnalytics totals = expected.computeIfAbsent(month, key -> new MonthAnalytics(key, 0, 0.0, 0));
+            totals.setTransactionCount(totals.getTransactionCount() + 1);
+            totals.setSpend(totals.getSpend() + amount);
+            totals.setPoints(totals.getPoints() + ((int) amount > 0 ? rewardCalculationService.getRewardPoints(amount, month) : 0));
+        });
+        assertTrue(analytics.getMonths().size() > 0);
+        assertEquals(List.copyOf(expected.keySet()), analytics.getMonths().stream().map(MonthAnalytics::getMonth).toList());
+        for (MonthAnalytics month : analytics.getMonths()) {
+            MonthAnalytics totals = expected.get(month.getMonth());
+            assertEquals(totals.getTransactionCount(), month.getTransactionCount());
+            assertEquals(totals.getSpend(), month.getSpend(), 0.001);
+            assertEquals(totals.getPoints(), month.getPoints());
+        }
+    }
+}
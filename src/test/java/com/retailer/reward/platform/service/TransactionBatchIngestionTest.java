@@ -0,0 +1,68 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.dto.TransactionBatchResult;
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Verifies that batch-ingested transactions are stored and reflected in the reward ledger
+ * exactly like the database aggregates over the stored transactions.
+ */
+@SpringBootTest
+@Transactional
+public class TransactionBatchIngestionTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RewardLedgerService rewardLedgerService;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Test
+    public void testCreateTransactions_LedgerMatchesStoredTransactions() {
+        Customer existing = customerRepository.save(new Customer(null, "Existing Customer"));
+        Customer added = customerRepository.save(new Customer(null, "New Customer"));
+        transactionService.createTransaction(new Transaction(null, 120.0, 202401, existing));
+
+        // Inserted rows for new customers and months, updated rows for the existing ones
+        for (int round = 0; round < 2; round++) {
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                Customer customer = new Customer((i % 2 == 0 ? existing : added).getCustomerId(), null);
+                transactions.add(new Transaction(null, 40.0 + i * 1.5, 202401 + i % 3, customer));
+            }
+            TransactionBatchResult result = transactionService.createTransactions(transactions);
+            assertEquals(120, result.getCreated());
+            result.getResults().forEach(item -> assertNotNull(item.getTransactionId()));
+        }
+
+        for (Customer customer : List.of(existing, added)) {
+            Long customerId = customer.getCustomerId();
+            assertEquals(transactionRepository.findAllByCustomerCustomerId(customerId).size(),
+                    customerId.equals(existing.getCustomerId()) ? 121 : 120);
+            assertEquals(rewardCalculationService.getCustomerTotalRewards(customerId), rewardLedgerService.getCustomerTotalRewards(customerId));
+            assertEquals(rewardCalculationService.getCustomerMonthlyRewards(customerId), rewardLedgerService.getCustomerMonthlyRewards(customerId));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.InvalidTransactionAmountException;
+import com.retailer.reward.platform.exception.TransactionCommitPendingException;
+import com.retailer.reward.platform.exception.TransactionQueueFullException;
+import com.retailer.reward.platform.serviceimpl.TransactionGroupCommitServiceImpl;
+import com.retailer.reward.platform.util.RewardMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies how group commit callers learn the outcome when their batch fails, when their wait ends before
+ * the commit, and when the writer is stopped.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionGroupCommitServiceImplFailureIntegrationTest {
+
+    private static final Customer CUSTOMER = new Customer(1L, "James");
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private CustomerCacheService customerCacheService;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private TransactionGroupCommitServiceImpl transactionGroupCommitService;
+
+    @BeforeEach
+    public void setUp() {
+        when(customerCacheService.findCustomer(1L)).thenReturn(Optional.of(CUSTOMER));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        transactionGroupCommitService.stop();
+    }
+
+    @Test
+    public void testCommit_FailedBatchCreatesEachTransactionAlone() throws Exception {
+        start(16, Duration.ofMillis(50), Duration.ofSeconds(10));
+        when(transactionService.createTransactions(anyList())).thenThrow(new IllegalStateException("Batch failed"));
+        when(transactionService.createTransaction(any())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            if (transaction.getAmount() < 1) {
+                throw new InvalidTransactionAmountException("Invalid amount");
+            }
+            transaction.setTransactionId(100L + (long) transaction.getAmount());
+            return transaction;
+        });
+
+        Future<Transaction> first = executor.submit(() -> transactionGroupCommitService.createTransaction(transaction(20.0)));
+        Future<Transaction> invalid = executor.submit(() -> transactionGroupCommitService.createTransaction(transaction(0.5)));
+        Future<Transaction> second = executor.submit(() -> transactionGroupCommitService.createTransaction(transaction(30.0)));
+
+        assertEquals(120L, first.get(5, TimeUnit.SECONDS).getTransactionId());
+        assertEquals(130L, second.get(5, TimeUnit.SECONDS).getTransactionId());
+        Exception failure = assertThrows(Exception.class, () -> invalid.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(InvalidTransactionAmountException.class, failure.getCause());
+        verify(transactionService, times(3)).createTransaction(any());
+    }
+
+    @Test
+    public void testCreateTransaction_WaitEndingDuringCommitIsReportedPending() throws Exception {
+        start(16, Duration.ZERO, Duration.ofMillis(200));
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            throw new IllegalStateException("Released");
+        });
+
+        Future<Transaction> pending = executor.submit(() -> transactionGroupCommitService.createTransaction(transaction(20.0)));
+
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+        Exception failure = assertThrows(Exception.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TransactionCommitPendingException.class, failure.getCause());
+        release.countDown();
+    }
+
+    @Test
+    public void testCreateTransaction_WaitEndingWhileQueuedWithdrawsTransaction() throws Exception {
+        start(1, Duration.ZERO, Duration.ofMillis(200));
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return null;
+        });
+        executor.submit(() -> transactionGroupCommitService.createTransaction(transaction(20.0)));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+
+        // The writer is busy with the first transaction, the second one is still queued when its wait ends
+        assertThrows(TransactionQueueFullException.class, () -> transactionGroupCommitService.createTransaction(transaction(30.0)));
+        release.countDown();
+        verify(transactionService, after(200).never()).createTransactions(argThat(batch -> batch.get(0).getAmount() == 30.0));
+    }
+
+    @Test
+    public void testCreateTransaction_AfterStopIsRefused() throws InterruptedException {
+        start(16, Duration.ZERO, Duration.ofSeconds(10));
+        transactionGroupCommitService.stop();
+
+        assertThrows(TransactionQueueFullException.class, () -> transactionGroupCommitService.createTransaction(transaction(20.0)));
+        verifyNoInteractions(transactionService);
+    }
+
+    private void start(int maxBatchSize, Duration maxDelay, Duration maxWait) {
+        transactionGroupCommitService = new TransactionGroupCommitServiceImpl(transactionService, customerCacheService,
+                new RewardMetrics(new SimpleMeterRegistry()), true, maxBatchSize, maxDelay, 100, maxWait);
+        transactionGroupCommitService.start();
+    }
+
+    private static Transaction transaction(double amount) {
+        return new Transaction(null, amount, 202401, new Customer(1L, null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.Transaction;
+import com.retailer.reward.platform.exception.InvalidTransactionException;
+import com.retailer.reward.platform.exception.ResourceNotFoundException;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.util.RewardMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that transactions created concurrently through group commit are stored with their IDs, committed in
+ * fewer groups than transactions, and reflected in the reward ledger, and that invalid transactions are refused
+ * before they are queued.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:groupcommit",
+        "reward.group-commit.enabled=true",
+        "reward.group-commit.max-batch-size=16",
+        "reward.group-commit.max-delay=PT0.02S"
+})
+public class TransactionGroupCommitServiceImplIntegrationTest {
+
+    @Autowired
+    private TransactionGroupCommitService transactionGroupCommitService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RewardLedgerService rewardLedgerService;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testCreateTransaction_ConcurrentCallersShareCommits() throws Exception {
+        Customer first = customerRepository.save(new Customer(null, "Group Commit Customer 1"));
+        Customer second = customerRepository.save(new Customer(null, "Group Commit Customer 2"));
+        long commitsBefore = commits();
+        int callers = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Transaction>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                Customer customer = new Customer((i % 2 == 0 ? first : second).getCustomerId(), null);
+                Transaction transaction = new Transaction(null, 30.0 + i * 2.5, 202401 + i % 3, customer);
+                futures.add(executor.submit(() -> transactionGroupCommitService.createTransaction(transaction)));
+            }
+            Set<Long> transactionIds = new HashSet<>();
+            for (Future<Transaction> future : futures) {
+                Transaction created = future.get();
+                assertNotNull(created.getTransactionId());
+                transactionIds.add(created.getTransactionId());
+            }
+            assertEquals(callers, transactionIds.size());
+        } finally {
+            executor.shutdown();
+        }
+
+        long commits = commits() - commitsBefore;
+        assertTrue(commits >= callers / 16 && commits < callers, "commits: " + commits);
+        for (Customer customer : List.of(first, second)) {
+            Long customerId = customer.getCustomerId();
+            assertEquals(callers / 2, transactionRepository.findAllByCustomerCustomerId(customerId).size());
+            assertEquals(rewardCalculationService.getCustomerTotalRewards(customerId), rewardLedgerService.getCustomerTotalRewards(customerId));
+        }
+    }
+
+    @Test
+    public void testCreateTransaction_InvalidTransactionsAreRefused() {
+        Customer customer = customerRepository.save(new Customer(null, "Group Commit Customer 3"));
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                transactionGroupCommitService.createTransaction(new Transaction(null, 120.0, 202401, new Customer(-1L, null))));
+        assertThrows(InvalidTransactionException.class, () ->
+                transactionGroupCommitService.createTransaction(new Transaction(null, 120.0, 202413, customer)));
+        Transaction created = transactionGroupCommitService.createTransaction(new Transaction(null, 120.0, 202401, customer));
+        assertNotNull(created.getTransactionId());
+    }
+
+    private long commits() {
+        Timer timer = meterRegistry.find(RewardMetrics.GROUP_COMMIT_DURATION).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
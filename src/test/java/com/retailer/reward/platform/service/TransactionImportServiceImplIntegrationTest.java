@@ -0,0 +1,171 @@
+package com.retailer.reward.platform.service;
+
+import com.retailer.reward.platform.entity.Customer;
+import com.retailer.reward.platform.entity.ImportJob;
+import com.retailer.reward.platform.exception.InvalidTransactionException;
+import com.retailer.reward.platform.repository.CustomerRepository;
+import com.retailer.reward.platform.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs imports through the real pipeline, each chunk committed in its own database transaction.
+ */
+@SpringBootTest
+public class TransactionImportServiceImplIntegrationTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private RewardLedgerService rewardLedgerService;
+
+    @Autowired
+    private RewardCalculationService rewardCalculationService;
+
+    private Customer customer;
+
+    @BeforeEach
+    public void setUp() {
+        customer = customerRepository.save(new Customer(null, "Import Customer"));
+    }
+
+    @Test
+    public void testImportTransactions_Csv() {
+        Long id = customer.getCustomerId();
+        String csv = "transactionMonth,customerId,amount\n" +
+                "2024-01," + id + ",120\n" +
+                "2024-01," + id + ",not-a-number\n" +
+                "\n" +
+                "2024-02," + id + ",75.5\n" +
+                "2024-02,999999,80\n" +
+                "2024-13," + id + ",80\n";
+
+        ImportJob job = transactionImportService.startImport(ImportJob.Format.CSV, null, 2);
+        ImportJob imported = transactionImportService.importTransactions(job, input(csv));
+
+        assertEquals(ImportJob.Status.COMPLETED, imported.getStatus());
+        assertEquals(5, imported.getCommittedOffset());
+        assertEquals(2, imported.getCreatedCount());
+        assertEquals(3, imported.getRejectedCount());
+        assertTrue(imported.getLastRejection().startsWith("Row 5: "));
+        assertEquals(2, transactionRepository.findAllByCustomerCustomerId(id).size());
+        assertEquals(rewardCalculationService.getCustomerTotalRewards(id), rewardLedgerService.getCustomerTotalRewards(id));
+    }
+
+    @Test
+    public void testImportTransactions_ResumesAfterFailure() {
+        Long id = customer.getCustomerId();
+        StringBuilder ndjson = new StringBuilder();
+        String firstHalf = null;
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"amount\":").append(60 + i).append(",\"transactionMonth\":\"2024-03\",\"customer\":{\"customerId\":")
+                    .append(id).append("}}\n");
+            if (i == 4) {
+                firstHalf = ndjson.toString();
+            }
+        }
+        // The read fails in the middle of the third chunk, after two chunks of two rows were committed
+        InputStream failing = new SequenceInputStream(input(firstHalf), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        ImportJob job = transactionImportService.startImport(ImportJob.Format.NDJSON, null, 2);
+        ImportJob failed = transactionImportService.importTransactions(job, failing);
+
+        assertEquals(ImportJob.Status.FAILED, failed.getStatus());
+        assertEquals("Connection reset", failed.getLastError());
+        assertEquals(4, failed.getCommittedOffset());
+        assertEquals(4, transactionRepository.findAllByCustomerCustomerId(id).size());
+
+        ImportJob resumed = transactionImportService.startImport(ImportJob.Format.NDJSON, job.getJobId(), null);
+        ImportJob completed = transactionImportService.importTransactions(resumed, input(ndjson.toString()));
+
+        assertEquals(ImportJob.Status.COMPLETED, completed.getStatus());
+        assertEquals(10, completed.getCommittedOffset());
+        assertEquals(10, completed.getCreatedCount());
+        assertEquals(10, transactionRepository.findAllByCustomerCustomerId(id).size());
+        assertThrows(InvalidTransactionException.class,
+                () -> transactionImportService.startImport(ImportJob.Format.NDJSON, job.getJobId(), null));
+    }
+
+    @Test
+    public void testImportTransactions_ConcurrentResumesImportOnce() {
+        Long id = customer.getCustomerId();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"amount\":").append(60 + i).append(",\"transactionMonth\":\"2024-04\",\"customer\":{\"customerId\":")
+                    .append(id).append("}}\n");
+        }
+        ImportJob job = transactionImportService.startImport(ImportJob.Format.NDJSON, null, 2);
+        ImportJob failed = transactionImportService.importTransactions(job, new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+        assertEquals(ImportJob.Status.FAILED, failed.getStatus());
+
+        // Both clients resume the failed job before either has committed a chunk
+        ImportJob first = transactionImportService.startImport(ImportJob.Format.NDJSON, job.getJobId(), null);
+        ImportJob second = transactionImportService.startImport(ImportJob.Format.NDJSON, job.getJobId(), null);
+        List<CompletableFuture<ImportJob>> imports = List.of(
+                CompletableFuture.supplyAsync(() -> transactionImportService.importTransactions(first, input(ndjson.toString()))),
+                CompletableFuture.supplyAsync(() -> transactionImportService.importTransactions(second, input(ndjson.toString()))));
+
+        CompletionException stale = assertThrows(CompletionException.class, () -> imports.get(0).join());
+        assertTrue(stale.getCause() instanceof InvalidTransactionException);
+        ImportJob completed = imports.get(1).join();
+        assertEquals(ImportJob.Status.COMPLETED, completed.getStatus());
+        assertEquals(10, completed.getCommittedOffset());
+        assertEquals(10, completed.getCreatedCount());
+        assertEquals(10, transactionRepository.findAllByCustomerCustomerId(id).size());
+        ImportJob stored = transactionImportService.getImportJob(job.getJobId());
+        assertEquals(ImportJob.Status.COMPLETED, stored.getStatus());
+        assertEquals(10, stored.getCommittedOffset());
+        assertEquals(completed.getVersion(), stored.getVersion());
+    }
+
+    @Test
+    public void testImportTransactions_MissingCsvHeaderFailsJob() {
+        ImportJob job = transactionImportService.startImport(ImportJob.Format.CSV, null, null);
+        ImportJob failed = transactionImportService.importTransactions(job, input("customerId,amount\n1,120\n"));
+
+        assertEquals(ImportJob.Status.FAILED, failed.getStatus());
+        assertEquals(0, failed.getCommittedOffset());
+    }
+
+    @Test
+    public void testStartImport_InvalidChunkSize() {
+        assertThrows(InvalidTransactionException.class,
+                () -> transactionImportService.startImport(ImportJob.Format.CSV, null, 0));
+    }
+
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,41 @@
 package com.retailer.reward.platform.service;
 
+import com.retailer.reward.platform.dto.CursorPage;
+import com.retailer.reward.platform.dto.TransactionBatchItemResult;
+import com.retailer.reward.platform.dto.TransactionBatchResult;
 import com.retailer.reward.platform.entity.Customer;
 import com.retailer.reward.platform.entity.Transaction;
 import com.retailer.reward.platform.exception.CustomerNotFoundException;
+import com.retailer.reward.platform.exception.InvalidPageRequestException;
+import com.retailer.reward.platform.exception.InvalidTransactionException;
 import com.retailer.reward.platform.exception.TransactionNotFoundException;
-import com.retailer.reward.platform.repository.CustomerRepository;
 import com.retailer.reward.platform.repository.TransactionRepository;
+import com.retailer.reward.platform.repository.TransactionRowView;
+import com.retailer.reward.platform.service.CustomerCacheService;
 import com.retailer.reward.platform.serviceimpl.TransactionServiceImpl;
+import com.retailer.reward.platform.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static com.retailer.reward.platform.dto.TransactionBatchItemResult.Status.CREATED;
+import static com.retailer.reward.platform.dto.TransactionBatchItemResult.Status.REJECTED;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +45,10 @@ public class TransactionServiceImplIntegrationTest {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private CustomerRepository customerRepository;
+    private CustomerCacheService customerCacheService;
+
+    @Mock
+    private RewardLedgerService rewardLedgerService;
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
@@ -44,46 +62,123 @@ public class TransactionServiceImplIntegrationTest {
         customer.setCustomerId(1L);
         transaction = new Transaction();
         transaction.setTransactionId(1L);
+        transaction.setTransactionMonth(202401);
         transaction.setCustomer(customer);
     }
 
     @Test
     public void testCreateTransaction_Success() {
-        when(customerRepository.findById(anyLong())).thenReturn(Optional.of(customer));
+        when(customerCacheService.findCustomer(anyLong())).thenReturn(Optional.of(customer));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
         Transaction createdTransaction = transactionService.createTransaction(transaction);
         assertNotNull(createdTransaction);
         assertEquals(transaction, createdTransaction);
-        verify(customerRepository, times(1)).findById(anyLong());
+        verify(customerCacheService, times(1)).findCustomer(anyLong());
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(rewardLedgerService, times(1)).recordTransactionCreated(transaction);
+    }
+
+    @Test
+    public void testCreateTransaction_MissingMonth() {
+        transaction.setTransactionMonth(0);
+
+        assertThrows(InvalidTransactionException.class, () -> transactionService.createTransaction(transaction));
+        verifyNoInteractions(transactionRepository, rewardLedgerService);
     }
 
 
+    @Test
+    public void testCreateTransactions_ResolvesCustomersOnceAndRejectsInvalidItems() {
+        Customer otherCustomer = new Customer(2L, "Sai");
+        Transaction first = new Transaction(99L, 120.0, 202401, new Customer(1L, null));
+        Transaction unknownCustomer = new Transaction(null, 120.0, 202401, new Customer(3L, null));
+        Transaction invalidMonth = new Transaction(null, 120.0, 0, new Customer(1L, null));
+        Transaction invalidAmount = new Transaction(null, 0.5, 202401, new Customer(2L, null));
+        Transaction second = new Transaction(null, 80.0, 202402, new Customer(2L, null));
+        Transaction noCustomer = new Transaction(null, 80.0, 202402, null);
+        when(customerCacheService.findCustomers(Set.of(1L, 2L, 3L))).thenReturn(Map.of(1L, customer, 2L, otherCustomer));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> saved = invocation.getArgument(0);
+            for (int i = 0; i < saved.size(); i++) {
+                saved.get(i).setTransactionId(100L + i);
+            }
+            return saved;
+        });
+
+        TransactionBatchResult result = transactionService.createTransactions(
+                List.of(first, unknownCustomer, invalidMonth, invalidAmount, second, noCustomer));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of(CREATED, REJECTED, REJECTED, REJECTED, CREATED, REJECTED),
+                result.getResults().stream().map(TransactionBatchItemResult::getStatus).toList());
+        assertEquals(100L, result.getResults().get(0).getTransactionId());
+        assertEquals(101L, result.getResults().get(4).getTransactionId());
+        assertEquals(Constants.CUSTOMER_ID_NOT_FOUND + 3, result.getResults().get(1).getMessage());
+        assertSame(customer, first.getCustomer());
+        verify(customerCacheService, times(1)).findCustomers(any());
+        verify(customerCacheService, never()).findCustomer(anyLong());
+        verify(rewardLedgerService, times(1)).recordTransactionsCreated(List.of(first, second));
+    }
+
+    @Test
+    public void testCreateTransactions_EmptyBatch() {
+        assertThrows(InvalidTransactionException.class, () -> transactionService.createTransactions(List.of()));
+        verifyNoInteractions(transactionRepository, customerCacheService, rewardLedgerService);
+    }
+
     @Test
     public void testUpdateTransaction_Success() {
         Long transactionId = 1L;
-        Transaction existingTransaction = new Transaction();
         Transaction transactionDetails = new Transaction();
-        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(existingTransaction));
-        when(transactionRepository.save(transactionDetails)).thenReturn(transactionDetails);
+        transactionDetails.setAmount(90.0);
+        transactionDetails.setTransactionMonth(202402);
+        when(transactionRepository.updateReturningPrevious(transactionId, 90.0, 202402))
+                .thenReturn(Optional.of(row(transactionId, 120.0, 202401, 1L)));
+        when(customerCacheService.findCustomer(1L)).thenReturn(Optional.of(customer));
+
+        Transaction updatedTransaction = transactionService.updateTransaction(transactionId, transactionDetails);
+
+        assertEquals(new Transaction(transactionId, 90.0, 202402, customer), updatedTransaction);
+        verify(transactionRepository, times(1)).updateReturningPrevious(transactionId, 90.0, 202402);
+        verify(transactionRepository, never()).findById(anyLong());
+        verify(rewardLedgerService, times(1)).recordTransactionUpdated(any(Transaction.class), eq(updatedTransaction));
+    }
+
+    @Test
+    public void testUpdateTransaction_LedgerReceivesPreviousAmount() {
+        Long transactionId = 1L;
+        Transaction transactionDetails = new Transaction(null, 80.0, 202401, null);
+        when(transactionRepository.updateReturningPrevious(transactionId, 80.0, 202401))
+                .thenReturn(Optional.of(row(transactionId, 120.0, 202401, 1L)));
+        when(customerCacheService.findCustomer(1L)).thenReturn(Optional.of(customer));
 
         Transaction updatedTransaction = transactionService.updateTransaction(transactionId, transactionDetails);
 
-        verify(transactionRepository, times(1)).findById(transactionId);
-        verify(transactionRepository, times(1)).save(transactionDetails);
+        ArgumentCaptor<Transaction> previous = ArgumentCaptor.forClass(Transaction.class);
+        verify(rewardLedgerService, times(1)).recordTransactionUpdated(previous.capture(), eq(updatedTransaction));
+        assertEquals(120.0, previous.getValue().getAmount());
+        assertEquals(customer, previous.getValue().getCustomer());
     }
 
     @Test
     public void testUpdateTransaction_TransactionNotFound() {
         Long transactionId = 1L;
         Transaction transactionDetails = new Transaction();
-        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+        transactionDetails.setTransactionMonth(202401);
+        when(transactionRepository.updateReturningPrevious(transactionId, 0.0, 202401)).thenReturn(Optional.empty());
 
         assertThrows(TransactionNotFoundException.class, () -> {
             transactionService.updateTransaction(transactionId, transactionDetails);
         });
-        verify(transactionRepository, times(1)).findById(transactionId);
-        verify(transactionRepository, times(0)).save(transactionDetails);
+        verify(transactionRepository, times(1)).updateReturningPrevious(transactionId, 0.0, 202401);
+        verifyNoInteractions(rewardLedgerService);
+    }
+
+    @Test
+    public void testUpdateTransaction_InvalidMonth() {
+        assertThrows(InvalidTransactionException.class, () -> transactionService.updateTransaction(1L, new Transaction()));
+        verifyNoInteractions(transactionRepository, rewardLedgerService);
     }
 
     /*@Test
@@ -96,25 +191,25 @@ public class TransactionServiceImplIntegrationTest {
     @Test
     public void testDeleteTransaction_Success() {
         Long transactionId = 1L;
-        Transaction transaction = new Transaction();
-        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-        doNothing().when(transactionRepository).deleteById(transactionId);
+        when(transactionRepository.deleteReturningPrevious(transactionId)).thenReturn(Optional.of(row(transactionId, 120.0, 202401, 1L)));
 
         transactionService.deleteTransaction(transactionId);
-        verify(transactionRepository, times(1)).findById(transactionId);
-        verify(transactionRepository, times(1)).deleteById(transactionId);
+        verify(transactionRepository, times(1)).deleteReturningPrevious(transactionId);
+        verify(transactionRepository, never()).findById(anyLong());
+        verify(rewardLedgerService, times(1)).recordTransactionDeleted(
+                new Transaction(transactionId, 120.0, 202401, new Customer(1L, null)));
     }
 
     @Test
     public void testDeleteTransaction_TransactionNotFound() {
         Long transactionId = 1L;
-        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+        when(transactionRepository.deleteReturningPrevious(transactionId)).thenReturn(Optional.empty());
         assertThrows(TransactionNotFoundException.class, () -> {
             transactionService.deleteTransaction(transactionId);
         });
 
-        verify(transactionRepository, times(1)).findById(transactionId);
-        verify(transactionRepository, times(0)).deleteById(transactionId);
+        verify(transactionRepository, times(1)).deleteReturningPrevious(transactionId);
+        verifyNoInteractions(rewardLedgerService);
     }
 
     @Test
@@ -135,14 +230,31 @@ public class TransactionServiceImplIntegrationTest {
     }
 
     @Test
-    public void testGetAllTransactions_Success() {
-        List<Transaction> transactions = new ArrayList<>();
-        transactions.add(transaction);
-        when(transactionRepository.findAll()).thenReturn(transactions);
+    public void testGetTransactions_ReturnsCursorOfNextPage() {
+        List<Transaction> rows = List.of(new Transaction(11L, 60.0, 202401, customer),
+                new Transaction(12L, 70.0, 202401, customer), new Transaction(13L, 80.0, 202401, customer));
+        when(transactionRepository.findPageAfter(10L, Limit.of(3))).thenReturn(rows);
 
-        List<Transaction> fetchedTransactions = transactionService.getAllTransactions();
-        assertEquals(transactions, fetchedTransactions);
-        verify(transactionRepository, times(1)).findAll();
+        CursorPage<Transaction> page = transactionService.getTransactions(10L, 2);
+
+        assertEquals(rows.subList(0, 2), page.getItems());
+        assertEquals(12L, page.getNextCursor());
+    }
+
+    @Test
+    public void testGetTransactions_LastPage() {
+        when(transactionRepository.findPageAfter(0L, Limit.of(Constants.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of(transaction));
+
+        CursorPage<Transaction> page = transactionService.getTransactions(null, null);
+
+        assertEquals(List.of(transaction), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testGetTransactions_InvalidPageSize() {
+        assertThrows(InvalidPageRequestException.class, () -> transactionService.getTransactions(null, Constants.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(transactionRepository);
     }
 
     @Test
@@ -165,4 +277,28 @@ public class TransactionServiceImplIntegrationTest {
         });
     }
 
+
+    private static TransactionRowView row(Long transactionId, double amount, int month, Long customerId) {
+        return new TransactionRowView() {
+            @Override
+            public Long getTransactionId() {
+                return transactionId;
+            }
+
+            @Override
+            public double getAmount() {
+                return amount;
+            }
+
+            @Override
+            public int getTransactionMonth() {
+                return month;
+            }
+
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+        };
+    }
 }
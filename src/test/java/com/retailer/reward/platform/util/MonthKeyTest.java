@@ -0,0 +1,54 @@
+package com.retailer.reward.platform.util;
+
+import com.retailer.reward.platform.dto.MonthlyRewards;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MonthKeyTest {
+
+    @Test
+    public void testParseAndFormat_RoundTrip() {
+        assertEquals(202401, MonthKey.parse("2024-01"));
+        assertEquals(199912, MonthKey.parse("1999-12"));
+        assertEquals("2024-01", MonthKey.format(202401));
+        assertEquals("0987-10", MonthKey.format(98710));
+    }
+
+    @Test
+    public void testParse_RejectsInvalidMonths() {
+        for (String month : new String[]{null, "", "2024-1", "2024-00", "2024-13", "2024/01", "2024-0a", "20240-1"}) {
+            assertThrows(IllegalArgumentException.class, () -> MonthKey.parse(month), "Month " + month);
+        }
+        assertFalse(MonthKey.isValid(0));
+        assertFalse(MonthKey.isValid(202413));
+        assertTrue(MonthKey.isValid(202412));
+    }
+
+    @Test
+    public void testIndex_IsContiguousAcrossYears() {
+        assertEquals(MonthKey.toIndex(202312) + 1, MonthKey.toIndex(202401));
+        assertEquals(202401, MonthKey.fromIndex(MonthKey.toIndex(202312) + 1));
+    }
+
+    @Test
+    public void testAccumulator_KeepsMonthsWithTransactionsInOrder() {
+        MonthlyRewards.Accumulator accumulator = new MonthlyRewards.Accumulator(202311, 202402);
+        accumulator.add(202402, 30);
+        accumulator.add(202311, 90);
+        accumulator.add(202402, 20);
+        accumulator.add(202401, 0);
+
+        MonthlyRewards monthlyRewards = accumulator.toMonthlyRewards();
+
+        assertEquals(3, monthlyRewards.size());
+        assertEquals(List.of("2023-11", "2024-01", "2024-02"), List.copyOf(monthlyRewards.toMap().keySet()));
+        assertEquals(Map.of("2023-11", 90, "2024-01", 0, "2024-02", 50), monthlyRewards.toMap());
+    }
+}
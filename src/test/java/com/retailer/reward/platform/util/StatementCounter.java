@@ -0,0 +1,90 @@
+package com.retailer.reward.platform.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records SQL statements, for tests asserting how many statements an operation issues.
+ * Registered with the hibernate.session_factory.statement_inspector property it records the statements Hibernate
+ * prepares. Imported as {@link DataSourceStatements} it records every statement prepared or executed on the
+ * application data source instead, including plain JDBC writes; a JDBC batch counts as one statement.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Wraps the application data source so every connection records the statements it prepares or executes.
+     */
+    public static class DataSourceStatements implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, dataSource, (method, args, result) ->
+                        result instanceof Connection connection ? recording(connection) : result);
+            }
+            return bean;
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                if (STATEMENT_METHODS.contains(method.getName())) {
+                    STATEMENTS.add((String) args[0]);
+                } else if (method.getName().equals("createStatement")) {
+                    return recording((Statement) result);
+                }
+                return result;
+            });
+        }
+
+        private static Statement recording(Statement statement) {
+            return proxy(Statement.class, statement, (method, args, result) -> {
+                if (EXECUTE_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                    STATEMENTS.add(sql);
+                }
+                return result;
+            });
+        }
+    }
+
+    private interface ResultHandler {
+        Object handle(Method method, Object[] args, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return handler.handle(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+}